@@ -2,8 +2,10 @@ package com.mycompany.mavenproject2;
 
 import javafx.application.Application;
 import javafx.stage.Stage;
+import managers.ResumeFullTextSearch;
 import views.LoginViewFX;
 import utils.DatabaseManager;
+import utils.EncryptionUtils;
 
 /**
  * Professional Resume Builder Application
@@ -16,11 +18,26 @@ public class Mavenproject2 extends Application {
         // Initialize database on startup
         DatabaseManager.initializeDatabase();
         
+        // Make resumes saved before full-text search existed searchable, off the UI thread
+        ResumeFullTextSearch.startIndexBuild();
+        
+        // Load the password hashing cost (calibrated on the first run) in the background
+        // so the first login doesn't wait for it
+        Thread calibration = new Thread(EncryptionUtils::getPasswordHasher, "password-hash-calibration");
+        calibration.setDaemon(true);
+        calibration.start();
+        
         // Start with login screen
         LoginViewFX loginView = new LoginViewFX();
         loginView.show();
     }
     
+    @Override
+    public void stop() {
+        // Release pooled database connections
+        DatabaseManager.shutdown();
+    }
+    
     public static void main(String[] args) {
         launch(args);
     }
@@ -1,5 +1,6 @@
 package managers;
 
+import utils.SkillTaxonomy;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
@@ -7,9 +8,7 @@ import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -20,56 +19,19 @@ import java.util.logging.Logger;
 public class AIJobSuggestionManager {
     private static final Logger logger = Logger.getLogger(AIJobSuggestionManager.class.getName());
     
-    // Skill to Job mapping database
-    private static final Map<String, List<String>> SKILL_TO_JOBS = new HashMap<>();
+    private static final int MAX_SUGGESTIONS = 10;
     
-    static {
-        // Programming Languages
-        SKILL_TO_JOBS.put("java", List.of("Java Developer", "Backend Developer", "Software Engineer", "Android Developer", "Full Stack Developer"));
-        SKILL_TO_JOBS.put("python", List.of("Python Developer", "Data Scientist", "Machine Learning Engineer", "Backend Developer", "DevOps Engineer"));
-        SKILL_TO_JOBS.put("javascript", List.of("Frontend Developer", "Full Stack Developer", "React Developer", "Node.js Developer", "Web Developer"));
-        SKILL_TO_JOBS.put("c++", List.of("Systems Programmer", "Game Developer", "Embedded Systems Engineer", "Software Engineer", "Performance Engineer"));
-        SKILL_TO_JOBS.put("c#", List.of(".NET Developer", "Unity Game Developer", "Backend Developer", "Software Engineer", "Windows Developer"));
-        SKILL_TO_JOBS.put("swift", List.of("iOS Developer", "Mobile Developer", "Apple Platform Developer", "Software Engineer"));
-        SKILL_TO_JOBS.put("kotlin", List.of("Android Developer", "Mobile Developer", "Backend Developer", "Software Engineer"));
-        SKILL_TO_JOBS.put("go", List.of("Backend Developer", "DevOps Engineer", "Cloud Engineer", "Systems Engineer"));
-        SKILL_TO_JOBS.put("rust", List.of("Systems Programmer", "Blockchain Developer", "Performance Engineer", "Backend Developer"));
-        SKILL_TO_JOBS.put("php", List.of("PHP Developer", "Web Developer", "Backend Developer", "WordPress Developer"));
-        SKILL_TO_JOBS.put("ruby", List.of("Ruby Developer", "Rails Developer", "Backend Developer", "Full Stack Developer"));
-        SKILL_TO_JOBS.put("sql", List.of("Database Administrator", "Data Analyst", "Backend Developer", "Data Engineer"));
-        
-        // Frameworks & Technologies
-        SKILL_TO_JOBS.put("react", List.of("React Developer", "Frontend Developer", "Full Stack Developer", "UI Developer"));
-        SKILL_TO_JOBS.put("angular", List.of("Angular Developer", "Frontend Developer", "Full Stack Developer", "UI Developer"));
-        SKILL_TO_JOBS.put("vue", List.of("Vue.js Developer", "Frontend Developer", "Full Stack Developer", "UI Developer"));
-        SKILL_TO_JOBS.put("node", List.of("Node.js Developer", "Backend Developer", "Full Stack Developer", "API Developer"));
-        SKILL_TO_JOBS.put("spring", List.of("Java Developer", "Backend Developer", "Microservices Developer", "Enterprise Developer"));
-        SKILL_TO_JOBS.put("django", List.of("Python Developer", "Backend Developer", "Full Stack Developer", "Web Developer"));
-        SKILL_TO_JOBS.put("flask", List.of("Python Developer", "Backend Developer", "API Developer", "Web Developer"));
-        SKILL_TO_JOBS.put("docker", List.of("DevOps Engineer", "Cloud Engineer", "Platform Engineer", "SRE"));
-        SKILL_TO_JOBS.put("kubernetes", List.of("DevOps Engineer", "Cloud Engineer", "Platform Engineer", "SRE", "Infrastructure Engineer"));
-        SKILL_TO_JOBS.put("aws", List.of("Cloud Engineer", "AWS Solutions Architect", "DevOps Engineer", "Cloud Developer"));
-        SKILL_TO_JOBS.put("azure", List.of("Cloud Engineer", "Azure Developer", "DevOps Engineer", "Cloud Architect"));
-        SKILL_TO_JOBS.put("gcp", List.of("Cloud Engineer", "GCP Developer", "DevOps Engineer", "Data Engineer"));
-        
-        // Data & AI
-        SKILL_TO_JOBS.put("machine learning", List.of("Machine Learning Engineer", "Data Scientist", "AI Engineer", "Research Scientist"));
-        SKILL_TO_JOBS.put("deep learning", List.of("Deep Learning Engineer", "AI Researcher", "Computer Vision Engineer", "NLP Engineer"));
-        SKILL_TO_JOBS.put("tensorflow", List.of("Machine Learning Engineer", "AI Developer", "Data Scientist", "Research Engineer"));
-        SKILL_TO_JOBS.put("pytorch", List.of("Machine Learning Engineer", "AI Developer", "Research Scientist", "Deep Learning Engineer"));
-        SKILL_TO_JOBS.put("data analysis", List.of("Data Analyst", "Business Analyst", "Data Scientist", "BI Developer"));
-        SKILL_TO_JOBS.put("tableau", List.of("Data Analyst", "BI Developer", "Data Visualization Specialist", "Business Analyst"));
-        SKILL_TO_JOBS.put("power bi", List.of("BI Developer", "Data Analyst", "Business Analyst", "Report Developer"));
-        
-        // Other Skills
-        SKILL_TO_JOBS.put("project management", List.of("Project Manager", "Scrum Master", "Product Owner", "Program Manager"));
-        SKILL_TO_JOBS.put("agile", List.of("Scrum Master", "Agile Coach", "Project Manager", "Product Owner"));
-        SKILL_TO_JOBS.put("ui/ux", List.of("UI/UX Designer", "Product Designer", "UX Researcher", "Interaction Designer"));
-        SKILL_TO_JOBS.put("graphic design", List.of("Graphic Designer", "Visual Designer", "Brand Designer", "Creative Director"));
-        SKILL_TO_JOBS.put("marketing", List.of("Digital Marketing Manager", "Marketing Specialist", "Content Marketing Manager", "SEO Specialist"));
-        SKILL_TO_JOBS.put("sales", List.of("Sales Representative", "Account Executive", "Business Development Manager", "Sales Manager"));
-        SKILL_TO_JOBS.put("communication", List.of("Communications Specialist", "PR Manager", "Content Writer", "Marketing Coordinator"));
-        SKILL_TO_JOBS.put("leadership", List.of("Team Lead", "Engineering Manager", "Director", "VP of Engineering"));
+    // Rebuilt when the skill taxonomy is reloaded
+    private static volatile JobMatchIndex jobIndex;
+    
+    private static JobMatchIndex jobIndex() {
+        SkillTaxonomy taxonomy = SkillTaxonomy.get();
+        JobMatchIndex index = jobIndex;
+        if (index == null || index.getTaxonomy() != taxonomy) {
+            index = new JobMatchIndex(taxonomy);
+            jobIndex = index;
+        }
+        return index;
     }
     
     /**
@@ -77,53 +39,47 @@ public class AIJobSuggestionManager {
      */
     public static List<JobSuggestion> suggestJobsFromSkills(String skills) {
         List<JobSuggestion> suggestions = new ArrayList<>();
-        Map<String, Integer> jobScores = new HashMap<>();
         
         if (skills == null || skills.trim().isEmpty()) {
             return suggestions;
         }
         
-        String[] skillArray = skills.toLowerCase().split("[,;\\s]+");
-        
-        for (String skill : skillArray) {
-            skill = skill.trim();
-            if (skill.isEmpty()) continue;
-            
-            // Check exact match
-            if (SKILL_TO_JOBS.containsKey(skill)) {
-                for (String job : SKILL_TO_JOBS.get(skill)) {
-                    jobScores.merge(job, 10, Integer::sum);
-                }
-            }
-            
-            // Check partial match
-            for (Map.Entry<String, List<String>> entry : SKILL_TO_JOBS.entrySet()) {
-                if (entry.getKey().contains(skill) || skill.contains(entry.getKey())) {
-                    for (String job : entry.getValue()) {
-                        jobScores.merge(job, 5, Integer::sum);
-                    }
-                }
-            }
+        JobMatchIndex.Matches matches = jobIndex().match(skills, MAX_SUGGESTIONS);
+        for (int i = 0; i < matches.size(); i++) {
+            String title = matches.title(i);
+            int matchPercent = Math.min(100, matches.score(i) * 10);
+            suggestions.add(new JobSuggestion(
+                title,
+                "Based on your skills profile",
+                matchPercent + "% match",
+                getSalaryRange(title),
+                getJobDescription(title)
+            ));
         }
         
-        // Sort by score and create suggestions
-        jobScores.entrySet().stream()
-            .sorted((a, b) -> b.getValue().compareTo(a.getValue()))
-            .limit(10)
-            .forEach(entry -> {
-                int matchPercent = Math.min(100, entry.getValue() * 10);
-                suggestions.add(new JobSuggestion(
-                    entry.getKey(),
-                    "Based on your skills profile",
-                    matchPercent + "% match",
-                    getSalaryRange(entry.getKey()),
-                    getJobDescription(entry.getKey())
-                ));
-            });
-        
         return suggestions;
     }
     
+    /**
+     * Best matching job titles for a skills text, best first, without building
+     * suggestion details (for scoring many resumes)
+     */
+    public static List<String> matchJobTitles(String skills, int limit) {
+        JobMatchIndex.Matches matches = jobIndex().match(skills, limit);
+        List<String> titles = new ArrayList<>(matches.size());
+        for (int i = 0; i < matches.size(); i++) {
+            titles.add(matches.title(i));
+        }
+        return titles;
+    }
+    
+    /**
+     * The reverse query: stored resumes ranked by relevance to a job description (BM25)
+     */
+    public static List<ResumeSearchIndex.RankedResume> rankResumesForJob(String jobDescription, int limit) {
+        return ResumeSearchIndex.rankResumes(jobDescription, limit);
+    }
+    
     /**
      * Search for jobs using JSearch API (RapidAPI) - Free tier available
      */
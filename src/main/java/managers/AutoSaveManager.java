@@ -29,13 +29,8 @@ public class AutoSaveManager {
                 try {
                     Resume resume = resumeSupplier.get();
                     if (resume != null) {
-                        System.out.println("🔄 Auto-saving resume for: " + resume.getName());
-                        boolean saved = ResumeManager.saveResume(resume);
-                        if (saved) {
-                            System.out.println("✅ Auto-saved successfully to saved_resumes folder!");
-                        } else {
-                            System.out.println("⚠️ Auto-save completed but may have encountered issues");
-                        }
+                        // Hand off to the background writer; unchanged resumes are skipped there
+                        ResumeWriteQueue.enqueue(resume);
                     } else {
                         System.out.println("⏭️ Skipping auto-save: Resume form is empty");
                     }
@@ -65,11 +60,11 @@ public class AutoSaveManager {
     }
     
     /**
-     * Manually trigger auto-save
+     * Manually trigger auto-save (queued, never blocks the caller)
      */
     public static void triggerAutoSave(Resume resume) {
         if (resume != null) {
-            ResumeManager.saveResume(resume);
+            ResumeWriteQueue.enqueue(resume);
         }
     }
 }
@@ -0,0 +1,118 @@
+package managers;
+
+import models.Resume;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs registered ResumeExporters off the save path.
+ * Exports happen on one background thread; if a user saves again before the
+ * previous export ran, only the latest resume is exported.
+ */
+public class BackgroundExportManager {
+    private static final Logger logger = Logger.getLogger(BackgroundExportManager.class.getName());
+    private static final long FLUSH_TIMEOUT_MS = 10000;
+
+    private static final List<ResumeExporter> exporters = new CopyOnWriteArrayList<>();
+    private static final Map<Integer, Resume> pending = new ConcurrentHashMap<>();
+    private static ExecutorService executor;
+
+    static {
+        // The saved_resumes text mirror is on by default
+        exporters.add(new TextResumeExporter());
+    }
+
+    /**
+     * Add an exporter that receives every saved resume
+     */
+    public static void register(ResumeExporter exporter) {
+        if (exporter != null) {
+            exporters.add(exporter);
+        }
+    }
+
+    /**
+     * Remove an exporter (e.g. to turn off the text mirror)
+     */
+    public static void unregister(ResumeExporter exporter) {
+        exporters.remove(exporter);
+    }
+
+    /**
+     * Remove every exporter of the given type
+     */
+    public static void unregister(Class<? extends ResumeExporter> type) {
+        exporters.removeIf(type::isInstance);
+    }
+
+    public static List<ResumeExporter> getExporters() {
+        return List.copyOf(exporters);
+    }
+
+    /**
+     * Queue a resume for export. Returns immediately.
+     */
+    public static void submit(int userId, Resume resume) {
+        if (resume == null || exporters.isEmpty()) {
+            return;
+        }
+        if (pending.put(userId, new Resume(resume)) == null) {
+            getExecutor().execute(() -> export(userId));
+        }
+    }
+
+    /**
+     * Block until queued exports have finished
+     */
+    public static void flush() {
+        ExecutorService current;
+        synchronized (BackgroundExportManager.class) {
+            current = executor;
+        }
+        if (current == null || current.isShutdown()) {
+            return;
+        }
+        try {
+            current.submit(() -> { }).get(FLUSH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            logger.warning("Timed out flushing background exports");
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Error flushing background exports: " + e.getMessage(), e);
+        }
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null || executor.isShutdown()) {
+            executor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "resume-exporter");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    private static void export(int userId) {
+        Resume resume = pending.remove(userId);
+        if (resume == null) {
+            return;
+        }
+        for (ResumeExporter exporter : exporters) {
+            try {
+                exporter.export(resume);
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Export to " + exporter.getName() + " failed: " + e.getMessage(), e);
+            }
+        }
+    }
+}
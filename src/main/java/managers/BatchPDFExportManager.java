@@ -0,0 +1,339 @@
+package managers;
+
+import models.CVThemeSettings;
+import models.Resume;
+import utils.DatabaseManager;
+import utils.FileStorage;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Headless batch PDF export: renders many users' resumes in parallel with
+ * PDFResumeRenderer (no JavaFX) and writes one PDF per user to a directory.
+ * Resumes are read in chunks on the calling thread and handed to a bounded
+ * worker pool, so memory use stays flat however many users are exported.
+ */
+public class BatchPDFExportManager {
+    private static final Logger logger = Logger.getLogger(BatchPDFExportManager.class.getName());
+
+    public static final int DEFAULT_WORKERS = Integer.getInteger("resumebuilder.pdf.workers",
+        Runtime.getRuntime().availableProcessors());
+    private static final int LOAD_CHUNK_SIZE = 500;
+
+    /**
+     * Outcome of one document
+     */
+    public static class DocumentResult {
+        private final int userId;
+        private final File file;
+        private final long millis;
+        private final long bytes;
+        private final String error;
+
+        DocumentResult(int userId, File file, long millis, long bytes, String error) {
+            this.userId = userId;
+            this.file = file;
+            this.millis = millis;
+            this.bytes = bytes;
+            this.error = error;
+        }
+
+        public int getUserId() { return userId; }
+        public File getFile() { return file; }
+        public long getMillis() { return millis; }
+        public long getBytes() { return bytes; }
+        public String getError() { return error; }
+        public boolean isSuccess() { return error == null; }
+
+        @Override
+        public String toString() {
+            return "user " + userId + (error == null ? ": " + file + " (" + millis + " ms)" : ": " + error);
+        }
+    }
+
+    /**
+     * Throughput and latency of a batch run
+     */
+    public static class BatchReport {
+        private final int requested;
+        private final int skipped;
+        private final long elapsedMillis;
+        private final List<DocumentResult> results;
+        private final long[] sortedLatencies;
+
+        BatchReport(int requested, int skipped, long elapsedMillis, List<DocumentResult> results) {
+            this.requested = requested;
+            this.skipped = skipped;
+            this.elapsedMillis = elapsedMillis;
+            this.results = Collections.unmodifiableList(results);
+            this.sortedLatencies = results.stream().filter(DocumentResult::isSuccess)
+                .mapToLong(DocumentResult::getMillis).sorted().toArray();
+        }
+
+        public int getRequested() { return requested; }
+        public int getExported() { return sortedLatencies.length; }
+        public int getFailed() { return results.size() - sortedLatencies.length; }
+        /** Users without a saved resume */
+        public int getSkipped() { return skipped; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public List<DocumentResult> getResults() { return results; }
+
+        public List<DocumentResult> getFailures() {
+            List<DocumentResult> failures = new ArrayList<>();
+            for (DocumentResult result : results) {
+                if (!result.isSuccess()) {
+                    failures.add(result);
+                }
+            }
+            return failures;
+        }
+
+        public double getDocumentsPerSecond() {
+            return elapsedMillis == 0 ? getExported() : getExported() * 1000.0 / elapsedMillis;
+        }
+
+        /**
+         * Per-document render+write latency percentile (0-100), in ms
+         */
+        public long getLatencyPercentile(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, Math.min(sortedLatencies.length - 1, index))];
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                "PDF batch: requested=%d exported=%d failed=%d skipped=%d time=%dms throughput=%.1f docs/s "
+                    + "latency p50=%dms p95=%dms max=%dms",
+                requested, getExported(), getFailed(), skipped, elapsedMillis, getDocumentsPerSecond(),
+                getLatencyPercentile(50), getLatencyPercentile(95), getLatencyPercentile(100));
+        }
+    }
+
+    /**
+     * Export every user that has a resume
+     */
+    public static BatchReport exportAll(File outputDirectory, int workers) throws IOException {
+        return exportUsers(selectUserIds("SELECT user_id FROM resumes ORDER BY user_id"), outputDirectory, workers);
+    }
+
+    /**
+     * Export the given users' resumes as outputDirectory/resume_&lt;userId&gt;.pdf,
+     * each with that user's saved theme settings
+     */
+    public static BatchReport exportUsers(Collection<Integer> userIds, File outputDirectory, int workers)
+            throws IOException {
+        Files.createDirectories(outputDirectory.toPath());
+        DatabaseManager.initializeDatabase();
+        // Make sure queued auto-saves are on disk before reading
+        ResumeWriteQueue.flush();
+
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+        List<DocumentResult> results = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger found = new AtomicInteger();
+        int poolSize = Math.max(1, workers);
+
+        // Bounded queue + caller-runs: the reader slows down instead of buffering every resume
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(poolSize * 4), r -> {
+                Thread thread = new Thread(r, "pdf-export-worker");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+
+        long start = System.nanoTime();
+        try {
+            for (int from = 0; from < ids.size(); from += LOAD_CHUNK_SIZE) {
+                List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + LOAD_CHUNK_SIZE));
+                for (UserResume loaded : loadResumes(chunk)) {
+                    found.incrementAndGet();
+                    pool.execute(() -> results.add(exportOne(loaded.userId, loaded.resume, outputDirectory)));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException("Could not load resumes: " + e.getMessage(), e);
+        } finally {
+            pool.shutdown();
+            try {
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                pool.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+
+        BatchReport report = new BatchReport(ids.size(), ids.size() - found.get(), elapsed, new ArrayList<>(results));
+        logger.info(report.toString());
+        return report;
+    }
+
+    /**
+     * Run a read-only query and collect the first column as user IDs
+     */
+    public static List<Integer> selectUserIds(String query) throws IOException {
+        String trimmed = query.trim();
+        if (!trimmed.regionMatches(true, 0, "SELECT", 0, 6)) {
+            throw new IllegalArgumentException("Query must be a SELECT returning user IDs");
+        }
+        List<Integer> ids = new ArrayList<>();
+        DatabaseManager.initializeDatabase();
+        try (Connection conn = DatabaseManager.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(trimmed)) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        } catch (SQLException e) {
+            throw new IOException("User query failed: " + e.getMessage(), e);
+        }
+        return ids;
+    }
+
+    private static class UserResume {
+        final int userId;
+        final Resume resume;
+
+        UserResume(int userId, Resume resume) {
+            this.userId = userId;
+            this.resume = resume;
+        }
+    }
+
+    /**
+     * Load the resumes of a chunk of users (one query, plus the entry lookups)
+     */
+    private static List<UserResume> loadResumes(List<Integer> userIds) throws SQLException {
+        List<UserResume> loaded = new ArrayList<>(userIds.size());
+        StringBuilder sql = new StringBuilder("SELECT * FROM resumes WHERE user_id IN (");
+        for (int i = 0; i < userIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(") ORDER BY user_id");
+
+        try (Connection conn = DatabaseManager.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < userIds.size(); i++) {
+                pstmt.setInt(i + 1, userIds.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Resume resume = ResumeManager.readResume(rs);
+                    ResumeEntryStore.loadEntries(conn, rs.getInt("id"), resume);
+                    loaded.add(new UserResume(rs.getInt("user_id"), resume));
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Render one resume and stream it to a temp file, then move it into place
+     */
+    private static DocumentResult exportOne(int userId, Resume resume, File outputDirectory) {
+        long start = System.nanoTime();
+        File target = new File(outputDirectory, "resume_" + userId + ".pdf");
+        try {
+            CVThemeSettings settings = ThemeSettingsManager.getSettings(userId);
+            FileStorage.writeAtomically(target.toPath(), temp -> {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                    PDFResumeRenderer.render(resume, settings, out);
+                }
+            });
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            return new DocumentResult(userId, target, millis, target.length(), null);
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "PDF export failed for user " + userId + ": " + e.getMessage(), e);
+            return new DocumentResult(userId, target, (System.nanoTime() - start) / 1_000_000, 0,
+                e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: BatchPDFExportManager --out <dir> (--all | --ids 1,2,3 | --query \"SELECT user_id ...\")"
+            + " [--workers N]");
+    }
+
+    /**
+     * Command line entry point, safe for cron on a headless machine.
+     * Exit status: 0 all exported, 1 some documents failed, 2 bad arguments or setup error.
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        File out = null;
+        Set<Integer> ids = new LinkedHashSet<>();
+        String query = null;
+        boolean all = false;
+        int workers = DEFAULT_WORKERS;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--out": out = new File(args[++i]); break;
+                    case "--all": all = true; break;
+                    case "--ids":
+                        for (String id : args[++i].split(",")) {
+                            if (!id.isBlank()) {
+                                ids.add(Integer.parseInt(id.trim()));
+                            }
+                        }
+                        break;
+                    case "--query": query = args[++i]; break;
+                    case "--workers": workers = Integer.parseInt(args[++i]); break;
+                    default: throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage() != null ? e.getMessage() : "Missing option value");
+            printUsage();
+            System.exit(2);
+        }
+        if (out == null || (!all && ids.isEmpty() && query == null)) {
+            printUsage();
+            System.exit(2);
+        }
+
+        int status;
+        try {
+            BatchReport report;
+            if (all) {
+                report = exportAll(out, workers);
+            } else {
+                if (query != null) {
+                    ids.addAll(selectUserIds(query));
+                }
+                report = exportUsers(ids, out, workers);
+            }
+            for (DocumentResult failure : report.getFailures()) {
+                System.err.println(failure);
+            }
+            System.out.println(report);
+            status = report.getFailed() == 0 ? 0 : 1;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Batch export failed: " + e.getMessage());
+            status = 2;
+        }
+        DatabaseManager.shutdown();
+        System.exit(status);
+    }
+}
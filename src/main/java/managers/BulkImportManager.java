@@ -0,0 +1,387 @@
+package managers;
+
+import models.Resume;
+import utils.DatabaseManager;
+import utils.EncryptionUtils;
+import utils.ImportRecordReader;
+import utils.Pbkdf2PasswordHasher;
+import utils.ValidationUtils;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bulk import of users (and optionally their resumes) from a CSV or JSON-lines file.
+ *
+ * Columns: username, email, password (or an already encoded PBKDF2 password_hash),
+ * full_name, and optionally the resume columns name, phone, address, institution,
+ * degree, year, job_title, company, duration, description, skills.
+ *
+ * The file is streamed; passwords are hashed in parallel while the previous
+ * batch is being written, and each batch is inserted in one transaction.
+ * Bad rows are reported and skipped; they never abort the run.
+ */
+public class BulkImportManager {
+    private static final Logger logger = Logger.getLogger(BulkImportManager.class.getName());
+
+    public static final int DEFAULT_BATCH_SIZE = Integer.getInteger("resumebuilder.import.batchSize", 500);
+    private static final int HASH_THREADS = Integer.getInteger("resumebuilder.import.hashThreads",
+        Runtime.getRuntime().availableProcessors());
+
+    private static final String INSERT_USER_SQL = """
+        INSERT INTO users (username, email, password, full_name)
+        VALUES (?, ?, ?, ?)
+        ON CONFLICT DO NOTHING
+        RETURNING id
+    """;
+    private static final String FIND_DUPLICATE_SQL =
+        "SELECT username = ? AS same_username FROM users WHERE username = ? OR email = ? LIMIT 1";
+
+    private static final String[] RESUME_COLUMNS = {
+        "name", "phone", "address", "institution", "degree", "year",
+        "job_title", "company", "duration", "description", "skills"
+    };
+
+    /**
+     * A row that could not be imported
+     */
+    public static class RowError {
+        private final int lineNumber;
+        private final String username;
+        private final String message;
+
+        RowError(int lineNumber, String username, String message) {
+            this.lineNumber = lineNumber;
+            this.username = username;
+            this.message = message;
+        }
+
+        public int getLineNumber() { return lineNumber; }
+        public String getUsername() { return username; }
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            return "line " + lineNumber + (username != null ? " (" + username + ")" : "") + ": " + message;
+        }
+    }
+
+    /**
+     * Outcome of an import run
+     */
+    public static class ImportReport {
+        private int rowsRead;
+        private int usersCreated;
+        private int resumesCreated;
+        private int batches;
+        private long elapsedMillis;
+        private final List<RowError> errors = new ArrayList<>();
+
+        public int getRowsRead() { return rowsRead; }
+        public int getUsersCreated() { return usersCreated; }
+        public int getResumesCreated() { return resumesCreated; }
+        public int getBatches() { return batches; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public List<RowError> getErrors() { return Collections.unmodifiableList(errors); }
+
+        @Override
+        public String toString() {
+            return String.format("Import: rows=%d users=%d resumes=%d errors=%d batches=%d time=%dms",
+                rowsRead, usersCreated, resumesCreated, errors.size(), batches, elapsedMillis);
+        }
+    }
+
+    /**
+     * A validated row whose password hash may still be computing
+     */
+    private static class PendingUser {
+        final int lineNumber;
+        final String username;
+        final String email;
+        final String fullName;
+        final Resume resume;
+        final CompletableFuture<String> passwordHash;
+
+        PendingUser(int lineNumber, String username, String email, String fullName,
+                    Resume resume, CompletableFuture<String> passwordHash) {
+            this.lineNumber = lineNumber;
+            this.username = username;
+            this.email = email;
+            this.fullName = fullName;
+            this.resume = resume;
+            this.passwordHash = passwordHash;
+        }
+    }
+
+    public static ImportReport importFile(Path file) throws IOException {
+        return importFile(file, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Import a CSV (.csv) or JSON-lines (.jsonl / .ndjson) file
+     */
+    public static ImportReport importFile(Path file, int batchSize) throws IOException {
+        try (ImportRecordReader reader = new ImportRecordReader(file)) {
+            ImportReport report = importRecords(reader, batchSize);
+            logger.info(report + " from " + file);
+            return report;
+        }
+    }
+
+    /**
+     * Import every record of an open reader, batchSize rows per transaction
+     */
+    public static ImportReport importRecords(ImportRecordReader reader, int batchSize) throws IOException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        DatabaseManager.initializeDatabase();
+        // Resolve the hasher (and its stored cost) once, before the workers race for it
+        EncryptionUtils.getPasswordHasher();
+
+        long start = System.currentTimeMillis();
+        ImportReport report = new ImportReport();
+        ExecutorService hashPool = Executors.newFixedThreadPool(Math.max(1, HASH_THREADS), r -> {
+            Thread thread = new Thread(r, "import-hasher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // Hash the next batch while the current one is written
+            List<PendingUser> current = readBatch(reader, batchSize, hashPool, report);
+            while (!current.isEmpty()) {
+                List<PendingUser> next = readBatch(reader, batchSize, hashPool, report);
+                writeBatch(current, report);
+                current = next;
+            }
+        } finally {
+            hashPool.shutdownNow();
+        }
+        report.errors.sort(Comparator.comparingInt(RowError::getLineNumber));
+        report.elapsedMillis = System.currentTimeMillis() - start;
+        return report;
+    }
+
+    /**
+     * Read up to batchSize valid rows and start hashing their passwords
+     */
+    private static List<PendingUser> readBatch(ImportRecordReader reader, int batchSize,
+                                               ExecutorService hashPool, ImportReport report) throws IOException {
+        List<PendingUser> batch = new ArrayList<>(batchSize);
+        ImportRecordReader.Record record;
+        while (batch.size() < batchSize && (record = reader.next()) != null) {
+            report.rowsRead++;
+            if (!record.isValid()) {
+                report.errors.add(new RowError(record.getLineNumber(), null, record.getError()));
+                continue;
+            }
+            PendingUser user = validate(record, hashPool, report);
+            if (user != null) {
+                batch.add(user);
+            }
+        }
+        return batch;
+    }
+
+    private static PendingUser validate(ImportRecordReader.Record record, ExecutorService hashPool, ImportReport report) {
+        int line = record.getLineNumber();
+        String username = trim(record.get("username"));
+        String email = trim(record.get("email"));
+        String password = record.get("password");
+        String passwordHash = trim(record.get("password_hash"));
+
+        String problem = null;
+        if (!ValidationUtils.isValidUsername(username)) {
+            problem = "Invalid username";
+        } else if (!ValidationUtils.isValidEmail(email)) {
+            problem = "Invalid email";
+        } else if (passwordHash != null && !passwordHash.isEmpty()) {
+            if (!passwordHash.startsWith(Pbkdf2PasswordHasher.PREFIX)) {
+                problem = "Unsupported password_hash format";
+            } else if (!Pbkdf2PasswordHasher.isWellFormed(passwordHash)) {
+                problem = "Malformed password_hash";
+            }
+        } else if (!ValidationUtils.isValidPassword(password)) {
+            problem = "Invalid password";
+        }
+        if (problem != null) {
+            report.errors.add(new RowError(line, username, problem));
+            return null;
+        }
+
+        CompletableFuture<String> hash = passwordHash != null && !passwordHash.isEmpty()
+            ? CompletableFuture.completedFuture(passwordHash)
+            : CompletableFuture.supplyAsync(() -> EncryptionUtils.hashPassword(password), hashPool);
+        return new PendingUser(line, username, email, trim(record.get("full_name")),
+            buildResume(record, email), hash);
+    }
+
+    /**
+     * Build the user's resume from the resume columns, or null if the row has none
+     */
+    private static Resume buildResume(ImportRecordReader.Record record, String email) {
+        boolean any = false;
+        for (String column : RESUME_COLUMNS) {
+            if (ValidationUtils.isNotEmpty(record.get(column))) {
+                any = true;
+                break;
+            }
+        }
+        if (!any) {
+            return null;
+        }
+        String name = record.get("name");
+        return new Resume(
+            ValidationUtils.isNotEmpty(name) ? name : record.get("full_name"),
+            email,
+            record.get("phone"),
+            record.get("address"),
+            record.get("institution"),
+            record.get("degree"),
+            record.get("year"),
+            record.get("job_title"),
+            record.get("company"),
+            record.get("duration"),
+            record.get("description"),
+            record.get("skills"));
+    }
+
+    /**
+     * Insert one batch in a single transaction. Each row runs inside its own
+     * savepoint, so a row that fails part way (after its user was inserted,
+     * or while its resume is indexed) leaves nothing behind; duplicates and
+     * such failures are recorded and the rest of the batch still commits.
+     */
+    private static void writeBatch(List<PendingUser> batch, ImportReport report) {
+        int users = 0;
+        int resumes = 0;
+        List<RowError> errors = new ArrayList<>();
+
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement savepoint = conn.createStatement()) {
+                PreparedStatement insertUser = DatabaseManager.prepareCached(conn, INSERT_USER_SQL);
+                PreparedStatement upsertResume = DatabaseManager.prepareCached(conn, ResumeManager.UPSERT_RESUME_SQL);
+
+                for (PendingUser user : batch) {
+                    savepoint.execute("SAVEPOINT row");
+                    try {
+                        boolean created = writeRow(conn, insertUser, upsertResume, user, errors);
+                        savepoint.execute("RELEASE row");
+                        if (created) {
+                            users++;
+                            if (user.resume != null) {
+                                resumes++;
+                            }
+                        }
+                    } catch (SQLException | CompletionException e) {
+                        savepoint.execute("ROLLBACK TO row");
+                        savepoint.execute("RELEASE row");
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        errors.add(new RowError(user.lineNumber, user.username, cause.getMessage()));
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            // The whole transaction was lost; report every row of the batch
+            logger.log(Level.WARNING, "Import batch failed: " + e.getMessage(), e);
+            errors.clear();
+            users = 0;
+            resumes = 0;
+            for (PendingUser user : batch) {
+                errors.add(new RowError(user.lineNumber, user.username, "Batch failed: " + e.getMessage()));
+            }
+        }
+
+        report.batches++;
+        report.usersCreated += users;
+        report.resumesCreated += resumes;
+        report.errors.addAll(errors);
+    }
+
+    /**
+     * Insert one row's user and resume. Returns false (with the reason added
+     * to errors) if the username or email is already taken.
+     */
+    private static boolean writeRow(Connection conn, PreparedStatement insertUser, PreparedStatement upsertResume,
+                                    PendingUser user, List<RowError> errors) throws SQLException {
+        insertUser.setString(1, user.username);
+        insertUser.setString(2, user.email);
+        insertUser.setString(3, user.passwordHash.join());
+        insertUser.setString(4, user.fullName);
+
+        Integer userId = null;
+        try (ResultSet rs = insertUser.executeQuery()) {
+            if (rs.next()) {
+                userId = rs.getInt(1);
+            }
+        }
+        if (userId == null) {
+            errors.add(new RowError(user.lineNumber, user.username, describeDuplicate(conn, user)));
+            return false;
+        }
+
+        if (user.resume != null) {
+            upsertResume.setInt(1, userId);
+            ResumeManager.setResumeParameters(upsertResume, user.resume, 2);
+            try (ResultSet rs = upsertResume.executeQuery()) {
+                if (rs.next()) {
+                    ResumeSearchIndex.indexResume(conn, rs.getInt(1), user.resume);
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String describeDuplicate(Connection conn, PendingUser user) throws SQLException {
+        PreparedStatement pstmt = DatabaseManager.prepareCached(conn, FIND_DUPLICATE_SQL);
+        pstmt.setString(1, user.username);
+        pstmt.setString(2, user.username);
+        pstmt.setString(3, user.email);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            if (rs.next()) {
+                return rs.getInt("same_username") == 1 ? "Username already exists" : "Email already exists";
+            }
+        }
+        return "Duplicate user";
+    }
+
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    /**
+     * Command line entry point: BulkImportManager &lt;file.csv|file.jsonl&gt; [batchSize]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: BulkImportManager <file.csv|file.jsonl> [batchSize]");
+            System.exit(2);
+        }
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_BATCH_SIZE;
+        ImportReport report = importFile(Paths.get(args[0]), batchSize);
+        for (RowError error : report.getErrors()) {
+            System.err.println(error);
+        }
+        System.out.println(report);
+        DatabaseManager.shutdown();
+        System.exit(report.getErrors().isEmpty() ? 0 : 1);
+    }
+}
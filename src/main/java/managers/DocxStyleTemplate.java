@@ -0,0 +1,248 @@
+package managers;
+
+import models.CVThemeSettings;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTBorder;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTFonts;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTHpsMeasure;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTPPrGeneral;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTPageMar;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTPageSz;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTRPr;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTSectPr;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTSpacing;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTStyle;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTStyles;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STBorder;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STJc;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STStyleType;
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The Word styles for one theme, compiled once and copied into each document.
+ *
+ * Theme sizes are preview pixels; like the PDF renderer they are scaled by
+ * A4 width / paper width, so a DOCX and a PDF of the same theme match.
+ */
+class DocxStyleTemplate {
+    static final String NAME = "ResumeName";
+    static final String CONTACT = "ResumeContact";
+    static final String SECTION_PRIMARY = "ResumeSectionPrimary";
+    static final String SECTION_SECONDARY = "ResumeSectionSecondary";
+    static final String SECTION_TERTIARY = "ResumeSectionTertiary";
+    static final String ENTRY_TITLE = "ResumeEntryTitle";
+    static final String BODY = "ResumeBody";
+    static final String DETAIL = "ResumeDetail";
+    static final String META = "ResumeMeta";
+
+    private static final double A4_WIDTH_PT = 595.28;
+    private static final int A4_WIDTH_TWIPS = 11906;
+    private static final int A4_HEIGHT_TWIPS = 16838;
+
+    // Templates of the most recently used themes; each theme change adds one
+    private static final int CACHE_SIZE = 8;
+    private static final Map<String, DocxStyleTemplate> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DocxStyleTemplate> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final CTStyles styles;
+    private final int marginX;
+    private final int marginY;
+
+    /**
+     * The compiled template for these settings; equal settings share one template
+     */
+    static DocxStyleTemplate forTheme(CVThemeSettings settings) {
+        CVThemeSettings theme = settings != null ? settings : new CVThemeSettings();
+        synchronized (CACHE) {
+            return CACHE.computeIfAbsent(themeKey(theme), key -> new DocxStyleTemplate(theme));
+        }
+    }
+
+    private DocxStyleTemplate(CVThemeSettings theme) {
+        double scale = A4_WIDTH_PT / Math.max(1.0, theme.getPaperWidth());
+        int bodySize = halfPoints(theme.getBodyFontSize(), scale);
+        int smallSize = halfPoints(theme.getBodyFontSize() - 1, scale);
+        int sectionSize = halfPoints(theme.getSectionFontSize(), scale);
+        int sectionGap = twips(theme.getSectionSpacing(), scale);
+        int indent = twips(20, scale);
+
+        styles = CTStyles.Factory.newInstance();
+        CTRPr defaults = styles.addNewDocDefaults().addNewRPrDefault().addNewRPr();
+        fonts(defaults, theme.getBodyFont());
+        size(defaults, bodySize);
+        defaults.addNewColor().setVal(hex(theme.getBodyTextColor()));
+
+        CTStyle name = style(NAME, "Resume Name", STStyleType.PARAGRAPH, null);
+        CTRPr nameRun = name.addNewRPr();
+        fonts(nameRun, theme.getHeaderFont());
+        nameRun.addNewB();
+        size(nameRun, halfPoints(theme.getHeaderFontSize(), scale));
+        nameRun.addNewColor().setVal(hex(theme.getHeaderTextColor()));
+        CTPPrGeneral namePara = name.addNewPPr();
+        namePara.addNewJc().setVal(STJc.CENTER);
+        spacing(namePara, 0, twips(10, scale));
+
+        CTStyle contact = style(CONTACT, "Resume Contact", STStyleType.PARAGRAPH, null);
+        CTPPrGeneral contactPara = contact.addNewPPr();
+        contactPara.addNewJc().setVal(STJc.CENTER);
+        spacing(contactPara, 0, twips(20, scale));
+        if (theme.isUseBorders() && !"none".equalsIgnoreCase(theme.getBorderStyle())) {
+            CTBorder divider = contactPara.addNewPBdr().addNewBottom();
+            divider.setVal("dashed".equalsIgnoreCase(theme.getBorderStyle()) ? STBorder.DASHED : STBorder.SINGLE);
+            divider.setColor(hex(theme.getDividerColor()));
+            // Border widths are eighths of a point
+            divider.setSz(BigInteger.valueOf(Math.max(2, Math.round(3 * scale * 8))));
+            divider.setSpace(BigInteger.valueOf(6));
+        }
+
+        sectionStyle(SECTION_PRIMARY, "Resume Section Primary", theme.getPrimaryColor(), sectionSize, sectionGap, scale);
+        sectionStyle(SECTION_SECONDARY, "Resume Section Secondary", theme.getSecondaryColor(), sectionSize, sectionGap, scale);
+        sectionStyle(SECTION_TERTIARY, "Resume Section Tertiary", theme.getTertiaryColor(), sectionSize, sectionGap, scale);
+
+        CTStyle entry = style(ENTRY_TITLE, "Resume Entry Title", STStyleType.PARAGRAPH, null);
+        CTRPr entryRun = entry.addNewRPr();
+        entryRun.addNewB();
+        size(entryRun, sectionSize);
+        entryRun.addNewColor().setVal(hex(theme.getHeaderTextColor()));
+        CTPPrGeneral entryPara = entry.addNewPPr();
+        entryPara.addNewInd().setLeft(BigInteger.valueOf(indent));
+        entryPara.addNewKeepNext();
+        spacing(entryPara, 0, twips(5, scale));
+
+        CTStyle body = style(BODY, "Resume Body", STStyleType.PARAGRAPH, null);
+        CTPPrGeneral bodyPara = body.addNewPPr();
+        bodyPara.addNewInd().setLeft(BigInteger.valueOf(indent));
+        spacing(bodyPara, 0, twips(5, scale));
+
+        CTStyle detail = style(DETAIL, "Resume Detail", STStyleType.PARAGRAPH, BODY);
+        size(detail.addNewRPr(), smallSize);
+
+        CTStyle meta = style(META, "Resume Meta", STStyleType.CHARACTER, null);
+        CTRPr metaRun = meta.addNewRPr();
+        size(metaRun, smallSize);
+        metaRun.addNewColor().setVal(hex(theme.getBodyTextColor()));
+
+        marginY = twips(theme.getPadding(), scale);
+        // The preview pads 10px more horizontally than vertically
+        marginX = twips(theme.getPadding() + 10, scale);
+    }
+
+    /**
+     * Install the styles and page setup into a new, empty document
+     */
+    void applyTo(XWPFDocument document) {
+        CTStyles copy;
+        // XmlBeans stores are not safe for concurrent reads
+        synchronized (this) {
+            copy = (CTStyles) styles.copy();
+        }
+        document.createStyles().setStyles(copy);
+
+        CTSectPr section = document.getDocument().getBody().addNewSectPr();
+        CTPageSz size = section.addNewPgSz();
+        size.setW(BigInteger.valueOf(A4_WIDTH_TWIPS));
+        size.setH(BigInteger.valueOf(A4_HEIGHT_TWIPS));
+        CTPageMar margins = section.addNewPgMar();
+        margins.setTop(BigInteger.valueOf(marginY));
+        margins.setBottom(BigInteger.valueOf(marginY));
+        margins.setLeft(BigInteger.valueOf(marginX));
+        margins.setRight(BigInteger.valueOf(marginX));
+    }
+
+    static int cacheSize() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    private void sectionStyle(String id, String displayName, String color, int size, int before, double scale) {
+        CTStyle section = style(id, displayName, STStyleType.PARAGRAPH, null);
+        CTRPr run = section.addNewRPr();
+        run.addNewB();
+        size(run, size);
+        run.addNewColor().setVal(hex(color));
+        CTPPrGeneral paragraph = section.addNewPPr();
+        paragraph.addNewKeepNext();
+        spacing(paragraph, before, twips(15, scale));
+    }
+
+    private CTStyle style(String id, String displayName, STStyleType.Enum type, String basedOn) {
+        CTStyle style = styles.addNewStyle();
+        style.setType(type);
+        style.setStyleId(id);
+        style.addNewName().setVal(displayName);
+        if (basedOn != null) {
+            style.addNewBasedOn().setVal(basedOn);
+        }
+        style.addNewQFormat();
+        return style;
+    }
+
+    private static void fonts(CTRPr run, String family) {
+        CTFonts fonts = run.addNewRFonts();
+        fonts.setAscii(family);
+        fonts.setHAnsi(family);
+        fonts.setCs(family);
+        fonts.setEastAsia(family);
+    }
+
+    private static void size(CTRPr run, int halfPoints) {
+        CTHpsMeasure size = run.addNewSz();
+        size.setVal(BigInteger.valueOf(halfPoints));
+        run.addNewSzCs().setVal(BigInteger.valueOf(halfPoints));
+    }
+
+    private static void spacing(CTPPrGeneral paragraph, int before, int after) {
+        CTSpacing spacing = paragraph.addNewSpacing();
+        spacing.setBefore(BigInteger.valueOf(before));
+        spacing.setAfter(BigInteger.valueOf(after));
+    }
+
+    private static int halfPoints(double px, double scale) {
+        return (int) Math.max(2, Math.round(px * scale * 2));
+    }
+
+    private static int twips(double px, double scale) {
+        return (int) Math.round(px * scale * 20);
+    }
+
+    /**
+     * "#3498db" to the "3498DB" form Word expects; unparseable colours become black
+     */
+    static String hex(String color) {
+        if (color != null) {
+            String value = color.trim();
+            if (value.startsWith("#")) {
+                value = value.substring(1);
+            }
+            if (value.length() == 3) {
+                value = "" + value.charAt(0) + value.charAt(0) + value.charAt(1) + value.charAt(1)
+                    + value.charAt(2) + value.charAt(2);
+            }
+            if (value.matches("[0-9a-fA-F]{6}")) {
+                return value.toUpperCase(Locale.ROOT);
+            }
+        }
+        return "000000";
+    }
+
+    private static String themeKey(CVThemeSettings theme) {
+        return String.join("|",
+            String.valueOf(theme.getHeaderFont()), String.valueOf(theme.getBodyFont()),
+            String.valueOf(theme.getHeaderFontSize()), String.valueOf(theme.getSectionFontSize()),
+            String.valueOf(theme.getBodyFontSize()),
+            String.valueOf(theme.getPrimaryColor()), String.valueOf(theme.getSecondaryColor()),
+            String.valueOf(theme.getTertiaryColor()), String.valueOf(theme.getHeaderTextColor()),
+            String.valueOf(theme.getBodyTextColor()), String.valueOf(theme.getDividerColor()),
+            String.valueOf(theme.getPaperWidth()), String.valueOf(theme.getPadding()),
+            String.valueOf(theme.getSectionSpacing()), String.valueOf(theme.isUseBorders()),
+            String.valueOf(theme.getBorderStyle()));
+    }
+}
@@ -0,0 +1,293 @@
+package managers;
+
+import utils.SkillTaxonomy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Scores job titles for a skills text against the skill taxonomy's
+ * skill to jobs adjacency.
+ *
+ * Input text is split into segments at commas, semicolons and line breaks,
+ * and each segment into words. Word n-grams within a segment are looked up
+ * as whole skill phrases ("machine learning", "power bi") for an exact
+ * match. Single words, and the parts of dotted or slashed words
+ * ("node.js" -> "node"), are looked up against the words of multi-word
+ * skills for a partial match. Each skill counts once per input. Scores
+ * accumulate in per-thread scratch arrays and only the skills and jobs
+ * actually touched are visited again, so a call costs the same for a
+ * taxonomy of fifty skills or fifty thousand. The best jobs are picked
+ * with a bounded heap.
+ *
+ * Immutable; safe to share between threads.
+ */
+final class JobMatchIndex {
+    static final int EXACT_SCORE = 10;
+    static final int PARTIAL_SCORE = 5;
+
+    private static final int[] NONE = new int[0];
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final SkillTaxonomy taxonomy;
+
+    /**
+     * Top scoring jobs, best first
+     */
+    static final class Matches {
+        private final SkillTaxonomy taxonomy;
+        private final int[] jobIds;
+        private final int[] scores;
+
+        private Matches(SkillTaxonomy taxonomy, int[] jobIds, int[] scores) {
+            this.taxonomy = taxonomy;
+            this.jobIds = jobIds;
+            this.scores = scores;
+        }
+
+        int size() { return jobIds.length; }
+        String title(int rank) { return taxonomy.getJobTitle(jobIds[rank]); }
+        int score(int rank) { return scores[rank]; }
+    }
+
+    /**
+     * Per-thread score arrays, zero between calls. touched lists the
+     * non-zero entries so they can be visited and reset without a full scan.
+     */
+    private static final class Scratch {
+        int[] skillScore = NONE;
+        int[] touchedSkills = NONE;
+        int skillCount;
+        int[] jobScore = NONE;
+        int[] touchedJobs = NONE;
+        int jobCount;
+
+        void prepare(SkillTaxonomy taxonomy) {
+            if (skillScore.length < taxonomy.getSkillCount()) {
+                skillScore = new int[taxonomy.getSkillCount()];
+                touchedSkills = new int[Math.min(64, taxonomy.getSkillCount())];
+            }
+            if (jobScore.length < taxonomy.getJobCount()) {
+                jobScore = new int[taxonomy.getJobCount()];
+                touchedJobs = new int[Math.min(64, taxonomy.getJobCount())];
+            }
+        }
+
+        void scoreSkill(int skill, int score) {
+            if (skillScore[skill] == 0) {
+                if (skillCount == touchedSkills.length) {
+                    touchedSkills = Arrays.copyOf(touchedSkills, Math.max(8, skillCount * 2));
+                }
+                touchedSkills[skillCount++] = skill;
+            }
+            skillScore[skill] = score;
+        }
+
+        void scoreJob(int job, int score) {
+            if (jobScore[job] == 0) {
+                if (jobCount == touchedJobs.length) {
+                    touchedJobs = Arrays.copyOf(touchedJobs, Math.max(8, jobCount * 2));
+                }
+                touchedJobs[jobCount++] = job;
+            }
+            jobScore[job] += score;
+        }
+
+        void reset() {
+            for (int i = 0; i < skillCount; i++) {
+                skillScore[touchedSkills[i]] = 0;
+            }
+            for (int i = 0; i < jobCount; i++) {
+                jobScore[touchedJobs[i]] = 0;
+            }
+            skillCount = 0;
+            jobCount = 0;
+        }
+    }
+
+    JobMatchIndex(SkillTaxonomy taxonomy) {
+        this.taxonomy = taxonomy;
+    }
+
+    SkillTaxonomy getTaxonomy() {
+        return taxonomy;
+    }
+
+    int getJobCount() {
+        return taxonomy.getJobCount();
+    }
+
+    /**
+     * Score every job for the skills text and return the best limit of them
+     */
+    Matches match(String skillsText, int limit) {
+        if (skillsText == null || limit <= 0) {
+            return new Matches(taxonomy, NONE, NONE);
+        }
+        Scratch scratch = SCRATCH.get();
+        scratch.prepare(taxonomy);
+        try {
+            String text = skillsText.toLowerCase(Locale.ROOT);
+            List<String> tokens = new ArrayList<>();
+            int tokenStart = -1;
+            for (int i = 0; i <= text.length(); i++) {
+                char c = i < text.length() ? text.charAt(i) : '\n';
+                boolean segmentEnd = c == ',' || c == ';' || c == '\n';
+                if (segmentEnd || Character.isWhitespace(c)) {
+                    if (tokenStart >= 0) {
+                        tokens.add(text.substring(tokenStart, i));
+                        tokenStart = -1;
+                    }
+                    if (segmentEnd && !tokens.isEmpty()) {
+                        matchSegment(tokens, scratch);
+                        tokens.clear();
+                    }
+                } else if (tokenStart < 0) {
+                    tokenStart = i;
+                }
+            }
+
+            for (int i = 0; i < scratch.skillCount; i++) {
+                int skill = scratch.touchedSkills[i];
+                int score = scratch.skillScore[skill];
+                int jobs = taxonomy.getSkillJobCount(skill);
+                for (int j = 0; j < jobs; j++) {
+                    scratch.scoreJob(taxonomy.getSkillJob(skill, j), score);
+                }
+            }
+            return topK(scratch.jobScore, scratch.touchedJobs, scratch.jobCount, limit);
+        } finally {
+            scratch.reset();
+        }
+    }
+
+    private void matchSegment(List<String> tokens, Scratch scratch) {
+        // Exact phrases: every word n-gram up to the longest skill phrase
+        int maxPhraseWords = taxonomy.getMaxSkillWords();
+        StringBuilder gram = new StringBuilder();
+        for (int start = 0; start < tokens.size(); start++) {
+            gram.setLength(0);
+            for (int n = 0; n < maxPhraseWords && start + n < tokens.size(); n++) {
+                if (n > 0) {
+                    gram.append(' ');
+                }
+                gram.append(tokens.get(start + n));
+                int skill = taxonomy.findSkill(gram);
+                if (skill >= 0) {
+                    scratch.scoreSkill(skill, EXACT_SCORE);
+                }
+            }
+        }
+        // Partial: a word of a multi-word skill, or a part of a dotted word
+        for (String token : tokens) {
+            credit(taxonomy.findWord(token), scratch);
+            int from = 0;
+            for (int i = 0; i <= token.length(); i++) {
+                if (i < token.length() && !isPartSeparator(token.charAt(i))) {
+                    continue;
+                }
+                if (i == token.length() && from == 0) {
+                    break; // no separator: the whole token was handled above
+                }
+                if (i > from) {
+                    String part = token.substring(from, i);
+                    int skill = taxonomy.findSkill(part);
+                    if (skill >= 0 && scratch.skillScore[skill] == 0) {
+                        scratch.scoreSkill(skill, PARTIAL_SCORE);
+                    }
+                    credit(taxonomy.findWord(part), scratch);
+                }
+                from = i + 1;
+            }
+        }
+    }
+
+    private void credit(int word, Scratch scratch) {
+        if (word >= 0) {
+            int skills = taxonomy.getWordSkillCount(word);
+            for (int i = 0; i < skills; i++) {
+                int skill = taxonomy.getWordSkill(word, i);
+                if (scratch.skillScore[skill] == 0) {
+                    scratch.scoreSkill(skill, PARTIAL_SCORE);
+                }
+            }
+        }
+    }
+
+    /**
+     * The best k of the candidate jobs by score (ties: earlier job first) using a bounded min-heap
+     */
+    private Matches topK(int[] scores, int[] candidates, int count, int k) {
+        int[] heap = new int[Math.min(k, count)];
+        int size = 0;
+        for (int c = 0; c < count; c++) {
+            int job = candidates[c];
+            if (scores[job] <= 0) {
+                continue;
+            }
+            if (size < heap.length) {
+                heap[size] = job;
+                siftUp(heap, size++, scores);
+            } else if (better(job, heap[0], scores)) {
+                heap[0] = job;
+                siftDown(heap, size, scores);
+            }
+        }
+        // Pop the worst first into the back of the result
+        int[] jobs = new int[size];
+        int[] jobScores = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            jobs[i] = heap[0];
+            jobScores[i] = scores[heap[0]];
+            heap[0] = heap[--size];
+            siftDown(heap, size, scores);
+        }
+        return new Matches(taxonomy, jobs, jobScores);
+    }
+
+    private static boolean better(int a, int b, int[] scores) {
+        return scores[a] != scores[b] ? scores[a] > scores[b] : a < b;
+    }
+
+    private static void siftUp(int[] heap, int index, int[] scores) {
+        int job = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!better(heap[parent], job, scores)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = job;
+    }
+
+    private static void siftDown(int[] heap, int size, int[] scores) {
+        if (size == 0) {
+            return;
+        }
+        int index = 0;
+        int job = heap[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && better(heap[child], heap[child + 1], scores)) {
+                child++;
+            }
+            if (!better(job, heap[child], scores)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = job;
+    }
+
+    private static boolean isPartSeparator(char c) {
+        return c == '.' || c == '/' || c == '-';
+    }
+}
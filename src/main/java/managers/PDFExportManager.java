@@ -1,21 +1,36 @@
 package managers;
 
+import models.CVThemeSettings;
 import models.Resume;
+import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceRGB;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 import views.ProfessionalCVViewFX;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.Node;
 import javafx.scene.SnapshotParameters;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelReader;
+import javafx.scene.transform.Transform;
 
-import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 
 /**
  * PDF Export Manager - Exports resume to PDF format
@@ -26,7 +41,59 @@ public class PDFExportManager {
         exportToPDF(resume, "exported_resume.pdf");
     }
     
+    /**
+     * Export using the current user's theme settings (vector renderer, no FX thread needed)
+     */
     public static boolean exportToPDF(Resume resume, String filePath) {
+        return exportToPDF(resume, ThemeSettingsManager.getSettings(), filePath);
+    }
+    
+    /**
+     * Export with real text and vector graphics via PDFResumeRenderer
+     */
+    public static boolean exportToPDF(Resume resume, CVThemeSettings settings, String filePath) {
+        try {
+            long start = System.nanoTime();
+            PDFResumeRenderer.render(resume, settings, new File(filePath));
+            System.out.println("PDF Exported Successfully to: " + filePath
+                + " (" + (System.nanoTime() - start) / 1_000_000 + " ms)");
+            return true;
+        } catch (Exception e) {
+            System.err.println("Error exporting PDF: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+    
+    /**
+     * How snapshot pages are stored in the PDF
+     */
+    public enum ImageEncoding {
+        /** Raw RGB with fast Flate compression (exact, fastest) */
+        LOSSLESS,
+        /** PDFBox LosslessFactory with PNG predictors (exact, smaller, slower) */
+        LOSSLESS_COMPACT,
+        /** DCT-compressed pixels (smallest, slight artifacts) */
+        JPEG
+    }
+    
+    // Raster resolution of snapshot exports; 144 is 2x the PDF's 72 points per inch
+    public static final int DEFAULT_RASTER_DPI = Integer.getInteger("resumebuilder.pdf.rasterDpi", 144);
+    private static final float JPEG_QUALITY = 0.9f;
+    
+    /**
+     * Export snapshots of the JavaFX preview as images, one per A4 page.
+     * Must run on the FX thread. Backs the "Image PDF" export, which copies the
+     * on-screen preview pixel for pixel (drop shadows included).
+     */
+    public static boolean exportSnapshotToPDF(Resume resume, String filePath) {
+        return exportSnapshotToPDF(resume, filePath, DEFAULT_RASTER_DPI, ImageEncoding.LOSSLESS);
+    }
+    
+    /**
+     * Snapshot export at the given resolution (dots per inch of the printed page)
+     */
+    public static boolean exportSnapshotToPDF(Resume resume, String filePath, int dpi, ImageEncoding encoding) {
         try {
             // Get the preview content node from ProfessionalCVViewFX
             Node previewContent = ProfessionalCVViewFX.getPreviewContentNode(resume);
@@ -61,13 +128,6 @@ public class PDFExportManager {
                 parent.layout();
             }
             
-            // Wait a moment for layout to complete
-            try {
-                Thread.sleep(200);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-            
             // Get the actual bounds of the content after layout
             javafx.geometry.Bounds bounds = previewContent.getBoundsInLocal();
             double contentWidth = Math.max(bounds.getWidth(), 650); // Minimum width
@@ -85,74 +145,51 @@ public class PDFExportManager {
             System.out.println("Content bounds: " + contentWidth + " x " + contentHeight);
             System.out.println("Bounds maxY: " + bounds.getMaxY());
             
-            // Take snapshot with the full content size
-            SnapshotParameters params = new SnapshotParameters();
-            params.setFill(Color.WHITE); // White background for PDF
-            WritableImage snapshot = previewContent.snapshot(params, 
-                new WritableImage((int) Math.ceil(contentWidth), (int) Math.ceil(contentHeight)));
-            
-            // Convert JavaFX WritableImage to BufferedImage
-            int width = (int) snapshot.getWidth();
-            int height = (int) snapshot.getHeight();
-            BufferedImage bufferedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-            PixelReader reader = snapshot.getPixelReader();
-            
-            for (int y = 0; y < height; y++) {
-                for (int x = 0; x < width; x++) {
-                    javafx.scene.paint.Color fxColor = reader.getColor(x, y);
-                    int argb = (int) (fxColor.getOpacity() * 255) << 24 |
-                               (int) (fxColor.getRed() * 255) << 16 |
-                               (int) (fxColor.getGreen() * 255) << 8 |
-                               (int) (fxColor.getBlue() * 255);
-                    bufferedImage.setRGB(x, y, argb);
-                }
-            }
+            // Split the content into A4-proportioned slices, breaking between section blocks
+            float pageWidth = PDRectangle.A4.getWidth();
+            float pageHeight = PDRectangle.A4.getHeight();
+            // Snapshot viewports are in the node's parent coordinates
+            javafx.geometry.Bounds parentBounds = previewContent.localToParent(bounds);
+            double top = parentBounds.getMinY();
+            double pageHeightPx = contentWidth * pageHeight / pageWidth;
+            List<double[]> pages = computePageBreaks(collectBlockTops(previewContent), top, top + contentHeight, pageHeightPx);
+            System.out.println("Paginated into " + pages.size() + " page(s)");
             
-            // Create PDF from image
             try (PDDocument document = new PDDocument()) {
-                float pageWidth = PDRectangle.A4.getWidth();
-                float pageHeight = PDRectangle.A4.getHeight();
-                float imageWidth = bufferedImage.getWidth();
-                float imageHeight = bufferedImage.getHeight();
-                
-                // Scale to fit page width while maintaining aspect ratio
-                float scale = pageWidth / imageWidth;
-                float scaledWidth = imageWidth * scale;
-                float scaledHeight = imageHeight * scale;
+                // Points per preview pixel, and image pixels per preview pixel for the requested DPI
+                float scale = pageWidth / (float) contentWidth;
+                double pixelScale = Math.max(0.25, scale * dpi / 72.0);
                 
-                System.out.println("Image size: " + imageWidth + " x " + imageHeight);
-                System.out.println("Scaled size: " + scaledWidth + " x " + scaledHeight);
-                
-                // If content is taller than page, scale down to fit on one page
-                if (scaledHeight > pageHeight) {
-                    // Recalculate scale to fit height
-                    scale = pageHeight / imageHeight;
-                    scaledWidth = imageWidth * scale;
-                    scaledHeight = imageHeight * scale;
-                    System.out.println("Content too tall, scaling to fit: " + scaledWidth + " x " + scaledHeight);
-                }
-                
-                // Convert BufferedImage to byte array
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                ImageIO.write(bufferedImage, "png", baos);
-                byte[] imageBytes = baos.toByteArray();
-                
-                // Create PDImageXObject from byte array
-                PDImageXObject pdImage = PDImageXObject.createFromByteArray(document, imageBytes, "resume");
-                
-                PDPage page = new PDPage(PDRectangle.A4);
-                document.addPage(page);
-                
-                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-                    // Center the image on the page
-                    float x = (pageWidth - scaledWidth) / 2;
-                    float y = (pageHeight - scaledHeight) / 2;
-                    contentStream.drawImage(pdImage, x, y, scaledWidth, scaledHeight);
+                // Snapshot one page at a time so only one page of pixels is held in memory
+                for (double[] slice : pages) {
+                    double sliceHeight = slice[1] - slice[0];
+                    SnapshotParameters params = new SnapshotParameters();
+                    params.setFill(Color.WHITE); // White background for PDF
+                    params.setTransform(Transform.scale(pixelScale, pixelScale));
+                    // The viewport is in transformed (image pixel) coordinates
+                    params.setViewport(new Rectangle2D(parentBounds.getMinX() * pixelScale, slice[0] * pixelScale,
+                        Math.ceil(contentWidth * pixelScale), Math.ceil(sliceHeight * pixelScale)));
+                    WritableImage snapshot = previewContent.snapshot(params, null);
+                    BufferedImage bufferedImage = toBufferedImage(snapshot);
+                    
+                    // Hand the pixels to PDFBox directly, without an intermediate PNG
+                    PDImageXObject pdImage = createImage(document, bufferedImage, encoding);
+                    
+                    PDPage page = new PDPage(PDRectangle.A4);
+                    document.addPage(page);
+                    
+                    // Scale to page width and align to the top of the page
+                    float scaledWidth = (float) contentWidth * scale;
+                    float scaledHeight = (float) sliceHeight * scale;
+                    try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                        contentStream.drawImage(pdImage, (pageWidth - scaledWidth) / 2, pageHeight - scaledHeight,
+                            scaledWidth, scaledHeight);
+                    }
                 }
                 
                 document.save(filePath);
-            System.out.println("PDF Exported Successfully to: " + filePath);
-            return true;
+                System.out.println("PDF Exported Successfully to: " + filePath);
+                return true;
             }
 
         } catch (Exception e) {
@@ -162,6 +199,110 @@ public class PDFExportManager {
         }
     }
     
+    /**
+     * Choose page slices [top, bottom) of at most pageHeight. A page ends at the
+     * last block top that fits; a block taller than a page is cut at the page edge.
+     */
+    static List<double[]> computePageBreaks(List<Double> blockTops, double start, double end, double pageHeight) {
+        List<double[]> pages = new ArrayList<>();
+        double pageTop = start;
+        while (end - pageTop > 0.5) {
+            double limit = pageTop + pageHeight;
+            if (limit >= end) {
+                pages.add(new double[] {pageTop, end});
+                break;
+            }
+            double cut = limit;
+            double best = -1;
+            for (double blockTop : blockTops) {
+                if (blockTop > pageTop + 1 && blockTop <= limit && blockTop > best) {
+                    best = blockTop;
+                }
+            }
+            if (best > 0) {
+                cut = best;
+            }
+            pages.add(new double[] {pageTop, cut});
+            pageTop = cut;
+        }
+        return pages;
+    }
+    
+    /**
+     * Top edges (in the root's parent coordinates) of the paper's section blocks:
+     * the header and each createCVSection box
+     */
+    private static List<Double> collectBlockTops(Node root) {
+        Node paper = root;
+        // Descend through single-child wrappers to the paper
+        while (paper instanceof javafx.scene.Parent
+                && ((javafx.scene.Parent) paper).getChildrenUnmodifiable().size() == 1) {
+            paper = ((javafx.scene.Parent) paper).getChildrenUnmodifiable().get(0);
+        }
+        List<Double> tops = new ArrayList<>();
+        if (paper instanceof javafx.scene.Parent) {
+            for (Node block : ((javafx.scene.Parent) paper).getChildrenUnmodifiable()) {
+                javafx.geometry.Bounds sceneBounds = block.localToScene(block.getBoundsInLocal());
+                tops.add(root.localToParent(root.sceneToLocal(sceneBounds)).getMinY());
+            }
+        }
+        return tops;
+    }
+    
+    /**
+     * Convert JavaFX WritableImage to BufferedImage with one bulk copy into the
+     * image's int[] raster. The snapshot is filled white, so alpha is dropped (RGB).
+     */
+    private static BufferedImage toBufferedImage(WritableImage snapshot) {
+        int width = (int) snapshot.getWidth();
+        int height = (int) snapshot.getHeight();
+        BufferedImage bufferedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) bufferedImage.getRaster().getDataBuffer()).getData();
+        PixelReader reader = snapshot.getPixelReader();
+        reader.getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        return bufferedImage;
+    }
+    
+    private static PDImageXObject createImage(PDDocument document, BufferedImage image, ImageEncoding encoding)
+            throws IOException {
+        switch (encoding) {
+            case JPEG:
+                return JPEGFactory.createFromImage(document, image, JPEG_QUALITY);
+            case LOSSLESS_COMPACT:
+                return LosslessFactory.createFromImage(document, image);
+            case LOSSLESS:
+            default:
+                return createFlateImage(document, image);
+        }
+    }
+    
+    /**
+     * Write an RGB image as an 8-bit DeviceRGB Flate stream. Skips LosslessFactory's
+     * per-row predictor search, which costs about 10x the time for ~2x smaller output.
+     */
+    private static PDImageXObject createFlateImage(PDDocument document, BufferedImage image) throws IOException {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        byte[] rgb = new byte[width * height * 3];
+        for (int i = 0, j = 0; i < pixels.length; i++) {
+            int pixel = pixels[i];
+            rgb[j++] = (byte) (pixel >> 16);
+            rgb[j++] = (byte) (pixel >> 8);
+            rgb[j++] = (byte) pixel;
+        }
+        
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(rgb.length / 8);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater, 64 * 1024)) {
+            out.write(rgb);
+        } finally {
+            deflater.end();
+        }
+        return new PDImageXObject(document, new ByteArrayInputStream(compressed.toByteArray()),
+            COSName.FLATE_DECODE, width, height, 8, PDDeviceRGB.INSTANCE);
+    }
+    
     /**
      * Recursively layout all nodes to ensure proper sizing
      */
@@ -0,0 +1,589 @@
+package managers;
+
+import models.CVThemeSettings;
+import models.Resume;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentInformation;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.FontMapping;
+import org.apache.pdfbox.pdmodel.font.FontMappers;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.awt.Color;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Renders a resume straight to PDF text and vector graphics with PDFBox.
+ * Layout follows the professional preview (ProfessionalCVViewFX) and is driven by
+ * CVThemeSettings; the preview's paper width is scaled to A4. Fonts are looked up
+ * by family name and embedded as subsets. Pages break between sections where
+ * possible. No JavaFX is involved, so this runs on any thread, including
+ * headless.
+ */
+public class PDFResumeRenderer {
+    private static final Logger logger = Logger.getLogger(PDFResumeRenderer.class.getName());
+
+    private static final PDRectangle PAGE_SIZE = PDRectangle.A4;
+    private static final float LINE_SPACING = 1.25f;
+    private static final String CHIP_BACKGROUND = "#ecf0f1";
+    // Tried in order when the theme's font family is not installed
+    private static final String[] SANS_FALLBACKS = {"Arial", "DejaVuSans", "LiberationSans", "NotoSans"};
+    private static final String[] SERIF_FALLBACKS = {"TimesNewRoman", "DejaVuSerif", "LiberationSerif", "NotoSerif"};
+
+    // Resolved family -> font name (null: use a standard font), and the raw font files
+    private static final Map<String, String> RESOLVED_FONTS = new HashMap<>();
+    private static final Map<String, byte[]> FONT_DATA = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<String, TrueTypeFont>> THREAD_FONTS = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Render the resume to a PDF file
+     */
+    public static void render(Resume resume, CVThemeSettings settings, File file) throws IOException {
+        try (PDDocument document = renderDocument(resume, settings)) {
+            document.save(file);
+        }
+    }
+
+    /**
+     * Render the resume as PDF to a stream (the stream is not closed)
+     */
+    public static void render(Resume resume, CVThemeSettings settings, OutputStream out) throws IOException {
+        try (PDDocument document = renderDocument(resume, settings)) {
+            document.save(out);
+        }
+    }
+
+    /**
+     * Build the PDF document in memory; the caller must close it
+     */
+    public static PDDocument renderDocument(Resume resume, CVThemeSettings settings) throws IOException {
+        CVThemeSettings theme = settings != null ? settings : new CVThemeSettings();
+        PDDocument document = new PDDocument();
+        try {
+            PDDocumentInformation info = document.getDocumentInformation();
+            info.setTitle(resume != null && resume.getName() != null ? resume.getName() + " - Resume" : "Resume");
+            info.setCreator("Resume Builder");
+
+            Layout layout = new Layout(document, theme);
+            try {
+                layout.writeResume(resume);
+            } finally {
+                layout.close();
+            }
+            return document;
+        } catch (IOException | RuntimeException e) {
+            document.close();
+            throw e;
+        }
+    }
+
+    private interface Block {
+        void write() throws IOException;
+    }
+
+    /**
+     * Per-document layout state: fonts, current page and the vertical cursor.
+     * Coordinates are PDF points with y growing upwards; the cursor is the top
+     * of the next line.
+     */
+    private static class Layout {
+        private final PDDocument document;
+        private final CVThemeSettings theme;
+        private final float scale;
+        private final float left;
+        private final float right;
+        private final float top;
+        private final float bottom;
+
+        private final PDFont headerFont;
+        private final PDFont bodyFont;
+        private final PDFont bodyBoldFont;
+        private final Map<PDFont, Map<Integer, Boolean>> glyphSupport = new HashMap<>();
+
+        private PDPageContentStream stream;
+        private float y;
+        // While true, blocks only advance the cursor (used to measure a section)
+        private boolean measuring;
+
+        Layout(PDDocument document, CVThemeSettings theme) throws IOException {
+            this.document = document;
+            this.theme = theme;
+            this.scale = PAGE_SIZE.getWidth() / (float) Math.max(1.0, theme.getPaperWidth());
+            float padding = (float) theme.getPadding() * scale;
+            // The preview pads 10px more horizontally than vertically
+            this.left = padding + 10 * scale;
+            this.right = PAGE_SIZE.getWidth() - left;
+            this.top = PAGE_SIZE.getHeight() - padding;
+            this.bottom = padding;
+
+            this.headerFont = loadFont(document, theme.getHeaderFont(), true);
+            this.bodyFont = loadFont(document, theme.getBodyFont(), false);
+            this.bodyBoldFont = loadFont(document, theme.getBodyFont(), true);
+        }
+
+        void writeResume(Resume resume) throws IOException {
+            newPage();
+            if (resume == null) {
+                writeLine("No resume found. Please create one first.", bodyFont, 16, Color.GRAY, left);
+                return;
+            }
+
+            writeHeader(resume);
+            if (notEmpty(resume.getInstitution()) || notEmpty(resume.getDegree())) {
+                writeSection(() -> writeEducation(resume));
+            }
+            if (notEmpty(resume.getJobTitle()) || notEmpty(resume.getCompany())) {
+                writeSection(() -> writeExperience(resume));
+            }
+            if (notEmpty(resume.getSkills())) {
+                writeSection(() -> writeSkills(resume));
+            }
+        }
+
+        /**
+         * Write one section, moving it whole to the next page when it does not fit
+         * on this one but would fit on an empty page. Longer sections flow across
+         * pages line by line.
+         */
+        private void writeSection(Block section) throws IOException {
+            float start = y;
+            measuring = true;
+            try {
+                section.write();
+            } finally {
+                measuring = false;
+            }
+            float height = start - y;
+            y = start;
+            if (height > y - bottom && y < top && height <= top - bottom) {
+                newPage();
+            }
+            section.write();
+        }
+
+        private void writeHeader(Resume resume) throws IOException {
+            float nameSize = theme.getHeaderFontSize() * scale;
+            String name = resume.getName() != null ? resume.getName().toUpperCase() : "YOUR NAME";
+            writeCentered(name, headerFont, nameSize, color(theme.getHeaderTextColor()));
+
+            List<String> contacts = new ArrayList<>();
+            addContact(contacts, "✉ ", resume.getEmail());
+            addContact(contacts, "📱 ", resume.getPhone());
+            addContact(contacts, "📍 ", resume.getAddress());
+            float bodySize = theme.getBodyFontSize() * scale;
+            y -= 10 * scale;
+            if (!contacts.isEmpty()) {
+                writeCentered(String.join("    ", contacts), bodyFont, bodySize, color(theme.getBodyTextColor()));
+            }
+            y -= 20 * scale;
+
+            // Divider
+            float inset = 10 * scale;
+            stream.setStrokingColor(color(theme.getDividerColor()));
+            stream.setLineWidth(3 * scale);
+            stream.moveTo(left + inset, y);
+            stream.lineTo(right - inset, y);
+            stream.stroke();
+            y -= 3 * scale;
+        }
+
+        private void addContact(List<String> contacts, String icon, String value) {
+            if (notEmpty(value)) {
+                contacts.add(theme.isUseIcons() ? icon + value : value);
+            }
+        }
+
+        private void writeEducation(Resume resume) throws IOException {
+            writeSectionTitle("EDUCATION", theme.getPrimaryColor());
+            float indent = left + 20 * scale;
+            writeWrapped(resume.getDegree(), bodyBoldFont, theme.getSectionFontSize() * scale,
+                color(theme.getHeaderTextColor()), indent);
+            writeWrapped(resume.getInstitution(), bodyFont, theme.getBodyFontSize() * scale,
+                color(theme.getBodyTextColor()), indent);
+            writeWrapped(resume.getYear(), bodyFont, (theme.getBodyFontSize() - 1) * scale,
+                color(theme.getBodyTextColor()), indent);
+        }
+
+        private void writeExperience(Resume resume) throws IOException {
+            writeSectionTitle("PROFESSIONAL EXPERIENCE", theme.getSecondaryColor());
+            float indent = left + 20 * scale;
+            float titleSize = theme.getSectionFontSize() * scale;
+            float smallSize = (theme.getBodyFontSize() - 1) * scale;
+            Color headerColor = color(theme.getHeaderTextColor());
+            Color bodyColor = color(theme.getBodyTextColor());
+
+            // Job title with the duration beside it
+            String jobTitle = printable(bodyBoldFont, nullToEmpty(resume.getJobTitle()));
+            ensureSpace(lineHeight(titleSize));
+            float baseline = y - ascent(bodyBoldFont, titleSize);
+            showText(jobTitle, bodyBoldFont, titleSize, headerColor, indent, baseline);
+            if (notEmpty(resume.getDuration())) {
+                float x = indent + width(bodyBoldFont, titleSize, jobTitle) + 10 * scale;
+                showText(printable(bodyFont, "(" + resume.getDuration() + ")"), bodyFont, smallSize, bodyColor, x, baseline);
+            }
+            y -= lineHeight(titleSize) + 5 * scale;
+
+            writeWrapped(resume.getCompany(), bodyFont, theme.getBodyFontSize() * scale, bodyColor, indent);
+            writeWrapped(resume.getDescription(), bodyFont, smallSize, bodyColor, indent);
+        }
+
+        private void writeSkills(Resume resume) throws IOException {
+            writeSectionTitle("SKILLS", theme.getTertiaryColor());
+            float size = (theme.getBodyFontSize() - 1) * scale;
+            float padX = 12 * scale;
+            float padY = 5 * scale;
+            float gap = 10 * scale;
+            float chipHeight = lineHeight(size) + 2 * padY;
+            float indent = left + 20 * scale;
+            Color chipColor = color(CHIP_BACKGROUND);
+            Color textColor = color(theme.getHeaderTextColor());
+
+            float x = indent;
+            ensureSpace(chipHeight);
+            for (String raw : resume.getSkills().split(",")) {
+                String skill = printable(bodyFont, raw.trim());
+                if (skill.isEmpty()) {
+                    continue;
+                }
+                float chipWidth = width(bodyFont, size, skill) + 2 * padX;
+                if (x > indent && x + chipWidth > right) {
+                    x = indent;
+                    y -= chipHeight + gap;
+                    ensureSpace(chipHeight);
+                }
+                roundedRect(x, y - chipHeight, chipWidth, chipHeight, chipHeight / 2, chipColor);
+                showText(skill, bodyFont, size, textColor, x + padX, y - padY - ascent(bodyFont, size));
+                x += chipWidth + gap;
+            }
+            y -= chipHeight;
+        }
+
+        /**
+         * Section heading: spacing, a short colored bar and the colored title
+         */
+        private void writeSectionTitle(String title, String hexColor) throws IOException {
+            float size = theme.getSectionFontSize() * scale;
+            float height = lineHeight(size);
+            if (y < top) {
+                y -= (float) theme.getSectionSpacing() * scale;
+            }
+            // Keep the heading with at least one line of its content
+            ensureSpace(height + lineHeight(theme.getBodyFontSize() * scale) + 10 * scale);
+
+            Color sectionColor = color(hexColor);
+            float barWidth = 4 * scale;
+            if (!measuring) {
+                stream.setNonStrokingColor(sectionColor);
+                stream.addRect(left, y - height + 2 * scale, barWidth, height - 4 * scale);
+                stream.fill();
+            }
+            showText(printable(bodyBoldFont, title), bodyBoldFont, size, sectionColor,
+                left + barWidth + 10 * scale, y - ascent(bodyBoldFont, size));
+            y -= height + 10 * scale;
+        }
+
+        private void writeCentered(String text, PDFont font, float size, Color color) throws IOException {
+            for (String line : wrap(printable(font, text), font, size, right - left)) {
+                ensureSpace(lineHeight(size));
+                float x = left + (right - left - width(font, size, line)) / 2;
+                showText(line, font, size, color, x, y - ascent(font, size));
+                y -= lineHeight(size);
+            }
+        }
+
+        private void writeWrapped(String text, PDFont font, float size, Color color, float x) throws IOException {
+            if (!notEmpty(text)) {
+                return;
+            }
+            for (String line : wrap(printable(font, text), font, size, right - x)) {
+                writeLine(line, font, size, color, x);
+            }
+            y -= 5 * scale;
+        }
+
+        private void writeLine(String line, PDFont font, float size, Color color, float x) throws IOException {
+            ensureSpace(lineHeight(size));
+            showText(line, font, size, color, x, y - ascent(font, size));
+            y -= lineHeight(size);
+        }
+
+        private void showText(String text, PDFont font, float size, Color color, float x, float baseline) throws IOException {
+            if (text.isEmpty() || measuring) {
+                return;
+            }
+            stream.beginText();
+            stream.setFont(font, size);
+            stream.setNonStrokingColor(color);
+            stream.newLineAtOffset(x, baseline);
+            stream.showText(text);
+            stream.endText();
+        }
+
+        private void roundedRect(float x, float yBottom, float w, float h, float r, Color fill) throws IOException {
+            // Bezier approximation of quarter circles
+            if (measuring) {
+                return;
+            }
+            float k = 0.5523f * r;
+            stream.setNonStrokingColor(fill);
+            stream.moveTo(x + r, yBottom);
+            stream.lineTo(x + w - r, yBottom);
+            stream.curveTo(x + w - r + k, yBottom, x + w, yBottom + r - k, x + w, yBottom + r);
+            stream.lineTo(x + w, yBottom + h - r);
+            stream.curveTo(x + w, yBottom + h - r + k, x + w - r + k, yBottom + h, x + w - r, yBottom + h);
+            stream.lineTo(x + r, yBottom + h);
+            stream.curveTo(x + r - k, yBottom + h, x, yBottom + h - r + k, x, yBottom + h - r);
+            stream.lineTo(x, yBottom + r);
+            stream.curveTo(x, yBottom + r - k, x + r - k, yBottom, x + r, yBottom);
+            stream.closePath();
+            stream.fill();
+        }
+
+        /**
+         * Start a new page if fewer than height points are left on this one
+         */
+        private void ensureSpace(float height) throws IOException {
+            if (measuring) {
+                return;
+            }
+            if (y - height < bottom && y < top) {
+                newPage();
+            }
+        }
+
+        private void newPage() throws IOException {
+            close();
+            PDPage page = new PDPage(PAGE_SIZE);
+            document.addPage(page);
+            stream = new PDPageContentStream(document, page);
+            Color background = color(theme.getBackgroundColor());
+            if (!Color.WHITE.equals(background)) {
+                stream.setNonStrokingColor(background);
+                stream.addRect(0, 0, PAGE_SIZE.getWidth(), PAGE_SIZE.getHeight());
+                stream.fill();
+            }
+            y = top;
+        }
+
+        void close() throws IOException {
+            if (stream != null) {
+                stream.close();
+                stream = null;
+            }
+        }
+
+        /**
+         * Greedy word wrap; explicit newlines are kept and over-long words are split
+         */
+        private List<String> wrap(String text, PDFont font, float size, float maxWidth) throws IOException {
+            List<String> lines = new ArrayList<>();
+            for (String paragraph : text.split("\n", -1)) {
+                StringBuilder line = new StringBuilder();
+                for (String word : paragraph.split(" +")) {
+                    if (word.isEmpty()) {
+                        continue;
+                    }
+                    String candidate = line.length() == 0 ? word : line + " " + word;
+                    if (width(font, size, candidate) <= maxWidth) {
+                        line.setLength(0);
+                        line.append(candidate);
+                        continue;
+                    }
+                    if (line.length() > 0) {
+                        lines.add(line.toString());
+                        line.setLength(0);
+                    }
+                    // Split a word that is wider than the line on its own
+                    while (width(font, size, word) > maxWidth && word.length() > 1) {
+                        int cut = word.length() - 1;
+                        while (cut > 1 && width(font, size, word.substring(0, cut)) > maxWidth) {
+                            cut--;
+                        }
+                        lines.add(word.substring(0, cut));
+                        word = word.substring(cut);
+                    }
+                    line.append(word);
+                }
+                lines.add(line.toString());
+            }
+            return lines;
+        }
+
+        /**
+         * Drop characters the font cannot encode (e.g. emoji icons) and control characters
+         */
+        private String printable(PDFont font, String text) {
+            Map<Integer, Boolean> support = glyphSupport.computeIfAbsent(font, f -> new HashMap<>());
+            StringBuilder sb = new StringBuilder(text.length());
+            text.codePoints().forEach(cp -> {
+                if (cp == '\t') {
+                    sb.append(' ');
+                } else if (cp == '\n') {
+                    sb.append('\n');
+                } else if (!Character.isISOControl(cp)
+                        && support.computeIfAbsent(cp, c -> canEncode(font, c))) {
+                    sb.appendCodePoint(cp);
+                }
+            });
+            return sb.toString().trim();
+        }
+
+        private static boolean canEncode(PDFont font, int codePoint) {
+            try {
+                font.encode(new String(Character.toChars(codePoint)));
+                return true;
+            } catch (IllegalArgumentException | IOException e) {
+                return false;
+            }
+        }
+
+        private static float width(PDFont font, float size, String text) throws IOException {
+            return font.getStringWidth(text) / 1000f * size;
+        }
+
+        private static float ascent(PDFont font, float size) {
+            float ascent = font.getFontDescriptor() != null ? font.getFontDescriptor().getAscent() : 0;
+            return (ascent > 0 ? ascent : 800f) / 1000f * size;
+        }
+
+        private static float lineHeight(float size) {
+            return size * LINE_SPACING;
+        }
+    }
+
+    /**
+     * Embed the font for a family as a subset, or use the standard Helvetica/Times
+     * fonts (not embedded) if no TrueType font is usable. Each thread parses its own
+     * copy of a font: subsetting a shared TrueTypeFont from several threads is not safe.
+     */
+    private static PDFont loadFont(PDDocument document, String family, boolean bold) {
+        String fontName = resolveFontName(family, bold);
+        if (fontName != null) {
+            try {
+                Map<String, TrueTypeFont> fonts = THREAD_FONTS.get();
+                TrueTypeFont ttf = fonts.get(fontName);
+                if (ttf == null) {
+                    ttf = new TTFParser(false, true).parse(new ByteArrayInputStream(FONT_DATA.get(fontName)));
+                    fonts.put(fontName, ttf);
+                }
+                return PDType0Font.load(document, ttf, true);
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.FINE, "Could not load font " + fontName + ": " + e.getMessage(), e);
+            }
+        }
+        if (isSerif(family)) {
+            return bold ? PDType1Font.TIMES_BOLD : PDType1Font.TIMES_ROMAN;
+        }
+        return bold ? PDType1Font.HELVETICA_BOLD : PDType1Font.HELVETICA;
+    }
+
+    /**
+     * Find an installed TrueType font for a family name (resolved once per family).
+     * If the family is not installed, common open families are tried before PDFBox's
+     * own fallback. Returns the key of the font bytes in FONT_DATA, or null.
+     */
+    private static synchronized String resolveFontName(String family, boolean bold) {
+        String key = family + (bold ? "|bold" : "");
+        if (RESOLVED_FONTS.containsKey(key)) {
+            return RESOLVED_FONTS.get(key);
+        }
+
+        String suffix = bold ? "-Bold" : "";
+        List<String> candidates = new ArrayList<>();
+        candidates.add((family != null ? family : "Helvetica").replace(" ", "") + suffix);
+        for (String fallbackFamily : isSerif(family) ? SERIF_FALLBACKS : SANS_FALLBACKS) {
+            candidates.add(fallbackFamily + suffix);
+        }
+
+        FontMapping<TrueTypeFont> chosen = null;
+        for (String postScriptName : candidates) {
+            try {
+                FontMapping<TrueTypeFont> mapping = FontMappers.instance().getTrueTypeFont(postScriptName, null);
+                if (mapping == null || mapping.getFont() == null) {
+                    continue;
+                }
+                if (!mapping.isFallback()) {
+                    chosen = mapping;
+                    break;
+                }
+                if (chosen == null) {
+                    chosen = mapping;
+                }
+            } catch (RuntimeException e) {
+                logger.log(Level.FINE, "Could not look up font " + postScriptName + ": " + e.getMessage(), e);
+            }
+        }
+
+        String fontName = null;
+        if (chosen != null) {
+            try {
+                fontName = chosen.getFont().getName();
+                if (!FONT_DATA.containsKey(fontName)) {
+                    try (InputStream in = chosen.getFont().getOriginalData()) {
+                        FONT_DATA.put(fontName, in.readAllBytes());
+                    }
+                }
+                if (chosen.isFallback()) {
+                    logger.fine("Font " + family + " not installed, using " + fontName);
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.FINE, "Could not read font " + family + ": " + e.getMessage(), e);
+                fontName = null;
+            }
+        }
+        RESOLVED_FONTS.put(key, fontName);
+        return fontName;
+    }
+
+    private static boolean isSerif(String family) {
+        return family != null && (family.contains("Times") || family.contains("Georgia")
+            || family.contains("Serif") && !family.contains("Sans"));
+    }
+
+    /**
+     * Parse a CSS hex color (#rgb or #rrggbb); unknown values render black
+     */
+    static Color color(String hex) {
+        if (hex == null) {
+            return Color.BLACK;
+        }
+        String value = hex.trim();
+        if (value.startsWith("#")) {
+            value = value.substring(1);
+        }
+        if (value.length() == 3) {
+            value = "" + value.charAt(0) + value.charAt(0) + value.charAt(1) + value.charAt(1)
+                + value.charAt(2) + value.charAt(2);
+        }
+        try {
+            return new Color(Integer.parseInt(value, 16));
+        } catch (NumberFormatException e) {
+            return Color.BLACK;
+        }
+    }
+
+    private static boolean notEmpty(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
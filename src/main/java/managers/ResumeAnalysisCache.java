@@ -0,0 +1,83 @@
+package managers;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of resume analyses keyed by resume content hash.
+ * Entries are evicted least-recently-used once either the entry limit or the
+ * estimated memory limit is exceeded. Results are immutable, so a hit is
+ * returned as is.
+ */
+class ResumeAnalysisCache {
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, ResumeSkillAnalyzer.Analysis> entries =
+        new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    ResumeAnalysisCache(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Cached analysis for the content hash, or null
+     */
+    synchronized ResumeSkillAnalyzer.Analysis get(String contentHash) {
+        ResumeSkillAnalyzer.Analysis analysis = entries.get(contentHash);
+        if (analysis == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return analysis;
+    }
+
+    synchronized void put(String contentHash, ResumeSkillAnalyzer.Analysis analysis) {
+        ResumeSkillAnalyzer.Analysis previous = entries.put(contentHash, analysis);
+        if (previous != null) {
+            bytes -= previous.estimatedBytes;
+        }
+        bytes += analysis.estimatedBytes;
+
+        // Oldest first; the entry just added is last, and is kept even if it alone is over the limit
+        Iterator<Map.Entry<String, ResumeSkillAnalyzer.Analysis>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && entries.size() > 1) {
+            bytes -= eldest.next().getValue().estimatedBytes;
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long getEstimatedBytes() {
+        return bytes;
+    }
+
+    String getStatistics() {
+        long h = hits.get();
+        long m = misses.get();
+        double hitRate = h + m == 0 ? 0.0 : (100.0 * h) / (h + m);
+        return String.format("Analysis cache: size=%d/%d memory=%dKB/%dKB hits=%d misses=%d hitRate=%.1f%% evictions=%d",
+            size(), maxEntries, getEstimatedBytes() / 1024, maxBytes / 1024, h, m, hitRate, evictions.get());
+    }
+
+    long getHits() { return hits.get(); }
+    long getMisses() { return misses.get(); }
+}
@@ -0,0 +1,104 @@
+package managers;
+
+import models.Resume;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded per-user cache of persisted resumes.
+ * Entries are evicted least-recently-used once the cache is full and expire
+ * after a time-to-live so changes made by other processes are picked up.
+ */
+class ResumeCache {
+
+    /**
+     * Persisted state of one user's resume
+     */
+    static class Entry {
+        private final Resume resume;
+        private final int resumeId;
+        private final long storedAt;
+
+        Entry(Resume resume, int resumeId, long storedAt) {
+            this.resume = resume;
+            this.resumeId = resumeId;
+            this.storedAt = storedAt;
+        }
+
+        public Resume getResume() { return resume; }
+        public int getResumeId() { return resumeId; }
+    }
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<Integer, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    ResumeCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                if (size() > ResumeCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get a user's entry, or null if absent or expired
+     */
+    synchronized Entry get(int userId) {
+        Entry entry = entries.get(userId);
+        if (entry != null && System.currentTimeMillis() - entry.storedAt > ttlMillis) {
+            entries.remove(userId);
+            expirations.incrementAndGet();
+            entry = null;
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return entry;
+    }
+
+    /**
+     * Store a copy of the persisted resume (write-through after save or load)
+     */
+    synchronized void put(int userId, Resume resume, int resumeId) {
+        entries.put(userId, new Entry(new Resume(resume), resumeId, System.currentTimeMillis()));
+    }
+
+    synchronized void invalidate(int userId) {
+        entries.remove(userId);
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    String getStatistics() {
+        long h = hits.get();
+        long m = misses.get();
+        double hitRate = h + m == 0 ? 0.0 : (100.0 * h) / (h + m);
+        return String.format("Resume cache: size=%d/%d hits=%d misses=%d hitRate=%.1f%% evictions=%d expirations=%d",
+            size(), maxSize, h, m, hitRate, evictions.get(), expirations.get());
+    }
+
+    long getHits() { return hits.get(); }
+    long getMisses() { return misses.get(); }
+}
@@ -0,0 +1,246 @@
+package managers;
+
+import models.Education;
+import models.Experience;
+import models.Resume;
+import models.ResumeEntry;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persistence for the education / experience entries of a resume.
+ * Loading costs one query per table; saving diffs the entries against the
+ * stored rows and applies batched UPDATE / DELETE statements and one
+ * INSERT ... RETURNING id per new entry.
+ * Callers own the transaction.
+ */
+class ResumeEntryStore {
+
+    /**
+     * Reads one entry from the current row
+     */
+    private interface RowReader<T> {
+        T read(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Binds an entry's content columns starting at the given parameter index
+     * and returns the next free index
+     */
+    private interface ContentBinder<T> {
+        int bind(PreparedStatement pstmt, int index, T entry) throws SQLException;
+    }
+
+    /**
+     * One entry table: its SQL and how entries map to its columns.
+     * INSERT binds resume_id, position, content; UPDATE binds position,
+     * content, id, resume_id.
+     */
+    private static final class EntryTable<T extends ResumeEntry<T>> {
+        final String name;
+        final String selectSql;
+        final String insertSql;
+        final String updateSql;
+        final RowReader<T> reader;
+        final ContentBinder<T> binder;
+
+        EntryTable(String name, String contentColumns, RowReader<T> reader, ContentBinder<T> binder) {
+            String[] columns = contentColumns.split(",\\s*");
+            this.name = name;
+            this.selectSql = "SELECT * FROM " + name + " WHERE resume_id = ? ORDER BY position, id";
+            this.insertSql = "INSERT INTO " + name + " (resume_id, position, " + String.join(", ", columns)
+                + ") VALUES (?, ?" + ", ?".repeat(columns.length) + ") RETURNING id";
+            this.updateSql = "UPDATE " + name + " SET position = ?, " + String.join(" = ?, ", columns)
+                + " = ? WHERE id = ? AND resume_id = ?";
+            this.reader = reader;
+            this.binder = binder;
+        }
+    }
+
+    private static final EntryTable<Education> EDUCATION = new EntryTable<>("education",
+        "institution, degree, field_of_study, graduation_year, gpa, description",
+        rs -> {
+            Education education = new Education();
+            education.setInstitution(rs.getString("institution"));
+            education.setDegree(rs.getString("degree"));
+            education.setFieldOfStudy(rs.getString("field_of_study"));
+            education.setGraduationYear(rs.getString("graduation_year"));
+            education.setGpa(rs.getString("gpa"));
+            education.setDescription(rs.getString("description"));
+            return education;
+        },
+        (pstmt, i, entry) -> {
+            pstmt.setString(i++, entry.getInstitution());
+            pstmt.setString(i++, entry.getDegree());
+            pstmt.setString(i++, entry.getFieldOfStudy());
+            pstmt.setString(i++, entry.getGraduationYear());
+            pstmt.setString(i++, entry.getGpa());
+            pstmt.setString(i++, entry.getDescription());
+            return i;
+        });
+
+    private static final EntryTable<Experience> EXPERIENCE = new EntryTable<>("experience",
+        "job_title, company, location, start_date, end_date, is_current_job, description",
+        rs -> {
+            Experience experience = new Experience();
+            experience.setJobTitle(rs.getString("job_title"));
+            experience.setCompany(rs.getString("company"));
+            experience.setLocation(rs.getString("location"));
+            experience.setStartDate(rs.getString("start_date"));
+            experience.setEndDate(rs.getString("end_date"));
+            experience.setCurrentJob(rs.getInt("is_current_job") != 0);
+            experience.setDescription(rs.getString("description"));
+            return experience;
+        },
+        (pstmt, i, entry) -> {
+            pstmt.setString(i++, entry.getJobTitle());
+            pstmt.setString(i++, entry.getCompany());
+            pstmt.setString(i++, entry.getLocation());
+            pstmt.setString(i++, entry.getStartDate());
+            pstmt.setString(i++, entry.getEndDate());
+            pstmt.setInt(i++, entry.isCurrentJob() ? 1 : 0);
+            pstmt.setString(i++, entry.getDescription());
+            return i;
+        });
+
+    /**
+     * Load all entries of a resume (two queries in total)
+     */
+    static void loadEntries(Connection conn, int resumeId, Resume resume) throws SQLException {
+        resume.setEducationEntries(loadEducation(conn, resumeId));
+        resume.setExperienceEntries(loadExperience(conn, resumeId));
+    }
+
+    static List<Education> loadEducation(Connection conn, int resumeId) throws SQLException {
+        return load(conn, EDUCATION, resumeId);
+    }
+
+    static List<Experience> loadExperience(Connection conn, int resumeId) throws SQLException {
+        return load(conn, EXPERIENCE, resumeId);
+    }
+
+    /**
+     * Make the education rows match the given entries (see sync)
+     */
+    static void syncEducation(Connection conn, int resumeId, List<Education> entries) throws SQLException {
+        sync(conn, EDUCATION, resumeId, entries);
+    }
+
+    /**
+     * Make the experience rows match the given entries (see sync)
+     */
+    static void syncExperience(Connection conn, int resumeId, List<Experience> entries) throws SQLException {
+        sync(conn, EXPERIENCE, resumeId, entries);
+    }
+
+    private static <T extends ResumeEntry<T>> List<T> load(Connection conn, EntryTable<T> table, int resumeId)
+            throws SQLException {
+        List<T> entries = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(table.selectSql)) {
+            pstmt.setInt(1, resumeId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    T entry = table.reader.read(rs);
+                    entry.setId(rs.getInt("id"));
+                    entry.setResumeId(resumeId);
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Make the table's rows for the resume match the given entries.
+     * Entries are matched to stored rows by id, then by identical content,
+     * so re-saving an unchanged list writes nothing. New entries get the
+     * ids of their inserted rows.
+     */
+    private static <T extends ResumeEntry<T>> void sync(Connection conn, EntryTable<T> table, int resumeId,
+                                                        List<T> entries) throws SQLException {
+        Map<Integer, T> stored = new LinkedHashMap<>();
+        Map<Integer, Integer> storedPositions = new LinkedHashMap<>();
+        int index = 0;
+        for (T row : load(conn, table, resumeId)) {
+            stored.put(row.getId(), row);
+            storedPositions.put(row.getId(), index++);
+        }
+
+        List<T> inserts = new ArrayList<>();
+        List<Integer> insertPositions = new ArrayList<>();
+        try (PreparedStatement update = conn.prepareStatement(table.updateSql)) {
+            int updates = 0;
+            for (int position = 0; position < entries.size(); position++) {
+                T entry = entries.get(position);
+                T match = stored.remove(entry.getId());
+                if (match == null) {
+                    match = removeMatching(stored, entry);
+                }
+                if (match == null) {
+                    inserts.add(entry);
+                    insertPositions.add(position);
+                    continue;
+                }
+                entry.setId(match.getId());
+                entry.setResumeId(resumeId);
+                if (!match.sameContent(entry) || storedPositions.get(match.getId()) != position) {
+                    update.setInt(1, position);
+                    int i = table.binder.bind(update, 2, entry);
+                    update.setInt(i++, match.getId());
+                    update.setInt(i, resumeId);
+                    update.addBatch();
+                    updates++;
+                }
+            }
+            if (updates > 0) {
+                update.executeBatch();
+            }
+        }
+
+        deleteRows(conn, table.name, resumeId, stored.keySet());
+
+        if (!inserts.isEmpty()) {
+            try (PreparedStatement insert = conn.prepareStatement(table.insertSql)) {
+                for (int n = 0; n < inserts.size(); n++) {
+                    T entry = inserts.get(n);
+                    insert.setInt(1, resumeId);
+                    insert.setInt(2, insertPositions.get(n));
+                    table.binder.bind(insert, 3, entry);
+                    try (ResultSet rs = insert.executeQuery()) {
+                        rs.next();
+                        entry.setId(rs.getInt(1));
+                    }
+                    entry.setResumeId(resumeId);
+                }
+            }
+        }
+    }
+
+    private static <T extends ResumeEntry<T>> T removeMatching(Map<Integer, T> stored, T entry) {
+        for (T row : stored.values()) {
+            if (row.sameContent(entry)) {
+                return stored.remove(row.getId());
+            }
+        }
+        return null;
+    }
+
+    private static void deleteRows(Connection conn, String table, int resumeId, Iterable<Integer> ids) throws SQLException {
+        try (PreparedStatement delete = conn.prepareStatement(
+                "DELETE FROM " + table + " WHERE id = ? AND resume_id = ?")) {
+            int deletes = 0;
+            for (Integer id : ids) {
+                delete.setInt(1, id);
+                delete.setInt(2, resumeId);
+                delete.addBatch();
+                deletes++;
+            }
+            if (deletes > 0) {
+                delete.executeBatch();
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package managers;
+
+import models.Resume;
+import java.io.IOException;
+
+/**
+ * A destination that receives a copy of every saved resume
+ * (registered with BackgroundExportManager)
+ */
+public interface ResumeExporter {
+    
+    /**
+     * Name used in logs
+     */
+    String getName();
+    
+    /**
+     * Export one resume. Called on the background export thread.
+     */
+    void export(Resume resume) throws IOException;
+}
@@ -0,0 +1,310 @@
+package managers;
+
+import utils.DatabaseManager;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Full-text search over every stored resume, backed by the resumes_fts FTS5
+ * table (schema version 7).
+ *
+ * The table mirrors name, skills, description, job_title, company and
+ * institution and is kept in sync by triggers on resumes, so saves need no
+ * extra code. Rows that existed before the table was created are indexed by
+ * startIndexBuild() on a background thread in small transactions, so saves
+ * are never blocked for long. Until that finishes a search only sees the
+ * rows indexed so far, which SearchPage.indexComplete reports.
+ */
+public class ResumeFullTextSearch {
+    private static final Logger logger = Logger.getLogger(ResumeFullTextSearch.class.getName());
+
+    /**
+     * Marks around matched words in snippets
+     */
+    public static final String HIGHLIGHT_START = "[";
+    public static final String HIGHLIGHT_END = "]";
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int SNIPPET_TOKENS = 12;
+    private static final int BUILD_BATCH_SIZE = Integer.getInteger("resumebuilder.fts.buildBatchSize", 1000);
+
+    // rank is bm25() with the column weights configured on the table. Only
+    // the page's rows are joined to resumes, after sorting.
+    private static final String SEARCH_SQL = """
+        SELECT r.id, r.user_id, r.name, r.job_title, f.snippet, f.rank
+        FROM (
+            SELECT rowid, rank, snippet(resumes_fts, -1, ?, ?, '...', %d) AS snippet
+            FROM resumes_fts
+            WHERE resumes_fts MATCH ?
+            ORDER BY rank
+            LIMIT ? OFFSET ?
+        ) f
+        JOIN resumes r ON r.id = f.rowid
+        ORDER BY f.rank
+    """.formatted(SNIPPET_TOKENS);
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM resumes_fts WHERE resumes_fts MATCH ?";
+    private static final String SELECT_STATE_SQL =
+        "SELECT indexed_upto, backfill_end FROM resumes_fts_state WHERE id = 0";
+    private static final String NEXT_BATCH_END_SQL = """
+        SELECT MAX(id) FROM (
+            SELECT id FROM resumes WHERE id > ? AND id <= ? ORDER BY id LIMIT ?
+        )
+    """;
+    private static final String INDEX_BATCH_SQL = """
+        INSERT INTO resumes_fts (rowid, name, skills, description, job_title, company, institution)
+        SELECT id, name, skills, description, job_title, company, institution
+        FROM resumes WHERE id > ? AND id <= ?
+    """;
+    private static final String UPDATE_STATE_SQL = "UPDATE resumes_fts_state SET indexed_upto = ? WHERE id = 0";
+
+    private static volatile boolean indexComplete = false;
+    private static Thread buildThread;
+
+    /**
+     * One matching resume
+     */
+    public static class SearchHit {
+        public final int resumeId;
+        public final int userId;
+        public final String name;
+        public final String jobTitle;
+        // Best matching fragment, matches wrapped in HIGHLIGHT_START / HIGHLIGHT_END
+        public final String snippet;
+        // bm25 relevance; lower is better
+        public final double rank;
+
+        public SearchHit(int resumeId, int userId, String name, String jobTitle, String snippet, double rank) {
+            this.resumeId = resumeId;
+            this.userId = userId;
+            this.name = name;
+            this.jobTitle = jobTitle;
+            this.snippet = snippet;
+            this.rank = rank;
+        }
+    }
+
+    /**
+     * One page of results, best first
+     */
+    public static class SearchPage {
+        public final List<SearchHit> hits;
+        public final int page;
+        public final int pageSize;
+        public final int totalHits;
+        // False while resumes saved before the index existed are still being indexed
+        public final boolean indexComplete;
+
+        public SearchPage(List<SearchHit> hits, int page, int pageSize, int totalHits, boolean indexComplete) {
+            this.hits = Collections.unmodifiableList(hits);
+            this.page = page;
+            this.pageSize = pageSize;
+            this.totalHits = totalHits;
+            this.indexComplete = indexComplete;
+        }
+
+        public int getPageCount() {
+            return pageSize > 0 ? (totalHits + pageSize - 1) / pageSize : 0;
+        }
+
+        public boolean hasNextPage() {
+            return (page + 1) * pageSize < totalHits;
+        }
+    }
+
+    /**
+     * Search with the default page size
+     */
+    public static SearchPage search(String query, int page) {
+        return search(query, page, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Search all resumes. Every word of the query must match (in any of the
+     * indexed fields); the last word also matches as a prefix, so results
+     * follow the user while typing. Pages are numbered from 0.
+     */
+    public static SearchPage search(String query, int page, int pageSize) {
+        int size = Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        List<SearchHit> hits = new ArrayList<>();
+        String match = toMatchExpression(query);
+        if (match == null) {
+            return new SearchPage(hits, pageNumber, size, 0, indexComplete);
+        }
+        if (!indexComplete) {
+            startIndexBuild();
+        }
+
+        int total = 0;
+        try (Connection conn = DatabaseManager.getReadConnection()) {
+            PreparedStatement count = DatabaseManager.prepareCached(conn, COUNT_SQL);
+            count.setString(1, match);
+            try (ResultSet rs = count.executeQuery()) {
+                total = rs.next() ? rs.getInt(1) : 0;
+            }
+
+            if (total > pageNumber * size) {
+                PreparedStatement pstmt = DatabaseManager.prepareCached(conn, SEARCH_SQL);
+                pstmt.setString(1, HIGHLIGHT_START);
+                pstmt.setString(2, HIGHLIGHT_END);
+                pstmt.setString(3, match);
+                pstmt.setInt(4, size);
+                pstmt.setInt(5, pageNumber * size);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        hits.add(new SearchHit(rs.getInt(1), rs.getInt(2), rs.getString(3), rs.getString(4),
+                            rs.getString(5), rs.getDouble(6)));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Error searching resumes: " + e.getMessage(), e);
+        }
+        return new SearchPage(hits, pageNumber, size, total, indexComplete);
+    }
+
+    /**
+     * Turn user input into an FTS5 query: each word quoted (so operators and
+     * punctuation in the input are harmless), all words required, the last
+     * one exact or as a prefix. Null if the input has no words.
+     */
+    static String toMatchExpression(String query) {
+        if (query == null) {
+            return null;
+        }
+        StringBuilder match = new StringBuilder();
+        int i = 0;
+        int length = query.length();
+        while (i < length) {
+            while (i < length && !isWordChar(query.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && isWordChar(query.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                if (match.length() > 0) {
+                    match.append(" AND ");
+                }
+                match.append('"').append(query, start, i).append('"');
+            }
+        }
+        if (match.length() == 0) {
+            return null;
+        }
+        // The last word also matches as a prefix; an exact match still scores higher
+        // (FTS5 only accepts a parenthesised group after an explicit AND)
+        int last = match.lastIndexOf(" ") + 1;
+        String word = match.substring(last);
+        match.setLength(last);
+        return match.append('(').append(word).append(" OR ").append(word).append("*)").toString();
+    }
+
+    // Same word characters as the table's tokenizer
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#';
+    }
+
+    /**
+     * Index, in the background, the resumes that existed before the FTS table
+     * was created. Safe to call repeatedly; returns at once.
+     */
+    public static synchronized void startIndexBuild() {
+        if (indexComplete || (buildThread != null && buildThread.isAlive())) {
+            return;
+        }
+        buildThread = new Thread(ResumeFullTextSearch::buildIndex, "resume-fts-indexer");
+        buildThread.setDaemon(true);
+        buildThread.start();
+    }
+
+    /**
+     * Whether every stored resume is searchable
+     */
+    public static boolean isIndexComplete() {
+        return indexComplete;
+    }
+
+    private static void buildIndex() {
+        int indexed = 0;
+        long started = System.currentTimeMillis();
+        try {
+            while (!indexComplete) {
+                indexed += indexNextBatch();
+            }
+            if (indexed > 0) {
+                try (Connection conn = DatabaseManager.getConnection();
+                     Statement stmt = conn.createStatement()) {
+                    // Merge the b-trees written batch by batch
+                    stmt.execute("INSERT INTO resumes_fts (resumes_fts) VALUES ('optimize')");
+                }
+                logger.info("Full-text index built for " + indexed + " existing resumes in "
+                    + (System.currentTimeMillis() - started) + " ms");
+            }
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Full-text index build stopped: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Index the next batch of old rows in one short transaction.
+     * Returns the number of rows indexed.
+     */
+    private static int indexNextBatch() throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                long indexedUpto;
+                long backfillEnd;
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery(SELECT_STATE_SQL)) {
+                    if (!rs.next()) {
+                        throw new SQLException("resumes_fts_state is empty");
+                    }
+                    indexedUpto = rs.getLong(1);
+                    backfillEnd = rs.getLong(2);
+                }
+                if (indexedUpto >= backfillEnd) {
+                    conn.rollback();
+                    indexComplete = true;
+                    return 0;
+                }
+
+                PreparedStatement next = DatabaseManager.prepareCached(conn, NEXT_BATCH_END_SQL);
+                next.setLong(1, indexedUpto);
+                next.setLong(2, backfillEnd);
+                next.setInt(3, BUILD_BATCH_SIZE);
+                long batchEnd;
+                try (ResultSet rs = next.executeQuery()) {
+                    rs.next();
+                    batchEnd = rs.getLong(1);
+                    if (rs.wasNull()) {
+                        batchEnd = backfillEnd; // no rows left in the range
+                    }
+                }
+
+                PreparedStatement index = DatabaseManager.prepareCached(conn, INDEX_BATCH_SQL);
+                index.setLong(1, indexedUpto);
+                index.setLong(2, batchEnd);
+                int rows = index.executeUpdate();
+
+                PreparedStatement state = DatabaseManager.prepareCached(conn, UPDATE_STATE_SQL);
+                state.setLong(1, batchEnd);
+                state.executeUpdate();
+                conn.commit();
+                return rows;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+}
@@ -5,19 +5,46 @@ import utils.DatabaseManager;
 import java.sql.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.io.*;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Resume Manager - Handles saving and loading resumes from database (per user)
  */
 public class ResumeManager {
     private static final Logger logger = Logger.getLogger(ResumeManager.class.getName());
-    private static Resume lastResume = null; // Cache for current session
+    
+    // Per-user copies of the last state written to (or read from) the database.
+    // Serves getLastResume() and lets saveResume() skip unchanged fields.
+    private static final ResumeCache cache = new ResumeCache(
+        Integer.getInteger("resumebuilder.resumeCache.maxSize", 64),
+        Long.getLong("resumebuilder.resumeCache.ttlMs", 10 * 60 * 1000L));
+    
+    // Column names indexed by Resume.FIELD_* bit position
+    private static final String[] COLUMN_NAMES = {
+        "name", "email", "phone", "address",
+        "institution", "degree", "year",
+        "job_title", "company", "duration", "description", "skills"
+    };
+    
+    static final String UPSERT_RESUME_SQL = """
+        INSERT INTO resumes (
+            user_id, name, email, phone, address,
+            institution, degree, year,
+            job_title, company, duration, description, skills
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT(user_id) DO UPDATE SET
+            name = excluded.name, email = excluded.email,
+            phone = excluded.phone, address = excluded.address,
+            institution = excluded.institution, degree = excluded.degree, year = excluded.year,
+            job_title = excluded.job_title, company = excluded.company,
+            duration = excluded.duration, description = excluded.description,
+            skills = excluded.skills, updated_at = CURRENT_TIMESTAMP
+        RETURNING id
+    """;
     
     /**
-     * Save resume for current user
+     * Save resume for current user.
+     * Only fields that differ from the last persisted state are written;
+     * an unchanged resume causes no database or file I/O at all.
      */
     public static boolean saveResume(Resume resume) {
         if (resume == null) {
@@ -29,74 +56,104 @@ public class ResumeManager {
             logger.log(Level.WARNING, "Cannot save resume: No user logged in");
             return false;
         }
+        return saveResume(userId, resume);
+    }
+    
+    /**
+     * Save resume for a specific user (used by the background write queue)
+     */
+    public static synchronized boolean saveResume(int userId, Resume resume) {
+        if (resume == null) {
+            return false;
+        }
         
+        ResumeCache.Entry cached = cache.get(userId);
+        Resume snapshot = cached != null ? cached.getResume() : null;
+        int changedFields = snapshot != null ? Resume.diffFields(snapshot, resume) : Resume.ALL_FIELDS;
+        if (changedFields == 0) {
+            // Nothing changed since the last save
+            return true;
+        }
+        
+        boolean saved = false;
+        Integer resumeId = cached != null ? cached.getResumeId() : null;
         try (Connection conn = DatabaseManager.getConnection()) {
-            // Check if resume exists for this user
-            String checkSql = "SELECT id FROM resumes WHERE user_id = ?";
-            Integer resumeId = null;
+            // Resume row and its entries are written in one transaction
+            conn.setAutoCommit(false);
             
-            try (PreparedStatement checkStmt = conn.prepareStatement(checkSql)) {
-                checkStmt.setInt(1, userId);
-                try (ResultSet rs = checkStmt.executeQuery()) {
+            int changedColumns = changedFields & Resume.COLUMN_FIELDS;
+            if (changedColumns != 0 && resumeId != null && changedColumns != Resume.COLUMN_FIELDS) {
+                if (!updateChangedFields(conn, userId, resume, changedColumns)) {
+                    resumeId = null; // Row disappeared, fall back to the upsert
+                }
+            } else if (changedColumns != 0) {
+                resumeId = null;
+            }
+            if (resumeId == null) {
+                // Single statement insert-or-update (one resume per user, enforced by idx_resumes_user_id)
+                PreparedStatement pstmt = DatabaseManager.prepareCached(conn, UPSERT_RESUME_SQL);
+                pstmt.setInt(1, userId);
+                setResumeParameters(pstmt, resume, 2);
+                try (ResultSet rs = pstmt.executeQuery()) {
                     if (rs.next()) {
-                        resumeId = rs.getInt("id");
+                        resumeId = rs.getInt(1);
                     }
                 }
             }
             
             if (resumeId != null) {
-                // Update existing resume
-                String updateSql = """
-                    UPDATE resumes SET
-                        name = ?, email = ?, phone = ?, address = ?,
-                        institution = ?, degree = ?, year = ?,
-                        job_title = ?, company = ?, duration = ?, description = ?,
-                        skills = ?, updated_at = CURRENT_TIMESTAMP
-                    WHERE id = ? AND user_id = ?
-                """;
-                
-                try (PreparedStatement pstmt = conn.prepareStatement(updateSql)) {
-                    setResumeParameters(pstmt, resume);
-                    pstmt.setInt(12, resumeId);
-                    pstmt.setInt(13, userId);
-                    
-                    int rows = pstmt.executeUpdate();
-                    if (rows > 0) {
-                        lastResume = resume;
-                        logger.info("Resume updated for user " + userId);
-                        // Also save to saved_resumes folder as .txt file
-                        saveResumeToFile(resume);
-                        return true;
-                    }
+                if ((changedFields & Resume.FIELD_EDUCATION_ENTRIES) != 0) {
+                    ResumeEntryStore.syncEducation(conn, resumeId, resume.getEducationEntries());
                 }
-            } else {
-                // Insert new resume
-                String insertSql = """
-                    INSERT INTO resumes (
-                        user_id, name, email, phone, address,
-                        institution, degree, year,
-                        job_title, company, duration, description, skills
-                    ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-                """;
-                
-                try (PreparedStatement pstmt = conn.prepareStatement(insertSql)) {
-                    pstmt.setInt(1, userId);
-                    setResumeParameters(pstmt, resume);
-                    
-                    int rows = pstmt.executeUpdate();
-                    if (rows > 0) {
-                        lastResume = resume;
-                        logger.info("Resume saved for user " + userId);
-                        // Also save to saved_resumes folder as .txt file
-                        saveResumeToFile(resume);
-                        return true;
-                    }
+                if ((changedFields & Resume.FIELD_EXPERIENCE_ENTRIES) != 0) {
+                    ResumeEntryStore.syncExperience(conn, resumeId, resume.getExperienceEntries());
                 }
+                if ((changedFields & ResumeSearchIndex.INDEXED_FIELDS) != 0) {
+                    // Ranking index stays in step with the row
+                    ResumeSearchIndex.indexResume(conn, resumeId, resume);
+                }
+                conn.commit();
+                saved = true;
+            } else {
+                conn.rollback();
             }
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error saving resume: " + e.getMessage(), e);
         }
-        return false;
+        
+        if (saved) {
+            cache.put(userId, resume, resumeId); // write-through
+            logger.info("Resume saved for user " + userId);
+            // Mirror to saved_resumes (and any other registered exporters) in the background
+            BackgroundExportManager.submit(userId, resume);
+        }
+        return saved;
+    }
+    
+    /**
+     * UPDATE only the changed columns. Returns false if no row exists yet.
+     */
+    private static boolean updateChangedFields(Connection conn, int userId, Resume resume, int changedFields)
+            throws SQLException {
+        StringBuilder sql = new StringBuilder("UPDATE resumes SET ");
+        for (int i = 0; i < Resume.FIELD_COUNT; i++) {
+            if ((changedFields & (1 << i)) != 0) {
+                sql.append(COLUMN_NAMES[i]).append(" = ?, ");
+            }
+        }
+        sql.append("updated_at = CURRENT_TIMESTAMP WHERE user_id = ?");
+        
+        // One cached statement per distinct set of changed columns
+        PreparedStatement pstmt = DatabaseManager.prepareCached(conn, sql.toString());
+        int paramIndex = 1;
+        for (int i = 0; i < Resume.FIELD_COUNT; i++) {
+            int field = 1 << i;
+            if ((changedFields & field) != 0) {
+                pstmt.setString(paramIndex++, resume.getFieldValue(field));
+            }
+        }
+        pstmt.setInt(paramIndex, userId);
+        return pstmt.executeUpdate() > 0;
     }
     
     /**
@@ -108,13 +165,33 @@ public class ResumeManager {
             logger.log(Level.WARNING, "Cannot get resume: No user logged in");
             return null;
         }
+        return getResume(userId);
+    }
+    
+    /**
+     * Get a specific user's resume (served from the per-user cache when possible)
+     */
+    public static Resume getResume(int userId) {
+        // A save still waiting in the write queue is the newest state
+        Resume pendingResume = ResumeWriteQueue.getPending(userId);
+        if (pendingResume != null) {
+            return pendingResume;
+        }
         
         // Return cached resume if available
-        if (lastResume != null) {
-            return lastResume;
+        ResumeCache.Entry cached = cache.get(userId);
+        if (cached != null) {
+            return new Resume(cached.getResume());
         }
         
-        try (Connection conn = DatabaseManager.getConnection()) {
+        return loadResume(userId);
+    }
+    
+    /**
+     * Load a user's resume from the database into the cache
+     */
+    private static synchronized Resume loadResume(int userId) {
+        try (Connection conn = DatabaseManager.getReadConnection()) {
             String sql = "SELECT * FROM resumes WHERE user_id = ? LIMIT 1";
             
             try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -122,21 +199,12 @@ public class ResumeManager {
                 
                 try (ResultSet rs = pstmt.executeQuery()) {
                     if (rs.next()) {
-                        Resume resume = new Resume();
-                        resume.setName(rs.getString("name"));
-                        resume.setEmail(rs.getString("email"));
-                        resume.setPhone(rs.getString("phone"));
-                        resume.setAddress(rs.getString("address"));
-                        resume.setInstitution(rs.getString("institution"));
-                        resume.setDegree(rs.getString("degree"));
-                        resume.setYear(rs.getString("year"));
-                        resume.setJobTitle(rs.getString("job_title"));
-                        resume.setCompany(rs.getString("company"));
-                        resume.setDuration(rs.getString("duration"));
-                        resume.setDescription(rs.getString("description"));
-                        resume.setSkills(rs.getString("skills"));
+                        Resume resume = readResume(rs);
+                        
+                        int resumeId = rs.getInt("id");
+                        ResumeEntryStore.loadEntries(conn, resumeId, resume);
                         
-                        lastResume = resume; // Cache it
+                        cache.put(userId, resume, resumeId); // Cache it
                         logger.info("Resume loaded for user " + userId);
                         return resume;
                     }
@@ -150,10 +218,27 @@ public class ResumeManager {
     }
     
     /**
-     * Clear cached resume (call when user logs out)
+     * Clear the current user's cached resume (call when user logs in or out)
      */
     public static void clearCache() {
-        lastResume = null;
+        Integer userId = getCurrentUserId();
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+    
+    /**
+     * Drop every cached resume
+     */
+    public static void clearAllCaches() {
+        cache.clear();
+    }
+    
+    /**
+     * Cache size, hit/miss and eviction counters
+     */
+    public static String getCacheStatistics() {
+        return cache.getStatistics();
     }
     
     /**
@@ -167,11 +252,31 @@ public class ResumeManager {
         return null;
     }
     
+    /**
+     * Map the column fields of the current resumes row (entries are loaded separately)
+     */
+    static Resume readResume(ResultSet rs) throws SQLException {
+        Resume resume = new Resume();
+        resume.setName(rs.getString("name"));
+        resume.setEmail(rs.getString("email"));
+        resume.setPhone(rs.getString("phone"));
+        resume.setAddress(rs.getString("address"));
+        resume.setInstitution(rs.getString("institution"));
+        resume.setDegree(rs.getString("degree"));
+        resume.setYear(rs.getString("year"));
+        resume.setJobTitle(rs.getString("job_title"));
+        resume.setCompany(rs.getString("company"));
+        resume.setDuration(rs.getString("duration"));
+        resume.setDescription(rs.getString("description"));
+        resume.setSkills(rs.getString("skills"));
+        return resume;
+    }
+    
     /**
      * Helper method to set resume parameters in PreparedStatement
      */
-    private static void setResumeParameters(PreparedStatement pstmt, Resume resume) throws SQLException {
-        int paramIndex = 1;
+    static void setResumeParameters(PreparedStatement pstmt, Resume resume, int firstIndex) throws SQLException {
+        int paramIndex = firstIndex;
         pstmt.setString(paramIndex++, resume.getName());
         pstmt.setString(paramIndex++, resume.getEmail());
         pstmt.setString(paramIndex++, resume.getPhone());
@@ -185,179 +290,4 @@ public class ResumeManager {
         pstmt.setString(paramIndex++, resume.getDescription());
         pstmt.setString(paramIndex++, resume.getSkills());
     }
-    
-    /**
-     * Save resume to saved_resumes folder as .txt file
-     */
-    private static void saveResumeToFile(Resume resume) {
-        if (resume == null) {
-            return;
-        }
-        
-        try {
-            // Get the project directory path
-            // Try multiple methods to find the project root
-            String projectDir = null;
-            
-            // Method 1: Check if current directory is the project (exact match or contains "AmrEmadResumeBuilder")
-            File currentDir = new File(System.getProperty("user.dir"));
-            String currentDirName = currentDir.getName();
-            if (currentDirName.contains("AmrEmadResumeBuilder") || currentDirName.equals("AmrEmadResumeBuilder 3")) {
-                projectDir = currentDir.getAbsolutePath();
-                logger.info("Found project directory (Method 1): " + projectDir);
-            } else {
-                // Method 2: Look for saved_resumes folder in current or parent directories
-                File searchDir = currentDir;
-                for (int i = 0; i < 5 && searchDir != null; i++) {
-                    File savedResumesTest = new File(searchDir, "saved_resumes");
-                    String searchDirName = searchDir.getName();
-                    if (savedResumesTest.exists() || searchDirName.contains("AmrEmadResumeBuilder")) {
-                        projectDir = searchDir.getAbsolutePath();
-                        logger.info("Found project directory (Method 2): " + projectDir);
-                        break;
-                    }
-                    searchDir = searchDir.getParentFile();
-                }
-            }
-            
-            // Method 3: If still not found, try Desktop path
-            if (projectDir == null) {
-                String userHome = System.getProperty("user.home");
-                File desktopProject = new File(userHome, "Desktop/AmrEmadResumeBuilder 3");
-                if (desktopProject.exists()) {
-                    projectDir = desktopProject.getAbsolutePath();
-                    logger.info("Found project directory (Method 3): " + projectDir);
-                }
-            }
-            
-            // Method 4: Try to find any folder containing "AmrEmadResumeBuilder" on Desktop
-            if (projectDir == null) {
-                String userHome = System.getProperty("user.home");
-                File desktop = new File(userHome, "Desktop");
-                if (desktop.exists() && desktop.isDirectory()) {
-                    File[] desktopFiles = desktop.listFiles();
-                    if (desktopFiles != null) {
-                        for (File file : desktopFiles) {
-                            if (file.isDirectory() && file.getName().contains("AmrEmadResumeBuilder")) {
-                                projectDir = file.getAbsolutePath();
-                                logger.info("Found project directory (Method 4): " + projectDir);
-                                break;
-                            }
-                        }
-                    }
-                }
-            }
-            
-            // Fallback: Use current directory
-            if (projectDir == null) {
-                projectDir = System.getProperty("user.dir");
-            }
-            
-            // Create saved_resumes folder path
-            File savedResumesDir = new File(projectDir, "saved_resumes");
-            if (!savedResumesDir.exists()) {
-                boolean created = savedResumesDir.mkdirs();
-                if (created) {
-                    logger.info("Created saved_resumes directory: " + savedResumesDir.getAbsolutePath());
-                    System.out.println("📁 Created saved_resumes folder: " + savedResumesDir.getAbsolutePath());
-                } else {
-                    logger.warning("Could not create saved_resumes directory");
-                }
-            }
-            
-            // Log the save location
-            System.out.println("📂 Saving to: " + savedResumesDir.getAbsolutePath());
-            
-            // Create safe filename
-            String safeName = (resume.getName() != null && !resume.getName().trim().isEmpty()) 
-                ? resume.getName().replaceAll("[^a-zA-Z0-9]", "_").toLowerCase()
-                : "resume";
-            String dateStr = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-            String fileName = safeName + "_resume_" + dateStr + ".txt";
-            File resumeFile = new File(savedResumesDir, fileName);
-            
-            // Format and write resume as text
-            try (PrintWriter writer = new PrintWriter(new FileWriter(resumeFile, false))) {
-                writer.println("═══════════════════════════════════════════════════════════");
-                writer.println("                    RESUME");
-                writer.println("═══════════════════════════════════════════════════════════");
-                writer.println();
-                
-                // Personal Information
-                if (resume.getName() != null && !resume.getName().trim().isEmpty()) {
-                    writer.println("NAME: " + resume.getName().toUpperCase());
-                    writer.println();
-                }
-                
-                writer.println("CONTACT INFORMATION:");
-                writer.println("───────────────────────────────────────────────────────────");
-                if (resume.getEmail() != null && !resume.getEmail().trim().isEmpty()) {
-                    writer.println("Email: " + resume.getEmail());
-                }
-                if (resume.getPhone() != null && !resume.getPhone().trim().isEmpty()) {
-                    writer.println("Phone: " + resume.getPhone());
-                }
-                if (resume.getAddress() != null && !resume.getAddress().trim().isEmpty()) {
-                    writer.println("Address: " + resume.getAddress());
-                }
-                writer.println();
-                
-                // Education
-                if (resume.getDegree() != null && !resume.getDegree().trim().isEmpty()) {
-                    writer.println("EDUCATION:");
-                    writer.println("───────────────────────────────────────────────────────────");
-                    writer.println("Degree: " + resume.getDegree());
-                    if (resume.getInstitution() != null && !resume.getInstitution().trim().isEmpty()) {
-                        writer.println("Institution: " + resume.getInstitution());
-                    }
-                    if (resume.getYear() != null && !resume.getYear().trim().isEmpty()) {
-                        writer.println("Year: " + resume.getYear());
-                    }
-                    writer.println();
-                }
-                
-                // Experience
-                if (resume.getJobTitle() != null && !resume.getJobTitle().trim().isEmpty()) {
-                    writer.println("PROFESSIONAL EXPERIENCE:");
-                    writer.println("───────────────────────────────────────────────────────────");
-                    writer.println("Job Title: " + resume.getJobTitle());
-                    if (resume.getCompany() != null && !resume.getCompany().trim().isEmpty()) {
-                        writer.println("Company: " + resume.getCompany());
-                    }
-                    if (resume.getDuration() != null && !resume.getDuration().trim().isEmpty()) {
-                        writer.println("Duration: " + resume.getDuration());
-                    }
-                    if (resume.getDescription() != null && !resume.getDescription().trim().isEmpty()) {
-                        writer.println("Description: " + resume.getDescription());
-                    }
-                    writer.println();
-                }
-                
-                // Skills
-                if (resume.getSkills() != null && !resume.getSkills().trim().isEmpty()) {
-                    writer.println("SKILLS:");
-                    writer.println("───────────────────────────────────────────────────────────");
-                    String[] skills = resume.getSkills().split(",");
-                    for (String skill : skills) {
-                        if (!skill.trim().isEmpty()) {
-                            writer.println("• " + skill.trim());
-                        }
-                    }
-                    writer.println();
-                }
-                
-                writer.println("═══════════════════════════════════════════════════════════");
-                writer.println("Generated: " + java.time.LocalDateTime.now().format(
-                    DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-                writer.println("═══════════════════════════════════════════════════════════");
-            }
-            
-            logger.info("Resume saved to file: " + resumeFile.getAbsolutePath());
-            System.out.println("✅ Resume saved to: " + resumeFile.getAbsolutePath());
-            
-        } catch (IOException e) {
-            logger.log(Level.WARNING, "Error saving resume to file: " + e.getMessage(), e);
-            System.err.println("Warning: Could not save resume to file: " + e.getMessage());
-        }
-    }
 }
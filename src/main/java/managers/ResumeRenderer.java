@@ -0,0 +1,47 @@
+package managers;
+
+import models.Resume;
+import utils.Utf8ChannelWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Renders a resume as text into a caller-supplied sink, so exporters can
+ * stream straight to a file without building the whole document as a String
+ */
+public interface ResumeRenderer {
+
+    /**
+     * Render into any Appendable, e.g. a Writer or StringBuilder
+     */
+    void render(Resume resume, Appendable out) throws IOException;
+
+    /**
+     * Render into a StringBuilder (never throws IOException)
+     */
+    default void render(Resume resume, StringBuilder out) {
+        try {
+            render(resume, (Appendable) out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Render as UTF-8 into a channel through a pooled byte buffer
+     * (the channel is not closed)
+     */
+    default void render(Resume resume, WritableByteChannel channel) throws IOException {
+        try (Utf8ChannelWriter writer = new Utf8ChannelWriter(channel)) {
+            render(resume, writer);
+        }
+    }
+
+    /**
+     * Expected output length in chars, for sizing buffers
+     */
+    default int getSizeHint() {
+        return 1024;
+    }
+}
@@ -0,0 +1,521 @@
+package managers;
+
+import models.Education;
+import models.Experience;
+import models.Resume;
+import utils.DatabaseManager;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Ranks stored resumes against a job description with BM25.
+ *
+ * The inverted index lives in the database (resume_search_* tables, schema
+ * version 6): one posting per (term, resume) holding the term frequency and
+ * the resume's length, clustered by term, plus per-term document frequencies
+ * and collection totals maintained by triggers. A resume's postings are
+ * rewritten in the same transaction that saves it, so the index never lags
+ * the resumes table. Resumes stored before the index existed are indexed on
+ * the first query.
+ *
+ * A query reads only the posting lists of its own terms, rarest first, and
+ * keeps the best results with a bounded heap, so its cost follows the size
+ * of those lists rather than the number of resumes. The lists of very common
+ * terms are skipped once the rarer terms have settled which resumes make the
+ * top results (a max-score bound); those resumes are then scored for the
+ * common terms one posting at a time.
+ */
+public class ResumeSearchIndex {
+    private static final Logger logger = Logger.getLogger(ResumeSearchIndex.class.getName());
+
+    // BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Title and skill words count more than free text
+    private static final int TITLE_WEIGHT = 3;
+    private static final int SKILLS_WEIGHT = 3;
+    private static final int TEXT_WEIGHT = 1;
+
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final int MAX_QUERY_TERMS = Integer.getInteger("resumebuilder.search.maxQueryTerms", 64);
+    // Terms found in more than half of a large collection score little but
+    // have the longest posting lists; they are read last and only if needed
+    private static final int COMMON_TERM_MIN_DOCS = 100;
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    /**
+     * Resume fields that feed the index; saves that touch none of them skip reindexing
+     */
+    static final int INDEXED_FIELDS = Resume.FIELD_JOB_TITLE | Resume.FIELD_SKILLS | Resume.FIELD_DESCRIPTION
+        | Resume.FIELD_COMPANY | Resume.FIELD_DEGREE | Resume.FIELD_INSTITUTION
+        | Resume.FIELD_EDUCATION_ENTRIES | Resume.FIELD_EXPERIENCE_ENTRIES;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "in", "is",
+        "it", "its", "of", "on", "or", "our", "that", "the", "their", "this", "to", "was", "we",
+        "were", "will", "with", "you", "your", "who", "which", "can", "all", "any", "also", "into",
+        "not", "but", "they", "them", "etc", "must", "should", "would", "able", "about", "other"
+    );
+
+    private static final String DELETE_POSTINGS_SQL = "DELETE FROM resume_search_terms WHERE resume_id = ?";
+    private static final String INSERT_POSTING_SQL =
+        "INSERT INTO resume_search_terms (term, resume_id, tf, doc_length) VALUES (?, ?, ?, ?)";
+    private static final String UPSERT_DOC_SQL = """
+        INSERT INTO resume_search_docs (resume_id, length) VALUES (?, ?)
+        ON CONFLICT(resume_id) DO UPDATE SET length = excluded.length
+    """;
+    private static final String SELECT_STATS_SQL =
+        "SELECT doc_count, total_length FROM resume_search_stats WHERE id = 0";
+    private static final String SELECT_DF_SQL = "SELECT df FROM resume_search_df WHERE term = ?";
+    private static final String SELECT_POSTINGS_SQL =
+        "SELECT resume_id, tf, doc_length FROM resume_search_terms WHERE term = ?";
+    private static final String SELECT_POSTING_SQL =
+        "SELECT tf, doc_length FROM resume_search_terms WHERE term = ? AND resume_id = ?";
+    private static final String SELECT_RESUME_SUMMARY_SQL =
+        "SELECT user_id, name, job_title FROM resumes WHERE id = ?";
+    private static final String SELECT_UNINDEXED_SQL = """
+        SELECT r.* FROM resumes r
+        LEFT JOIN resume_search_docs d ON d.resume_id = r.id
+        WHERE d.resume_id IS NULL
+        ORDER BY r.id
+        LIMIT ?
+    """;
+
+    private static volatile boolean backfilled = false;
+
+    /**
+     * A resume and its relevance to the query
+     */
+    public static class RankedResume {
+        public final int resumeId;
+        public final int userId;
+        public final String name;
+        public final String jobTitle;
+        public final double score;
+
+        public RankedResume(int resumeId, int userId, String name, String jobTitle, double score) {
+            this.resumeId = resumeId;
+            this.userId = userId;
+            this.name = name;
+            this.jobTitle = jobTitle;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Replace a resume's postings. Runs in the caller's transaction.
+     */
+    static void indexResume(Connection conn, int resumeId, Resume resume) throws SQLException {
+        Map<String, Integer> frequencies = termFrequencies(resume);
+        int length = 0;
+        for (int tf : frequencies.values()) {
+            length += tf;
+        }
+
+        PreparedStatement delete = DatabaseManager.prepareCached(conn, DELETE_POSTINGS_SQL);
+        delete.setInt(1, resumeId);
+        delete.executeUpdate();
+
+        if (!frequencies.isEmpty()) {
+            PreparedStatement insert = DatabaseManager.prepareCached(conn, INSERT_POSTING_SQL);
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                insert.setString(1, entry.getKey());
+                insert.setInt(2, resumeId);
+                insert.setInt(3, entry.getValue());
+                insert.setInt(4, length);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        PreparedStatement doc = DatabaseManager.prepareCached(conn, UPSERT_DOC_SQL);
+        doc.setInt(1, resumeId);
+        doc.setInt(2, length);
+        doc.executeUpdate();
+    }
+
+    /**
+     * The stored resumes that best match a job description, best first
+     */
+    public static List<RankedResume> rankResumes(String jobDescription, int limit) {
+        List<RankedResume> results = new ArrayList<>();
+        if (jobDescription == null || jobDescription.trim().isEmpty() || limit <= 0) {
+            return results;
+        }
+        Set<String> queryTerms = new LinkedHashSet<>();
+        tokenize(jobDescription, term -> queryTerms.add(term));
+        if (queryTerms.isEmpty()) {
+            return results;
+        }
+        if (!backfilled) {
+            indexMissingResumes();
+        }
+
+        try (Connection conn = DatabaseManager.getReadConnection()) {
+            long docCount;
+            long totalLength;
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(SELECT_STATS_SQL)) {
+                if (!rs.next() || rs.getLong(1) <= 0) {
+                    return results;
+                }
+                docCount = rs.getLong(1);
+                totalLength = rs.getLong(2);
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / docCount);
+
+            // Document frequency of each query term; rarest (highest idf) first
+            List<String> terms = new ArrayList<>();
+            Map<String, Double> idf = new HashMap<>();
+            Set<String> commonTerms = new HashSet<>();
+            PreparedStatement dfStmt = DatabaseManager.prepareCached(conn, SELECT_DF_SQL);
+            for (String term : queryTerms) {
+                dfStmt.setString(1, term);
+                try (ResultSet rs = dfStmt.executeQuery()) {
+                    if (!rs.next()) {
+                        continue;
+                    }
+                    long df = rs.getLong(1);
+                    if (df <= 0) {
+                        continue;
+                    }
+                    terms.add(term);
+                    if (docCount >= COMMON_TERM_MIN_DOCS && df * 2 > docCount) {
+                        commonTerms.add(term);
+                    }
+                    idf.put(term, Math.log(1.0 + (docCount - df + 0.5) / (df + 0.5)));
+                }
+            }
+            terms.sort((a, b) -> Double.compare(idf.get(b), idf.get(a)));
+            if (terms.size() > MAX_QUERY_TERMS) {
+                terms = terms.subList(0, MAX_QUERY_TERMS);
+            }
+
+            // Upper bound of what the terms from each position on can still add:
+            // a term adds less than idf * (K1 + 1) to any resume
+            double[] remainingBound = new double[terms.size() + 1];
+            for (int i = terms.size() - 1; i >= 0; i--) {
+                remainingBound[i] = remainingBound[i + 1] + idf.get(terms.get(i)) * (K1 + 1);
+            }
+
+            ScoreTable scores = new ScoreTable();
+            PreparedStatement postings = DatabaseManager.prepareCached(conn, SELECT_POSTINGS_SQL);
+            int read = 0;
+            for (; read < terms.size(); read++) {
+                String term = terms.get(read);
+                double termIdf = idf.get(term);
+                if (commonTerms.contains(term) && topIsSettled(scores, limit, remainingBound[read])) {
+                    break;
+                }
+                postings.setString(1, term);
+                try (ResultSet rs = postings.executeQuery()) {
+                    while (rs.next()) {
+                        scores.add(rs.getInt(1), bm25(termIdf, rs.getInt(2), rs.getInt(3), averageLength));
+                    }
+                }
+            }
+
+            int[] top = scores.top(limit);
+            if (read < terms.size()) {
+                // Add the skipped common terms to the settled top results only
+                PreparedStatement posting = DatabaseManager.prepareCached(conn, SELECT_POSTING_SQL);
+                for (String term : terms.subList(read, terms.size())) {
+                    posting.setString(1, term);
+                    for (int resumeId : top) {
+                        posting.setInt(2, resumeId);
+                        try (ResultSet rs = posting.executeQuery()) {
+                            if (rs.next()) {
+                                scores.add(resumeId, bm25(idf.get(term), rs.getInt(1), rs.getInt(2), averageLength));
+                            }
+                        }
+                    }
+                }
+                top = scores.top(limit);
+            }
+
+            PreparedStatement summary = DatabaseManager.prepareCached(conn, SELECT_RESUME_SUMMARY_SQL);
+            for (int resumeId : top) {
+                summary.setInt(1, resumeId);
+                try (ResultSet rs = summary.executeQuery()) {
+                    if (rs.next()) {
+                        results.add(new RankedResume(resumeId, rs.getInt(1), rs.getString(2), rs.getString(3),
+                            scores.get(resumeId)));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Error ranking resumes: " + e.getMessage(), e);
+        }
+        return results;
+    }
+
+    private static double bm25(double idf, int tf, int docLength, double averageLength) {
+        double norm = K1 * (1 - B + B * docLength / averageLength);
+        return idf * tf * (K1 + 1) / (tf + norm);
+    }
+
+    /**
+     * True if the remaining terms, adding at most remainingBound to any resume,
+     * can no longer change which resumes make the top limit: the limit-th
+     * score already beats the next one (0 for resumes not seen yet) by more
+     * than that
+     */
+    private static boolean topIsSettled(ScoreTable scores, int limit, double remainingBound) {
+        int[] top = scores.top(limit + 1);
+        if (top.length < limit) {
+            return false;
+        }
+        double next = top.length > limit ? scores.get(top[limit]) : 0;
+        return scores.get(top[limit - 1]) > next + remainingBound;
+    }
+
+    /**
+     * Index every resume that has no postings yet (e.g. rows saved before the
+     * index existed). Returns the number of resumes indexed.
+     */
+    public static synchronized int indexMissingResumes() {
+        if (backfilled) {
+            return 0;
+        }
+        int indexed = 0;
+        try (Connection conn = DatabaseManager.getConnection()) {
+            while (true) {
+                int batch = 0;
+                conn.setAutoCommit(false);
+                try {
+                    PreparedStatement select = DatabaseManager.prepareCached(conn, SELECT_UNINDEXED_SQL);
+                    select.setInt(1, BACKFILL_BATCH_SIZE);
+                    List<Integer> ids = new ArrayList<>();
+                    List<Resume> resumes = new ArrayList<>();
+                    try (ResultSet rs = select.executeQuery()) {
+                        while (rs.next()) {
+                            ids.add(rs.getInt("id"));
+                            resumes.add(ResumeManager.readResume(rs));
+                        }
+                    }
+                    for (int i = 0; i < ids.size(); i++) {
+                        ResumeEntryStore.loadEntries(conn, ids.get(i), resumes.get(i));
+                        indexResume(conn, ids.get(i), resumes.get(i));
+                        batch++;
+                    }
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+                indexed += batch;
+                if (batch < BACKFILL_BATCH_SIZE) {
+                    break;
+                }
+            }
+            backfilled = true;
+            if (indexed > 0) {
+                logger.info("Indexed " + indexed + " existing resumes for ranking");
+            }
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Error indexing existing resumes: " + e.getMessage(), e);
+        }
+        return indexed;
+    }
+
+    /**
+     * Weighted term counts of the searchable fields
+     */
+    static Map<String, Integer> termFrequencies(Resume resume) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTerms(frequencies, resume.getJobTitle(), TITLE_WEIGHT);
+        addTerms(frequencies, resume.getSkills(), SKILLS_WEIGHT);
+        addTerms(frequencies, resume.getDescription(), TEXT_WEIGHT);
+        addTerms(frequencies, resume.getCompany(), TEXT_WEIGHT);
+        addTerms(frequencies, resume.getDegree(), TEXT_WEIGHT);
+        addTerms(frequencies, resume.getInstitution(), TEXT_WEIGHT);
+        for (Experience experience : resume.getExperienceEntries()) {
+            addTerms(frequencies, experience.getJobTitle(), TITLE_WEIGHT);
+            addTerms(frequencies, experience.getCompany(), TEXT_WEIGHT);
+            addTerms(frequencies, experience.getDescription(), TEXT_WEIGHT);
+        }
+        for (Education education : resume.getEducationEntries()) {
+            addTerms(frequencies, education.getDegree(), TEXT_WEIGHT);
+            addTerms(frequencies, education.getFieldOfStudy(), TEXT_WEIGHT);
+            addTerms(frequencies, education.getInstitution(), TEXT_WEIGHT);
+            addTerms(frequencies, education.getDescription(), TEXT_WEIGHT);
+        }
+        return frequencies;
+    }
+
+    private static void addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        tokenize(text, term -> frequencies.merge(term, weight, Integer::sum));
+    }
+
+    private interface TermHandler {
+        void onTerm(String term);
+    }
+
+    /**
+     * Lower-cased words; '+', '#' and inner dots stay part of a word so
+     * "C++", "C#" and "Node.js" survive. Stop words are dropped.
+     */
+    private static void tokenize(String text, TermHandler handler) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !isTermChar(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && (isTermChar(text.charAt(i)) || text.charAt(i) == '.')) {
+                i++;
+            }
+            int end = i;
+            while (end > start && text.charAt(end - 1) == '.') {
+                end--;
+            }
+            if (end > start && end - start <= MAX_TERM_LENGTH) {
+                String term = text.substring(start, end).toLowerCase(Locale.ROOT);
+                if (!STOP_WORDS.contains(term)) {
+                    handler.onTerm(term);
+                }
+            }
+        }
+    }
+
+    private static boolean isTermChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#';
+    }
+
+    /**
+     * Open-addressing resume id -> score accumulator
+     */
+    private static final class ScoreTable {
+        private int[] ids = new int[64];
+        private double[] scores = new double[64];
+        private boolean[] used = new boolean[64];
+        private int size;
+
+        void add(int id, double score) {
+            if ((size + 1) * 2 > ids.length) {
+                grow();
+            }
+            int slot = slot(id);
+            if (!used[slot]) {
+                used[slot] = true;
+                ids[slot] = id;
+                size++;
+            }
+            scores[slot] += score;
+        }
+
+        double get(int id) {
+            int slot = slot(id);
+            return used[slot] ? scores[slot] : 0;
+        }
+
+        /**
+         * Ids of the best k scores (ties: lower id first), best first, using a bounded min-heap
+         */
+        int[] top(int k) {
+            int[] heap = new int[Math.min(k, size)];
+            int count = 0;
+            for (int slot = 0; slot < ids.length; slot++) {
+                if (!used[slot]) {
+                    continue;
+                }
+                if (count < heap.length) {
+                    heap[count] = slot;
+                    siftUp(heap, count++);
+                } else if (count > 0 && better(slot, heap[0])) {
+                    heap[0] = slot;
+                    siftDown(heap, count);
+                }
+            }
+            int[] best = new int[count];
+            for (int i = count - 1; i >= 0; i--) {
+                best[i] = ids[heap[0]];
+                heap[0] = heap[--count];
+                siftDown(heap, count);
+            }
+            return best;
+        }
+
+        private boolean better(int a, int b) {
+            return scores[a] != scores[b] ? scores[a] > scores[b] : ids[a] < ids[b];
+        }
+
+        private void siftUp(int[] heap, int index) {
+            int slot = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!better(heap[parent], slot)) {
+                    break;
+                }
+                heap[index] = heap[parent];
+                index = parent;
+            }
+            heap[index] = slot;
+        }
+
+        private void siftDown(int[] heap, int count) {
+            if (count == 0) {
+                return;
+            }
+            int index = 0;
+            int slot = heap[0];
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= count) {
+                    break;
+                }
+                if (child + 1 < count && better(heap[child], heap[child + 1])) {
+                    child++;
+                }
+                if (!better(slot, heap[child])) {
+                    break;
+                }
+                heap[index] = heap[child];
+                index = child;
+            }
+            heap[index] = slot;
+        }
+
+        private int slot(int id) {
+            int mask = ids.length - 1;
+            int slot = (id * 0x9E3779B9) >>> 7 & mask;
+            while (used[slot] && ids[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            int[] oldIds = ids;
+            double[] oldScores = scores;
+            boolean[] oldUsed = used;
+            ids = new int[oldIds.length * 2];
+            scores = new double[oldIds.length * 2];
+            used = new boolean[oldIds.length * 2];
+            for (int i = 0; i < oldIds.length; i++) {
+                if (oldUsed[i]) {
+                    int slot = slot(oldIds[i]);
+                    used[slot] = true;
+                    ids[slot] = oldIds[i];
+                    scores[slot] = oldScores[i];
+                }
+            }
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package managers;
 
 import models.Resume;
+import utils.SkillMatcher;
+import utils.SkillTaxonomy;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Manager class for analyzing resume skills
@@ -10,91 +11,211 @@ import java.util.stream.Collectors;
  */
 public class ResumeSkillAnalyzer {
     
-    // Common skill categories
-    private static final Map<String, List<String>> SKILL_CATEGORIES = new HashMap<>();
+    // The taxonomy's categorized skills in one automaton, rebuilt when the taxonomy is reloaded
+    private static volatile Compiled compiled;
     
-    static {
-        SKILL_CATEGORIES.put("Programming", Arrays.asList(
-            "Java", "Python", "C++", "C#", "JavaScript", "TypeScript", 
-            "Ruby", "PHP", "Go", "Swift", "Kotlin"
-        ));
-        SKILL_CATEGORIES.put("Web Development", Arrays.asList(
-            "HTML", "CSS", "React", "Angular", "Vue", "Node.js", 
-            "Django", "Flask", "Spring", "Express"
-        ));
-        SKILL_CATEGORIES.put("Database", Arrays.asList(
-            "SQL", "MySQL", "PostgreSQL", "MongoDB", "Oracle", 
-            "SQLite", "Redis", "Cassandra"
-        ));
-        SKILL_CATEGORIES.put("Tools", Arrays.asList(
-            "Git", "Docker", "Kubernetes", "Jenkins", "Maven", 
-            "Gradle", "JIRA", "Confluence"
-        ));
-        SKILL_CATEGORIES.put("Cloud", Arrays.asList(
-            "AWS", "Azure", "GCP", "Heroku", "DigitalOcean"
-        ));
-    }
+    // Analyses by resume content hash, least recently used evicted first once
+    // either the entry count or the estimated memory limit is exceeded
+    private static final ResumeAnalysisCache CACHE = new ResumeAnalysisCache(
+        Integer.getInteger("resumebuilder.skills.cacheSize", 1024),
+        Long.getLong("resumebuilder.skills.cacheMaxBytes", 8L * 1024 * 1024));
+    
+    private static final int MAX_RECOMMENDATIONS = 5;
     
     /**
-     * Analyze skills from resume
+     * Everything derived from one resume's skills, computed together and
+     * cached by content hash. Immutable.
      */
-    public static Map<String, List<String>> analyzeSkills(Resume resume) {
-        if (resume == null || resume.getSkills() == null) {
-            return new HashMap<>();
+    public static final class Analysis {
+        // Known skills found in the resume, by category, in taxonomy order
+        public final Map<String, List<String>> categorizedSkills;
+        public final int skillCount;
+        public final List<String> recommendations;
+        public final List<AIJobSuggestionManager.JobSuggestion> jobSuggestions;
+        // Text of formatSkillsForDisplay
+        public final String formattedSkills;
+        // Rough heap footprint, for the cache's memory limit
+        final long estimatedBytes;
+        
+        Analysis(Map<String, List<String>> categorizedSkills, int skillCount, List<String> recommendations,
+                 List<AIJobSuggestionManager.JobSuggestion> jobSuggestions, String formattedSkills) {
+            this.categorizedSkills = categorizedSkills;
+            this.skillCount = skillCount;
+            this.recommendations = recommendations;
+            this.jobSuggestions = jobSuggestions;
+            this.formattedSkills = formattedSkills;
+            
+            long size = 128 + stringBytes(formattedSkills);
+            for (Map.Entry<String, List<String>> entry : categorizedSkills.entrySet()) {
+                size += 64 + stringBytes(entry.getKey());
+                for (String skill : entry.getValue()) {
+                    size += 8 + stringBytes(skill);
+                }
+            }
+            for (String skill : recommendations) {
+                size += 8 + stringBytes(skill);
+            }
+            for (AIJobSuggestionManager.JobSuggestion job : jobSuggestions) {
+                size += 32 + stringBytes(job.title) + stringBytes(job.reason) + stringBytes(job.matchScore)
+                    + stringBytes(job.salaryRange) + stringBytes(job.description);
+            }
+            this.estimatedBytes = size;
         }
         
-        String skillsText = resume.getSkills().toLowerCase();
-        Map<String, List<String>> categorizedSkills = new HashMap<>();
+        private static long stringBytes(String s) {
+            return s == null ? 0 : 48 + s.length();
+        }
+    }
+    
+    /**
+     * Matcher over every categorized skill; pattern ids run category by
+     * category in taxonomy order, skills[id] is the taxonomy skill id
+     */
+    private static final class Compiled {
+        final SkillTaxonomy taxonomy;
+        final int[] skills;
+        final SkillMatcher matcher;
         
-        for (Map.Entry<String, List<String>> entry : SKILL_CATEGORIES.entrySet()) {
-            List<String> foundSkills = new ArrayList<>();
-            for (String skill : entry.getValue()) {
-                if (skillsText.contains(skill.toLowerCase())) {
-                    foundSkills.add(skill);
+        Compiled(SkillTaxonomy taxonomy) {
+            this.taxonomy = taxonomy;
+            List<String> names = new ArrayList<>();
+            int[] ids = new int[taxonomy.getSkillCount()];
+            for (int category = 0; category < taxonomy.getCategoryCount(); category++) {
+                for (int i = 0; i < taxonomy.getCategorySkillCount(category); i++) {
+                    int skill = taxonomy.getCategorySkill(category, i);
+                    ids[names.size()] = skill;
+                    names.add(taxonomy.getSkillName(skill));
                 }
             }
-            if (!foundSkills.isEmpty()) {
-                categorizedSkills.put(entry.getKey(), foundSkills);
+            this.skills = Arrays.copyOf(ids, names.size());
+            this.matcher = SkillMatcher.compile(names);
+        }
+    }
+    
+    private static Compiled compiled() {
+        SkillTaxonomy taxonomy = SkillTaxonomy.get();
+        Compiled current = compiled;
+        if (current == null || current.taxonomy != taxonomy) {
+            synchronized (CACHE) {
+                current = compiled;
+                if (current == null || current.taxonomy != taxonomy) {
+                    current = new Compiled(taxonomy);
+                    compiled = current;
+                    CACHE.clear();
+                }
             }
         }
-        
-        return categorizedSkills;
+        return current;
     }
     
     /**
-     * Get skill count
+     * Analyze a resume: categorized skills, skill count, recommendations and
+     * job suggestions in one result. Cached by resume content, so asking
+     * again for an unchanged resume (or an identical copy) costs one lookup.
      */
-    public static int getSkillCount(Resume resume) {
-        if (resume == null || resume.getSkills() == null) {
-            return 0;
+    public static Analysis analyze(Resume resume) {
+        Compiled current = compiled();
+        if (resume == null) {
+            return compute(current, null);
+        }
+        
+        String key = resume.getContentHash();
+        Analysis cached = CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        
+        Analysis result = compute(current, resume.getSkills());
+        synchronized (CACHE) {
+            // A reload in the meantime cleared the cache; don't refill it with stale results
+            if (compiled == current) {
+                CACHE.put(key, result);
+            }
+        }
+        return result;
+    }
+    
+    private static Analysis compute(Compiled current, String skills) {
+        if (skills == null) {
+            return new Analysis(Collections.emptyMap(), 0,
+                recommend(current.taxonomy, Collections.emptyMap()), Collections.emptyList(), "No skills listed");
+        }
+        
+        SkillTaxonomy taxonomy = current.taxonomy;
+        Map<String, List<String>> categorizedSkills = new LinkedHashMap<>();
+        // Ids ascend in category order, so each list keeps the category's skill order
+        for (int id : current.matcher.findAll(skills)) {
+            int skill = current.skills[id];
+            categorizedSkills.computeIfAbsent(taxonomy.getCategoryName(taxonomy.getSkillCategory(skill)),
+                k -> new ArrayList<>()).add(taxonomy.getSkillName(skill));
+        }
+        for (Map.Entry<String, List<String>> entry : categorizedSkills.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        Map<String, List<String>> categorized = Collections.unmodifiableMap(categorizedSkills);
+        
+        String formatted;
+        if (categorized.isEmpty()) {
+            formatted = skills;
+        } else {
+            StringBuilder sb = new StringBuilder();
+            for (Map.Entry<String, List<String>> entry : categorized.entrySet()) {
+                sb.append(entry.getKey()).append(": ");
+                sb.append(String.join(", ", entry.getValue()));
+                sb.append("\n");
+            }
+            formatted = sb.toString();
         }
         
-        String skills = resume.getSkills();
         // Count skills separated by comma, semicolon, or newline
-        return skills.split("[,;\\n]").length;
+        int skillCount = skills.split("[,;\\n]").length;
+        
+        return new Analysis(categorized, skillCount, recommend(taxonomy, categorized),
+            Collections.unmodifiableList(AIJobSuggestionManager.suggestJobsFromSkills(skills)), formatted);
     }
     
     /**
-     * Get skill recommendations based on existing skills
+     * Recommend skills from categories that have few skills
      */
-    public static List<String> getSkillRecommendations(Resume resume) {
-        Map<String, List<String>> categorized = analyzeSkills(resume);
+    private static List<String> recommend(SkillTaxonomy taxonomy, Map<String, List<String>> categorized) {
         List<String> recommendations = new ArrayList<>();
-        
-        // Recommend skills from categories that have few skills
-        for (Map.Entry<String, List<String>> entry : SKILL_CATEGORIES.entrySet()) {
-            List<String> existing = categorized.getOrDefault(entry.getKey(), new ArrayList<>());
+        for (int category = 0; category < taxonomy.getCategoryCount() && recommendations.size() < MAX_RECOMMENDATIONS; category++) {
+            List<String> existing = categorized.getOrDefault(taxonomy.getCategoryName(category), Collections.emptyList());
             if (existing.size() < 2) {
                 // Recommend skills from this category
-                for (String skill : entry.getValue()) {
-                    if (!existing.contains(skill) && recommendations.size() < 5) {
+                int count = taxonomy.getCategorySkillCount(category);
+                for (int i = 0; i < count && recommendations.size() < MAX_RECOMMENDATIONS; i++) {
+                    String skill = taxonomy.getSkillName(taxonomy.getCategorySkill(category, i));
+                    if (!existing.contains(skill)) {
                         recommendations.add(skill);
                     }
                 }
             }
         }
-        
-        return recommendations;
+        return Collections.unmodifiableList(recommendations);
+    }
+    
+    /**
+     * Analyze skills from resume: the known skills it lists, by category.
+     * Skills match as whole words in one pass over the text; the returned
+     * map is read-only.
+     */
+    public static Map<String, List<String>> analyzeSkills(Resume resume) {
+        return analyze(resume).categorizedSkills;
+    }
+    
+    /**
+     * Get skill count
+     */
+    public static int getSkillCount(Resume resume) {
+        return analyze(resume).skillCount;
+    }
+    
+    /**
+     * Get skill recommendations based on existing skills (read-only)
+     */
+    public static List<String> getSkillRecommendations(Resume resume) {
+        return analyze(resume).recommendations;
     }
     
     /**
@@ -108,22 +229,13 @@ public class ResumeSkillAnalyzer {
      * Format skills for display
      */
     public static String formatSkillsForDisplay(Resume resume) {
-        if (resume == null || resume.getSkills() == null) {
-            return "No skills listed";
-        }
-        
-        Map<String, List<String>> categorized = analyzeSkills(resume);
-        if (categorized.isEmpty()) {
-            return resume.getSkills();
-        }
-        
-        StringBuilder sb = new StringBuilder();
-        for (Map.Entry<String, List<String>> entry : categorized.entrySet()) {
-            sb.append(entry.getKey()).append(": ");
-            sb.append(String.join(", ", entry.getValue()));
-            sb.append("\n");
-        }
-        
-        return sb.toString();
+        return analyze(resume).formattedSkills;
+    }
+    
+    /**
+     * Hit, miss and eviction counts of the analysis cache
+     */
+    public static String getCacheStatistics() {
+        return CACHE.getStatistics();
     }
 }
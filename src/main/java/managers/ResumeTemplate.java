@@ -0,0 +1,346 @@
+package managers;
+
+import models.Resume;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A resume text template compiled into a flat instruction plan.
+ *
+ * Syntax:
+ *   {{field}}          the field's value (empty when null)
+ *   {{field:upper}}    the value in upper case (locale independent)
+ *   {{#field}}...{{/field}}  only when the field is not empty
+ *   {{^field}}...{{/field}}  only when the field is empty
+ *   {{*field}}...{{.}}...{{/field}}  once per comma separated element
+ *   {{! comment }}
+ *
+ * A block or comment tag on a line of its own does not leave a blank line.
+ *
+ * Fields: name, email, phone, address, institution, degree, year,
+ * job_title, company, duration, description, skills.
+ *
+ * A compiled template is immutable and can be rendered from many threads.
+ */
+public final class ResumeTemplate implements ResumeRenderer {
+    private static final String[] FIELDS = {
+        "name", "email", "phone", "address", "institution", "degree", "year",
+        "job_title", "company", "duration", "description", "skills"
+    };
+
+    // Instructions are (op, arg, jump) triples
+    private static final int OP_TEXT = 0;        // arg = literal index
+    private static final int OP_FIELD = 1;       // arg = field index
+    private static final int OP_FIELD_UPPER = 2; // arg = field index
+    private static final int OP_IF = 3;          // arg = field index, jump = end of block
+    private static final int OP_IF_NOT = 4;      // arg = field index, jump = end of block
+    private static final int OP_EACH = 5;        // arg = field index, jump = end of block
+    private static final int OP_ITEM = 6;        // current list element
+
+    // Rough room for field values when sizing a buffer
+    private static final int FIELD_SIZE_HINT = 24;
+
+    private final String name;
+    private final int[] code;
+    private final String[] literals;
+    private final int sizeHint;
+
+    private ResumeTemplate(String name, int[] code, String[] literals, int sizeHint) {
+        this.name = name;
+        this.code = code;
+        this.literals = literals;
+        this.sizeHint = sizeHint;
+    }
+
+    /**
+     * Parse template source into a plan
+     * @throws IllegalArgumentException if the source is malformed
+     */
+    public static ResumeTemplate compile(String name, String source) {
+        List<Integer> code = new ArrayList<>();
+        List<String> literals = new ArrayList<>();
+        // Open blocks: index of the block instruction, its field and its kind
+        Deque<int[]> open = new ArrayDeque<>();
+        int loops = 0;
+        int literalChars = 0;
+        int fieldCount = 0;
+
+        int pos = 0;
+        while (pos < source.length()) {
+            int tagStart = source.indexOf("{{", pos);
+            if (tagStart < 0) {
+                literalChars += literal(code, literals, source.substring(pos));
+                break;
+            }
+            int tagEnd = source.indexOf("}}", tagStart + 2);
+            if (tagEnd < 0) {
+                throw error(name, source, tagStart, "unclosed tag");
+            }
+            String tag = source.substring(tagStart + 2, tagEnd).trim();
+            if (tag.isEmpty()) {
+                throw error(name, source, tagStart, "empty tag");
+            }
+            char kind = tag.charAt(0);
+
+            // A block or comment tag alone on its line removes the whole line
+            int textEnd = tagStart;
+            int next = tagEnd + 2;
+            if ("!#^*/".indexOf(kind) >= 0) {
+                int lineStart = tagStart;
+                while (lineStart > pos && (source.charAt(lineStart - 1) == ' ' || source.charAt(lineStart - 1) == '\t')) {
+                    lineStart--;
+                }
+                int lineEnd = next;
+                while (lineEnd < source.length() && (source.charAt(lineEnd) == ' ' || source.charAt(lineEnd) == '\t')) {
+                    lineEnd++;
+                }
+                boolean startsLine = lineStart == 0 || source.charAt(lineStart - 1) == '\n';
+                if (startsLine && lineEnd < source.length() && source.charAt(lineEnd) == '\n') {
+                    textEnd = lineStart;
+                    next = lineEnd + 1;
+                } else if (startsLine && lineEnd == source.length()) {
+                    textEnd = lineStart;
+                    next = lineEnd;
+                }
+            }
+            if (textEnd > pos) {
+                literalChars += literal(code, literals, source.substring(pos, textEnd));
+            }
+            pos = next;
+
+            switch (kind) {
+                case '!':
+                    break;
+                case '#':
+                case '^':
+                case '*': {
+                    int field = fieldIndex(name, source, tagStart, tag.substring(1).trim());
+                    open.push(new int[] {code.size(), field, kind});
+                    emit(code, kind == '#' ? OP_IF : kind == '^' ? OP_IF_NOT : OP_EACH, field, 0);
+                    if (kind == '*') {
+                        loops++;
+                    }
+                    break;
+                }
+                case '/': {
+                    int field = fieldIndex(name, source, tagStart, tag.substring(1).trim());
+                    if (open.isEmpty() || open.peek()[1] != field) {
+                        throw error(name, source, tagStart, "unexpected {{/" + FIELDS[field] + "}}");
+                    }
+                    int[] block = open.pop();
+                    if (block[2] == '*') {
+                        loops--;
+                    }
+                    code.set(block[0] + 2, code.size());
+                    break;
+                }
+                default: {
+                    if (tag.equals(".")) {
+                        if (loops == 0) {
+                            throw error(name, source, tagStart, "{{.}} outside a {{*field}} block");
+                        }
+                        emit(code, OP_ITEM, 0, 0);
+                        fieldCount++;
+                        break;
+                    }
+                    boolean upper = false;
+                    String field = tag;
+                    int colon = tag.indexOf(':');
+                    if (colon >= 0) {
+                        String modifier = tag.substring(colon + 1).trim();
+                        if (!modifier.equals("upper")) {
+                            throw error(name, source, tagStart, "unknown modifier '" + modifier + "'");
+                        }
+                        upper = true;
+                        field = tag.substring(0, colon).trim();
+                    }
+                    emit(code, upper ? OP_FIELD_UPPER : OP_FIELD, fieldIndex(name, source, tagStart, field), 0);
+                    fieldCount++;
+                }
+            }
+        }
+        if (!open.isEmpty()) {
+            throw new IllegalArgumentException("Template " + name + ": unclosed {{" + (char) open.peek()[2]
+                + FIELDS[open.peek()[1]] + "}}");
+        }
+
+        int[] plan = new int[code.size()];
+        for (int i = 0; i < plan.length; i++) {
+            plan[i] = code.get(i);
+        }
+        return new ResumeTemplate(name, plan, literals.toArray(new String[0]),
+            literalChars + fieldCount * FIELD_SIZE_HINT);
+    }
+
+    private static int literal(List<Integer> code, List<String> literals, String text) {
+        if (text.isEmpty()) {
+            return 0;
+        }
+        emit(code, OP_TEXT, literals.size(), 0);
+        literals.add(text);
+        return text.length();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getSizeHint() {
+        return sizeHint;
+    }
+
+    /**
+     * Render into any Appendable, e.g. a Writer
+     */
+    @Override
+    public void render(Resume resume, Appendable out) throws IOException {
+        execute(resume, out, 0, code.length, null, 0, 0);
+    }
+
+    /**
+     * Run instructions [pc, end). Inside a {{*field}} block, item is the list
+     * value and [itemStart, itemEnd) the current element.
+     */
+    private void execute(Resume resume, Appendable out, int pc, int end,
+                         String item, int itemStart, int itemEnd) throws IOException {
+        while (pc < end) {
+            int op = code[pc];
+            int arg = code[pc + 1];
+            switch (op) {
+                case OP_TEXT:
+                    out.append(literals[arg]);
+                    break;
+                case OP_FIELD: {
+                    String value = field(resume, arg);
+                    if (value != null) {
+                        out.append(value);
+                    }
+                    break;
+                }
+                case OP_FIELD_UPPER: {
+                    String value = field(resume, arg);
+                    if (value != null) {
+                        appendUpper(out, value);
+                    }
+                    break;
+                }
+                case OP_IF:
+                    if (isEmpty(field(resume, arg))) {
+                        pc = code[pc + 2];
+                        continue;
+                    }
+                    break;
+                case OP_IF_NOT:
+                    if (!isEmpty(field(resume, arg))) {
+                        pc = code[pc + 2];
+                        continue;
+                    }
+                    break;
+                case OP_EACH: {
+                    String list = field(resume, arg);
+                    int blockEnd = code[pc + 2];
+                    if (list != null) {
+                        // Comma separated, trimmed, empty elements skipped
+                        int from = 0;
+                        while (from <= list.length()) {
+                            int comma = list.indexOf(',', from);
+                            int to = comma < 0 ? list.length() : comma;
+                            int s = from;
+                            int e = to;
+                            while (s < e && Character.isWhitespace(list.charAt(s))) {
+                                s++;
+                            }
+                            while (e > s && Character.isWhitespace(list.charAt(e - 1))) {
+                                e--;
+                            }
+                            if (e > s) {
+                                execute(resume, out, pc + 3, blockEnd, list, s, e);
+                            }
+                            from = to + 1;
+                        }
+                    }
+                    pc = blockEnd;
+                    continue;
+                }
+                case OP_ITEM:
+                    if (item != null) {
+                        out.append(item, itemStart, itemEnd);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Bad instruction " + op);
+            }
+            pc += 3;
+        }
+    }
+
+    /**
+     * Upper-case without a temporary string for the common ASCII case
+     */
+    private static void appendUpper(Appendable out, String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                // Non-ASCII may change length (e.g. sharp s), let String handle the rest
+                out.append(value.substring(i).toUpperCase(Locale.ROOT));
+                return;
+            }
+            out.append(c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c);
+        }
+    }
+
+    private static String field(Resume resume, int index) {
+        if (resume == null) {
+            return null;
+        }
+        switch (index) {
+            case 0: return resume.getName();
+            case 1: return resume.getEmail();
+            case 2: return resume.getPhone();
+            case 3: return resume.getAddress();
+            case 4: return resume.getInstitution();
+            case 5: return resume.getDegree();
+            case 6: return resume.getYear();
+            case 7: return resume.getJobTitle();
+            case 8: return resume.getCompany();
+            case 9: return resume.getDuration();
+            case 10: return resume.getDescription();
+            case 11: return resume.getSkills();
+            default: return null;
+        }
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private static void emit(List<Integer> code, int op, int arg, int jump) {
+        code.add(op);
+        code.add(arg);
+        code.add(jump);
+    }
+
+    private static int fieldIndex(String name, String source, int at, String field) {
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (FIELDS[i].equals(field)) {
+                return i;
+            }
+        }
+        throw error(name, source, at, "unknown field '" + field + "'");
+    }
+
+    private static IllegalArgumentException error(String name, String source, int at, String message) {
+        int line = 1;
+        for (int i = 0; i < at; i++) {
+            if (source.charAt(i) == '\n') {
+                line++;
+            }
+        }
+        return new IllegalArgumentException("Template " + name + " line " + line + ": " + message);
+    }
+}
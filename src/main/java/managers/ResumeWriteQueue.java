@@ -0,0 +1,229 @@
+package managers;
+
+import models.Resume;
+import utils.DatabaseManager;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind queue for resume persistence.
+ * Saves run on a single background thread so the JavaFX thread never waits on
+ * JDBC or file I/O. Repeated saves for the same user are coalesced: only the
+ * latest snapshot is written. A snapshot that fails to save stays queued and
+ * is retried with backoff until it is written or a newer one replaces it.
+ */
+public class ResumeWriteQueue {
+    private static final Logger logger = Logger.getLogger(ResumeWriteQueue.class.getName());
+    private static final long FLUSH_TIMEOUT_MS = 10000;
+    private static final long RETRY_INITIAL_DELAY_MS = 1000;
+    private static final long RETRY_MAX_DELAY_MS = 60000;
+
+    // Latest not-yet-written snapshot per user
+    private static final Map<Integer, Resume> pending = new ConcurrentHashMap<>();
+    // Users whose pending snapshot failed to save and waits for a retry, with the failures so far
+    private static final Map<Integer, Integer> failedAttempts = new ConcurrentHashMap<>();
+    private static final List<FailureListener> failureListeners = new CopyOnWriteArrayList<>();
+    private static ScheduledExecutorService executor;
+
+    private static final AtomicLong enqueuedCount = new AtomicLong();
+    private static final AtomicLong coalescedCount = new AtomicLong();
+    private static final AtomicLong writtenCount = new AtomicLong();
+    private static final AtomicLong failedCount = new AtomicLong();
+
+    static {
+        // Make sure queued saves reach the database before the pool closes
+        DatabaseManager.addShutdownTask(ResumeWriteQueue::shutdown);
+    }
+
+    /**
+     * Told, on the writer thread, when a queued save fails. The snapshot stays
+     * queued and is retried.
+     */
+    public interface FailureListener {
+        void saveFailed(int userId, int attempts);
+    }
+
+    public static void addFailureListener(FailureListener listener) {
+        failureListeners.add(listener);
+    }
+
+    public static void removeFailureListener(FailureListener listener) {
+        failureListeners.remove(listener);
+    }
+
+    /**
+     * Queue a save of the current user's resume. Returns immediately.
+     */
+    public static void enqueue(Resume resume) {
+        var currentUser = views.SessionManager.getCurrentUser();
+        if (resume == null || currentUser == null) {
+            return;
+        }
+        enqueue(currentUser.getId(), resume);
+    }
+
+    /**
+     * Queue a save of a user's resume. Returns immediately.
+     */
+    public static void enqueue(int userId, Resume resume) {
+        if (resume == null) {
+            return;
+        }
+        enqueuedCount.incrementAndGet();
+
+        // Copy so later edits to the caller's object cannot race with the writer
+        Resume previous = pending.put(userId, new Resume(resume));
+        if (previous != null) {
+            coalescedCount.incrementAndGet();
+            if (!failedAttempts.containsKey(userId)) {
+                // A write for this user is already scheduled and will pick up the new snapshot
+                return;
+            }
+            // The replaced snapshot was waiting for a retry; write the new one now
+        }
+        getExecutor().execute(() -> write(userId));
+    }
+
+    /**
+     * Get the snapshot waiting to be written for a user, if any (read-your-writes)
+     */
+    public static Resume getPending(int userId) {
+        Resume resume = pending.get(userId);
+        return resume != null ? new Resume(resume) : null;
+    }
+
+    /**
+     * Block until every queued save (and the exports it triggered) has been written.
+     * Saves waiting for a retry are tried once more right away.
+     * Call on logout and shutdown.
+     */
+    public static void flush() {
+        ScheduledExecutorService current;
+        synchronized (ResumeWriteQueue.class) {
+            current = executor;
+        }
+        if (current != null && !current.isShutdown()) {
+            try {
+                // The executor is single-threaded, so this runs after every earlier write
+                current.submit(() -> {
+                    for (Integer userId : failedAttempts.keySet()) {
+                        write(userId);
+                    }
+                }).get(FLUSH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (TimeoutException e) {
+                logger.warning("Timed out flushing resume write queue (" + pending.size() + " pending)");
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Error flushing resume write queue: " + e.getMessage(), e);
+            }
+        }
+        BackgroundExportManager.flush();
+    }
+
+    /**
+     * Flush pending saves and stop the writer thread
+     */
+    public static void shutdown() {
+        flush();
+        synchronized (ResumeWriteQueue.class) {
+            if (executor != null) {
+                executor.shutdown();
+                executor = null;
+            }
+        }
+        if (!pending.isEmpty()) {
+            logger.severe("Resume saves for " + pending.size() + " user(s) could not be written before shutdown");
+        }
+        logger.info(getStatistics());
+    }
+
+    /**
+     * Queue counters: enqueued, coalesced, written, failed, waiting for retry
+     */
+    public static String getStatistics() {
+        return "Resume write queue: enqueued=" + enqueuedCount.get()
+            + " coalesced=" + coalescedCount.get()
+            + " written=" + writtenCount.get()
+            + " failed=" + failedCount.get()
+            + " retrying=" + failedAttempts.size()
+            + " pending=" + pending.size();
+    }
+
+    private static synchronized ScheduledExecutorService getExecutor() {
+        if (executor == null || executor.isShutdown()) {
+            ScheduledThreadPoolExecutor writer = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, "resume-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // Retries still waiting at shutdown are dropped; flush() has just tried them
+            writer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            executor = writer;
+        }
+        return executor;
+    }
+
+    private static void write(int userId) {
+        Resume resume = pending.get(userId);
+        while (resume != null) {
+            boolean saved;
+            try {
+                saved = ResumeManager.saveResume(userId, resume);
+            } catch (Exception e) {
+                saved = false;
+                logger.log(Level.SEVERE, "Error in background resume save: " + e.getMessage(), e);
+            }
+            if (saved) {
+                writtenCount.incrementAndGet();
+                failedAttempts.remove(userId);
+                // The snapshot stays visible to getPending() until written
+                if (pending.remove(userId, resume)) {
+                    return;
+                }
+            } else {
+                failedCount.incrementAndGet();
+                // Counted before the check so that enqueue() sees it and does not wait for the retry
+                int attempts = failedAttempts.merge(userId, 1, Integer::sum);
+                if (pending.get(userId) == resume) {
+                    scheduleRetry(userId, attempts);
+                    return;
+                }
+            }
+            // A newer snapshot arrived in the meantime; write that too
+            resume = pending.get(userId);
+        }
+    }
+
+    /**
+     * Keep the failed snapshot queued and try it again after a growing delay
+     */
+    private static void scheduleRetry(int userId, int attempts) {
+        long delay = Math.min(RETRY_MAX_DELAY_MS, RETRY_INITIAL_DELAY_MS << Math.min(attempts - 1, 16));
+        for (FailureListener listener : failureListeners) {
+            try {
+                listener.saveFailed(userId, attempts);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Error in resume save failure listener", e);
+            }
+        }
+        synchronized (ResumeWriteQueue.class) {
+            if (executor == null || executor.isShutdown()) {
+                logger.severe("Resume save for user " + userId + " failed during shutdown and was not written");
+                return;
+            }
+            logger.warning("Resume save for user " + userId + " failed (attempt " + attempts
+                + "), retrying in " + delay + " ms");
+            executor.schedule(() -> write(userId), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -1,14 +1,23 @@
 package managers;
 
 import models.Resume;
+import utils.FileStorage;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
 
 /**
  * Manager class for resume templates
  * @author habib
  */
 public class TemplateManager {
+    private static final Logger logger = Logger.getLogger(TemplateManager.class.getName());
     
     public enum TemplateType {
         MODERN,
@@ -17,150 +26,321 @@ public class TemplateManager {
         PROFESSIONAL
     }
     
+    /** Layout of the saved_resumes text mirror */
+    public static final String SAVED_TEXT_TEMPLATE = "saved-text";
+    /** Layout of the plain text Word export */
+    public static final String WORD_TEXT_TEMPLATE = "word-text";
+    
+    private static final String TEMPLATE_DIRECTORY = "templates";
+    private static final String TEMPLATE_EXTENSION = ".tpl";
+    // Reused per-thread buffers larger than this are dropped after use
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+    
+    private static final Map<String, String> BUILT_IN_TEMPLATES = new LinkedHashMap<>();
+    private static final Map<String, ResumeTemplate> COMPILED = new ConcurrentHashMap<>();
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+    
+    static {
+        BUILT_IN_TEMPLATES.put("modern", """
+            ╔═══════════════════════════════════════╗
+            ║          RESUME - MODERN STYLE       ║
+            ╚═══════════════════════════════════════╝
+            
+            ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+            PERSONAL INFORMATION
+            ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+            Name: {{name}}
+            Email: {{email}}
+            Phone: {{phone}}
+            Address: {{address}}
+            
+            ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+            EDUCATION
+            ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+            Institution: {{institution}}
+            Degree: {{degree}}
+            Year: {{year}}
+            
+            ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+            EXPERIENCE
+            ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+            Job Title: {{job_title}}
+            Company: {{company}}
+            Duration: {{duration}}
+            Description: {{description}}
+            
+            ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+            SKILLS
+            ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+            {{skills}}
+            """);
+        BUILT_IN_TEMPLATES.put("classic", """
+            ==========================================
+                            RESUME
+            ==========================================
+            
+            PERSONAL INFORMATION
+            ------------------------------------------
+            {{name}}
+            {{email}} | {{phone}}
+            {{address}}
+            
+            EDUCATION
+            ------------------------------------------
+            {{degree}}, {{institution}}
+            Graduated: {{year}}
+            
+            EXPERIENCE
+            ------------------------------------------
+            {{job_title}} at {{company}}
+            {{duration}}
+            {{description}}
+            
+            SKILLS
+            ------------------------------------------
+            {{skills}}
+            """);
+        BUILT_IN_TEMPLATES.put("creative", """
+            ╭───────────────────────────────────────╮
+            │         ✨ CREATIVE RESUME ✨          │
+            ╰───────────────────────────────────────╯
+            
+            👤 {{name}}
+            📧 {{email}}
+            📱 {{phone}}
+            📍 {{address}}
+            
+            🎓 EDUCATION
+               • {{degree}} from {{institution}} ({{year}})
+            
+            💼 EXPERIENCE
+               • {{job_title}} @ {{company}} ({{duration}})
+                 {{description}}
+            
+            🛠️  SKILLS
+               {{skills}}
+            """);
+        BUILT_IN_TEMPLATES.put("professional", """
+            RESUME
+            ═══════════════════════════════════════════
+            
+            {{name:upper}}
+            {{email}} | {{phone}} | {{address}}
+            
+            EDUCATION
+            ─────────────────────────────────────────
+            {{institution}}
+            {{degree}}, {{year}}
+            
+            PROFESSIONAL EXPERIENCE
+            ─────────────────────────────────────────
+            {{job_title}}
+            {{company}} | {{duration}}
+            {{description}}
+            
+            CORE COMPETENCIES
+            ─────────────────────────────────────────
+            {{skills}}
+            """);
+        BUILT_IN_TEMPLATES.put(SAVED_TEXT_TEMPLATE, """
+            ═══════════════════════════════════════════════════════════
+                                RESUME
+            ═══════════════════════════════════════════════════════════
+            
+            {{#name}}
+            NAME: {{name:upper}}
+            
+            {{/name}}
+            CONTACT INFORMATION:
+            ───────────────────────────────────────────────────────────
+            {{#email}}
+            Email: {{email}}
+            {{/email}}
+            {{#phone}}
+            Phone: {{phone}}
+            {{/phone}}
+            {{#address}}
+            Address: {{address}}
+            {{/address}}
+            
+            {{#degree}}
+            EDUCATION:
+            ───────────────────────────────────────────────────────────
+            Degree: {{degree}}
+            {{#institution}}
+            Institution: {{institution}}
+            {{/institution}}
+            {{#year}}
+            Year: {{year}}
+            {{/year}}
+            
+            {{/degree}}
+            {{#job_title}}
+            PROFESSIONAL EXPERIENCE:
+            ───────────────────────────────────────────────────────────
+            Job Title: {{job_title}}
+            {{#company}}
+            Company: {{company}}
+            {{/company}}
+            {{#duration}}
+            Duration: {{duration}}
+            {{/duration}}
+            {{#description}}
+            Description: {{description}}
+            {{/description}}
+            
+            {{/job_title}}
+            {{#skills}}
+            SKILLS:
+            ───────────────────────────────────────────────────────────
+            {{*skills}}
+            • {{.}}
+            {{/skills}}
+            
+            {{/skills}}
+            ═══════════════════════════════════════════════════════════
+            """);
+        BUILT_IN_TEMPLATES.put(WORD_TEXT_TEMPLATE, """
+            ============================================================
+                                RESUME
+            ============================================================
+            
+            {{#name}}
+            NAME: {{name:upper}}
+            
+            {{/name}}
+            CONTACT INFORMATION:
+            ------------------------------------------------------------
+            {{#email}}
+            Email: {{email}}
+            {{/email}}
+            {{#phone}}
+            Phone: {{phone}}
+            {{/phone}}
+            {{#address}}
+            Address: {{address}}
+            {{/address}}
+            
+            {{#degree}}
+            EDUCATION:
+            ------------------------------------------------------------
+            Degree: {{degree}}
+            {{#institution}}
+            Institution: {{institution}}
+            {{/institution}}
+            {{#year}}
+            Year: {{year}}
+            {{/year}}
+            
+            {{/degree}}
+            {{#job_title}}
+            PROFESSIONAL EXPERIENCE:
+            ------------------------------------------------------------
+            Job Title: {{job_title}}
+            {{#company}}
+            Company: {{company}}
+            {{/company}}
+            {{#duration}}
+            Duration: {{duration}}
+            {{/duration}}
+            {{#description}}
+            Description: {{description}}
+            {{/description}}
+            
+            {{/job_title}}
+            {{#skills}}
+            SKILLS:
+            ------------------------------------------------------------
+            {{*skills}}
+            • {{.}}
+            {{/skills}}
+            {{/skills}}
+            
+            ============================================================
+            """);
+    }
+    
     /**
      * Get formatted resume based on template
      */
     public static String formatResume(Resume resume, TemplateType template) {
+        return formatResume(resume, template != null ? template.name() : TemplateType.MODERN.name());
+    }
+    
+    /**
+     * Format with a template by name: a built-in one or a .tpl file in the
+     * templates directory. Unknown names fall back to the modern template.
+     */
+    public static String formatResume(Resume resume, String templateName) {
         if (resume == null) return "";
         
-        switch (template) {
-            case MODERN:
-                return formatModern(resume);
-            case CLASSIC:
-                return formatClassic(resume);
-            case CREATIVE:
-                return formatCreative(resume);
-            case PROFESSIONAL:
-                return formatProfessional(resume);
-            default:
-                return formatModern(resume);
+        ResumeTemplate template = getTemplate(templateName);
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        sb.ensureCapacity(template.getSizeHint());
+        template.render(resume, sb);
+        String result = sb.toString();
+        if (sb.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
         }
+        return result;
     }
     
-    private static String formatModern(Resume resume) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("╔═══════════════════════════════════════╗\n");
-        sb.append("║          RESUME - MODERN STYLE       ║\n");
-        sb.append("╚═══════════════════════════════════════╝\n\n");
-        
-        sb.append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
-        sb.append("PERSONAL INFORMATION\n");
-        sb.append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
-        sb.append("Name: ").append(resume.getName() != null ? resume.getName() : "").append("\n");
-        sb.append("Email: ").append(resume.getEmail() != null ? resume.getEmail() : "").append("\n");
-        sb.append("Phone: ").append(resume.getPhone() != null ? resume.getPhone() : "").append("\n");
-        sb.append("Address: ").append(resume.getAddress() != null ? resume.getAddress() : "").append("\n\n");
-        
-        sb.append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
-        sb.append("EDUCATION\n");
-        sb.append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
-        sb.append("Institution: ").append(resume.getInstitution() != null ? resume.getInstitution() : "").append("\n");
-        sb.append("Degree: ").append(resume.getDegree() != null ? resume.getDegree() : "").append("\n");
-        sb.append("Year: ").append(resume.getYear() != null ? resume.getYear() : "").append("\n\n");
-        
-        sb.append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
-        sb.append("EXPERIENCE\n");
-        sb.append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
-        sb.append("Job Title: ").append(resume.getJobTitle() != null ? resume.getJobTitle() : "").append("\n");
-        sb.append("Company: ").append(resume.getCompany() != null ? resume.getCompany() : "").append("\n");
-        sb.append("Duration: ").append(resume.getDuration() != null ? resume.getDuration() : "").append("\n");
-        sb.append("Description: ").append(resume.getDescription() != null ? resume.getDescription() : "").append("\n\n");
-        
-        sb.append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
-        sb.append("SKILLS\n");
-        sb.append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
-        sb.append(resume.getSkills() != null ? resume.getSkills() : "").append("\n");
-        
-        return sb.toString();
+    /**
+     * Render straight into a Writer (or any Appendable) without building a String
+     */
+    public static void renderResume(Resume resume, String templateName, Appendable out) throws IOException {
+        if (resume == null) return;
+        getTemplate(templateName).render(resume, out);
     }
     
-    private static String formatClassic(Resume resume) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("==========================================\n");
-        sb.append("                RESUME\n");
-        sb.append("==========================================\n\n");
-        
-        sb.append("PERSONAL INFORMATION\n");
-        sb.append("------------------------------------------\n");
-        sb.append(resume.getName() != null ? resume.getName() : "").append("\n");
-        sb.append(resume.getEmail() != null ? resume.getEmail() : "").append(" | ");
-        sb.append(resume.getPhone() != null ? resume.getPhone() : "").append("\n");
-        sb.append(resume.getAddress() != null ? resume.getAddress() : "").append("\n\n");
-        
-        sb.append("EDUCATION\n");
-        sb.append("------------------------------------------\n");
-        sb.append(resume.getDegree() != null ? resume.getDegree() : "").append(", ");
-        sb.append(resume.getInstitution() != null ? resume.getInstitution() : "").append("\n");
-        sb.append("Graduated: ").append(resume.getYear() != null ? resume.getYear() : "").append("\n\n");
-        
-        sb.append("EXPERIENCE\n");
-        sb.append("------------------------------------------\n");
-        sb.append(resume.getJobTitle() != null ? resume.getJobTitle() : "").append(" at ");
-        sb.append(resume.getCompany() != null ? resume.getCompany() : "").append("\n");
-        sb.append(resume.getDuration() != null ? resume.getDuration() : "").append("\n");
-        sb.append(resume.getDescription() != null ? resume.getDescription() : "").append("\n\n");
-        
-        sb.append("SKILLS\n");
-        sb.append("------------------------------------------\n");
-        sb.append(resume.getSkills() != null ? resume.getSkills() : "").append("\n");
-        
-        return sb.toString();
+    /**
+     * Render as UTF-8 straight into a channel, e.g. a FileChannel
+     */
+    public static void renderResume(Resume resume, String templateName, WritableByteChannel channel) throws IOException {
+        if (resume == null) return;
+        getTemplate(templateName).render(resume, channel);
     }
     
-    private static String formatCreative(Resume resume) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("╭───────────────────────────────────────╮\n");
-        sb.append("│         ✨ CREATIVE RESUME ✨          │\n");
-        sb.append("╰───────────────────────────────────────╯\n\n");
-        
-        sb.append("👤 ").append(resume.getName() != null ? resume.getName() : "").append("\n");
-        sb.append("📧 ").append(resume.getEmail() != null ? resume.getEmail() : "").append("\n");
-        sb.append("📱 ").append(resume.getPhone() != null ? resume.getPhone() : "").append("\n");
-        sb.append("📍 ").append(resume.getAddress() != null ? resume.getAddress() : "").append("\n\n");
-        
-        sb.append("🎓 EDUCATION\n");
-        sb.append("   • ").append(resume.getDegree() != null ? resume.getDegree() : "").append(" from ");
-        sb.append(resume.getInstitution() != null ? resume.getInstitution() : "").append(" (").append(resume.getYear() != null ? resume.getYear() : "").append(")\n\n");
-        
-        sb.append("💼 EXPERIENCE\n");
-        sb.append("   • ").append(resume.getJobTitle() != null ? resume.getJobTitle() : "").append(" @ ");
-        sb.append(resume.getCompany() != null ? resume.getCompany() : "").append(" (").append(resume.getDuration() != null ? resume.getDuration() : "").append(")\n");
-        sb.append("     ").append(resume.getDescription() != null ? resume.getDescription() : "").append("\n\n");
-        
-        sb.append("🛠️  SKILLS\n");
-        sb.append("   ").append(resume.getSkills() != null ? resume.getSkills() : "").append("\n");
-        
-        return sb.toString();
+    /**
+     * The compiled plan for a template; each template is loaded and compiled once
+     */
+    public static ResumeTemplate getTemplate(String templateName) {
+        String name = templateName != null ? templateName : "";
+        ResumeTemplate template = COMPILED.get(name);
+        if (template == null) {
+            // Names are case-insensitive; cache the spelling used so the next lookup is a plain get
+            String key = name.trim().toLowerCase(Locale.ROOT);
+            template = COMPILED.computeIfAbsent(key, TemplateManager::loadTemplate);
+            COMPILED.putIfAbsent(name, template);
+        }
+        return template;
     }
     
-    private static String formatProfessional(Resume resume) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("RESUME\n");
-        sb.append("═══════════════════════════════════════════\n\n");
-        
-        sb.append(resume.getName() != null ? resume.getName().toUpperCase() : "").append("\n");
-        sb.append(resume.getEmail() != null ? resume.getEmail() : "").append(" | ");
-        sb.append(resume.getPhone() != null ? resume.getPhone() : "").append(" | ");
-        sb.append(resume.getAddress() != null ? resume.getAddress() : "").append("\n\n");
-        
-        sb.append("EDUCATION\n");
-        sb.append("─────────────────────────────────────────\n");
-        sb.append(resume.getInstitution() != null ? resume.getInstitution() : "").append("\n");
-        sb.append(resume.getDegree() != null ? resume.getDegree() : "").append(", ");
-        sb.append(resume.getYear() != null ? resume.getYear() : "").append("\n\n");
-        
-        sb.append("PROFESSIONAL EXPERIENCE\n");
-        sb.append("─────────────────────────────────────────\n");
-        sb.append(resume.getJobTitle() != null ? resume.getJobTitle() : "").append("\n");
-        sb.append(resume.getCompany() != null ? resume.getCompany() : "").append(" | ");
-        sb.append(resume.getDuration() != null ? resume.getDuration() : "").append("\n");
-        sb.append(resume.getDescription() != null ? resume.getDescription() : "").append("\n\n");
-        
-        sb.append("CORE COMPETENCIES\n");
-        sb.append("─────────────────────────────────────────\n");
-        sb.append(resume.getSkills() != null ? resume.getSkills() : "").append("\n");
-        
-        return sb.toString();
+    /**
+     * Forget compiled templates so edited template files are picked up
+     */
+    public static void reloadTemplates() {
+        COMPILED.clear();
+    }
+    
+    private static ResumeTemplate loadTemplate(String key) {
+        String fileName = key + TEMPLATE_EXTENSION;
+        if (!key.isEmpty() && FileStorage.fileExists(fileName, TEMPLATE_DIRECTORY)) {
+            String source = FileStorage.readTextFile(fileName, TEMPLATE_DIRECTORY);
+            if (source != null) {
+                try {
+                    return ResumeTemplate.compile(key, source);
+                } catch (IllegalArgumentException e) {
+                    logger.warning(e.getMessage() + " - using the built-in template instead");
+                }
+            }
+        }
+        String source = BUILT_IN_TEMPLATES.get(key);
+        if (source == null) {
+            source = BUILT_IN_TEMPLATES.get("modern");
+        }
+        return ResumeTemplate.compile(key, source);
     }
     
     /**
@@ -171,6 +351,14 @@ public class TemplateManager {
         for (TemplateType type : TemplateType.values()) {
             templates.add(type.name());
         }
+        for (String file : FileStorage.listFiles(TEMPLATE_DIRECTORY)) {
+            if (file.endsWith(TEMPLATE_EXTENSION)) {
+                String name = file.substring(0, file.length() - TEMPLATE_EXTENSION.length()).toUpperCase(Locale.ROOT);
+                if (!templates.contains(name)) {
+                    templates.add(name);
+                }
+            }
+        }
         return templates;
     }
 }
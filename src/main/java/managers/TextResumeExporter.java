@@ -0,0 +1,152 @@
+package managers;
+
+import models.Resume;
+import utils.FileStorage;
+import utils.Utf8ChannelWriter;
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Writes the saved_resumes/*.txt mirror of each saved resume.
+ * The output directory is resolved once, files are written atomically
+ * (temp file + rename) and unchanged content is not rewritten.
+ */
+public class TextResumeExporter implements ResumeExporter {
+    private static final Logger logger = Logger.getLogger(TextResumeExporter.class.getName());
+    private static final DateTimeFormatter GENERATED_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private volatile File outputDirectory;
+    // Content hash last written to each file
+    private final Map<String, String> writtenHashes = new ConcurrentHashMap<>();
+
+    public TextResumeExporter() {
+    }
+
+    /**
+     * Use a fixed output directory instead of searching for the project folder
+     */
+    public TextResumeExporter(File outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    @Override
+    public String getName() {
+        return "saved_resumes text mirror";
+    }
+
+    @Override
+    public void export(Resume resume) throws IOException {
+        if (resume == null) {
+            return;
+        }
+
+        File savedResumesDir = getOutputDirectory();
+
+        // Create safe filename
+        String safeName = (resume.getName() != null && !resume.getName().trim().isEmpty())
+            ? resume.getName().replaceAll("[^a-zA-Z0-9]", "_").toLowerCase()
+            : "resume";
+        String dateStr = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+        String fileName = safeName + "_resume_" + dateStr + ".txt";
+        Path target = savedResumesDir.toPath().resolve(fileName);
+
+        String hash = resume.getContentHash();
+        if (hash.equals(writtenHashes.get(fileName)) && Files.exists(target)) {
+            return; // Same content already on disk
+        }
+
+        FileStorage.writeAtomically(target, temp -> {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 Utf8ChannelWriter writer = new Utf8ChannelWriter(channel)) {
+                writeResume(writer, resume);
+            }
+        });
+
+        writtenHashes.put(fileName, hash);
+        logger.info("Resume saved to file: " + target.toAbsolutePath());
+    }
+
+    /**
+     * Resolve the saved_resumes directory (searched once, then cached)
+     */
+    public File getOutputDirectory() {
+        File dir = outputDirectory;
+        if (dir == null) {
+            synchronized (this) {
+                if (outputDirectory == null) {
+                    outputDirectory = new File(findProjectDirectory(), "saved_resumes");
+                    logger.info("Resume text mirror directory: " + outputDirectory.getAbsolutePath());
+                }
+                dir = outputDirectory;
+            }
+        }
+        if (!dir.exists()) {
+            boolean created = dir.mkdirs();
+            if (created) {
+                logger.info("Created saved_resumes directory: " + dir.getAbsolutePath());
+            } else {
+                logger.warning("Could not create saved_resumes directory");
+            }
+        }
+        return dir;
+    }
+
+    /**
+     * Find the project root the same way the app always has
+     */
+    private static String findProjectDirectory() {
+        // Method 1: Check if current directory is the project (exact match or contains "AmrEmadResumeBuilder")
+        File currentDir = new File(System.getProperty("user.dir"));
+        if (currentDir.getName().contains("AmrEmadResumeBuilder")) {
+            return currentDir.getAbsolutePath();
+        }
+
+        // Method 2: Look for saved_resumes folder in current or parent directories
+        File searchDir = currentDir;
+        for (int i = 0; i < 5 && searchDir != null; i++) {
+            if (new File(searchDir, "saved_resumes").exists() || searchDir.getName().contains("AmrEmadResumeBuilder")) {
+                return searchDir.getAbsolutePath();
+            }
+            searchDir = searchDir.getParentFile();
+        }
+
+        // Method 3: If still not found, try Desktop path
+        String userHome = System.getProperty("user.home");
+        File desktopProject = new File(userHome, "Desktop/AmrEmadResumeBuilder 3");
+        if (desktopProject.exists()) {
+            return desktopProject.getAbsolutePath();
+        }
+
+        // Method 4: Try to find any folder containing "AmrEmadResumeBuilder" on Desktop
+        File desktop = new File(userHome, "Desktop");
+        File[] desktopFiles = desktop.isDirectory() ? desktop.listFiles() : null;
+        if (desktopFiles != null) {
+            for (File file : desktopFiles) {
+                if (file.isDirectory() && file.getName().contains("AmrEmadResumeBuilder")) {
+                    return file.getAbsolutePath();
+                }
+            }
+        }
+
+        // Fallback: Use current directory
+        return currentDir.getAbsolutePath();
+    }
+
+    /**
+     * Format resume as text: the saved-text template plus a generation stamp
+     */
+    private static void writeResume(Writer writer, Resume resume) throws IOException {
+        TemplateManager.getTemplate(TemplateManager.SAVED_TEXT_TEMPLATE).render(resume, writer);
+        writer.append("Generated: ")
+            .append(LocalDateTime.now().format(GENERATED_FORMAT))
+            .append('\n')
+            .append("═══════════════════════════════════════════════════════════\n");
+    }
+}
@@ -49,6 +49,15 @@ public class ThemeSettingsManager {
         return currentSettings;
     }
     
+    /**
+     * Get a specific user's saved settings without touching the session cache
+     * (used by headless batch export). Falls back to the selected theme's defaults.
+     */
+    public static CVThemeSettings getSettings(int userId) {
+        CVThemeSettings settings = loadSettings(SETTINGS_PREF_KEY_PREFIX + userId);
+        return settings != null ? settings : new CVThemeSettings(ThemeManager.getSelectedTheme());
+    }
+    
     /**
      * Save theme settings
      */
@@ -76,8 +85,11 @@ public class ThemeSettingsManager {
      * Load theme settings
      */
     private static CVThemeSettings loadSettings() {
+        return loadSettings(getSettingsKey());
+    }
+    
+    private static CVThemeSettings loadSettings(String key) {
         try {
-            String key = getSettingsKey();
             String encoded = prefs.get(key, null);
             if (encoded != null && !encoded.isEmpty()) {
                 byte[] data = Base64.getDecoder().decode(encoded);
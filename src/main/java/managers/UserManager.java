@@ -5,6 +5,8 @@ import utils.DatabaseManager;
 import utils.EncryptionUtils;
 import utils.ValidationUtils;
 import java.sql.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -15,56 +17,96 @@ import java.util.logging.Logger;
 public class UserManager {
     private static final Logger logger = Logger.getLogger(UserManager.class.getName());
     
+    private static final ExecutorService rehashExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "password-rehash");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
     static {
         DatabaseManager.initializeDatabase();
     }
     
+    /**
+     * Outcome of a registration attempt
+     */
+    public enum RegistrationResult {
+        SUCCESS,
+        INVALID_INPUT,
+        DUPLICATE_USERNAME,
+        DUPLICATE_EMAIL,
+        ERROR
+    }
+    
     /**
      * Register a new user
      * @return true if successful, false if email/username already exists or validation fails
      */
     public static boolean registerUser(String username, String email, String password, String fullName) {
+        return register(username, email, password, fullName) == RegistrationResult.SUCCESS;
+    }
+    
+    /**
+     * Register a new user with a single INSERT. Duplicates are detected by the
+     * UNIQUE constraints on users.username / users.email, not by pre-checks.
+     */
+    public static RegistrationResult register(String username, String email, String password, String fullName) {
         if (!ValidationUtils.isValidUsername(username) || 
             !ValidationUtils.isValidEmail(email) ||
             !ValidationUtils.isValidPassword(password)) {
-            return false;
+            return RegistrationResult.INVALID_INPUT;
         }
         
-        // Check if username or email already exists BEFORE trying to insert
-        if (usernameExists(username)) {
-            logger.log(Level.INFO, "Registration failed: Username already exists: " + username);
-            return false;
-        }
-        
-        if (emailExists(email)) {
-            logger.log(Level.INFO, "Registration failed: Email already exists: " + email);
-            return false;
-        }
+        // Hash before borrowing the writer connection; this is the slow part
+        String hashedPassword = EncryptionUtils.hashPassword(password);
         
         try (Connection conn = DatabaseManager.getConnection()) {
-            String hashedPassword = EncryptionUtils.hashPassword(password);
             String sql = "INSERT INTO users (username, email, password, full_name) VALUES (?, ?, ?, ?)";
             
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setString(1, username);
-                pstmt.setString(2, email);
-                pstmt.setString(3, hashedPassword);
-                pstmt.setString(4, fullName);
-                pstmt.executeUpdate();
-                logger.info("User registered successfully: " + username);
-                return true;
-            }
+            PreparedStatement pstmt = DatabaseManager.prepareCached(conn, sql);
+            pstmt.setString(1, username);
+            pstmt.setString(2, email);
+            pstmt.setString(3, hashedPassword);
+            pstmt.setString(4, fullName);
+            pstmt.executeUpdate();
+            logger.info("User registered successfully: " + username);
+            return RegistrationResult.SUCCESS;
         } catch (SQLException e) {
+            RegistrationResult duplicate = classifyConstraintViolation(e);
+            if (duplicate != null) {
+                logger.log(Level.INFO, "Registration failed: " + duplicate + " for " + username);
+                return duplicate;
+            }
             logger.log(Level.WARNING, "Error registering user: " + e.getMessage(), e);
-            return false;
+            return RegistrationResult.ERROR;
+        }
+    }
+    
+    /**
+     * Map a SQLite UNIQUE constraint failure on users to a duplicate result
+     * (message format: "UNIQUE constraint failed: users.username")
+     */
+    static RegistrationResult classifyConstraintViolation(SQLException e) {
+        String message = e.getMessage();
+        if (message == null || !message.contains("UNIQUE constraint failed")) {
+            return null;
+        }
+        if (message.contains("users.username")) {
+            return RegistrationResult.DUPLICATE_USERNAME;
+        }
+        if (message.contains("users.email")) {
+            return RegistrationResult.DUPLICATE_EMAIL;
         }
+        return null;
     }
     
     /**
      * Authenticate user login
      */
     public static User login(String username, String password) {
-        try (Connection conn = DatabaseManager.getConnection()) {
+        try (Connection conn = DatabaseManager.getReadConnection()) {
+            // Exact match, served by the UNIQUE indexes on username and email (multi-index OR).
+            // One user's username may be another's email, so check each candidate.
             String sql = "SELECT * FROM users WHERE username = ? OR email = ?";
             
             try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -72,9 +114,12 @@ public class UserManager {
                 pstmt.setString(2, username);
                 
                 try (ResultSet rs = pstmt.executeQuery()) {
-                    if (rs.next()) {
+                    while (rs.next()) {
                         String storedHash = rs.getString("password");
                         if (EncryptionUtils.verifyPassword(password, storedHash)) {
+                            if (EncryptionUtils.needsRehash(storedHash)) {
+                                scheduleRehash(rs.getInt("id"), password, storedHash);
+                            }
                             return new User(
                                 rs.getInt("id"),
                                 rs.getString("username"),
@@ -92,11 +137,34 @@ public class UserManager {
         return null;
     }
     
+    /**
+     * Upgrade a legacy or weaker password hash in the background after a successful login,
+     * so the login itself does not pay for the extra hash
+     */
+    private static void scheduleRehash(int userId, String password, String oldHash) {
+        rehashExecutor.execute(() -> {
+            String newHash = EncryptionUtils.hashPassword(password);
+            // Only replace the hash we verified, in case the password changed meanwhile
+            String sql = "UPDATE users SET password = ? WHERE id = ? AND password = ?";
+            try (Connection conn = DatabaseManager.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, newHash);
+                pstmt.setInt(2, userId);
+                pstmt.setString(3, oldHash);
+                if (pstmt.executeUpdate() > 0) {
+                    logger.info("Upgraded password hash for user " + userId);
+                }
+            } catch (SQLException e) {
+                logger.log(Level.WARNING, "Error upgrading password hash: " + e.getMessage(), e);
+            }
+        });
+    }
+    
     /**
      * Get user by ID
      */
     public static User getUserById(int userId) {
-        try (Connection conn = DatabaseManager.getConnection()) {
+        try (Connection conn = DatabaseManager.getReadConnection()) {
             String sql = "SELECT * FROM users WHERE id = ?";
             
             try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -120,50 +188,6 @@ public class UserManager {
         return null;
     }
     
-    /**
-     * Check if username exists
-     */
-    public static boolean usernameExists(String username) {
-        try (Connection conn = DatabaseManager.getConnection()) {
-            String sql = "SELECT COUNT(*) FROM users WHERE username = ?";
-            
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setString(1, username);
-                
-                try (ResultSet rs = pstmt.executeQuery()) {
-                    if (rs.next()) {
-                        return rs.getInt(1) > 0;
-                    }
-                }
-            }
-        } catch (SQLException e) {
-            logger.log(Level.WARNING, "Error checking username: " + e.getMessage(), e);
-        }
-        return false;
-    }
-    
-    /**
-     * Check if email exists
-     */
-    public static boolean emailExists(String email) {
-        try (Connection conn = DatabaseManager.getConnection()) {
-            String sql = "SELECT COUNT(*) FROM users WHERE email = ?";
-            
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setString(1, email);
-                
-                try (ResultSet rs = pstmt.executeQuery()) {
-                    if (rs.next()) {
-                        return rs.getInt(1) > 0;
-                    }
-                }
-            }
-        } catch (SQLException e) {
-            logger.log(Level.WARNING, "Error checking email: " + e.getMessage(), e);
-        }
-        return false;
-    }
-    
     /**
      * Reset password for a user by email
      * @param email User's email address
@@ -177,25 +201,21 @@ public class UserManager {
             return false;
         }
         
-        // Check if email exists
-        if (!emailExists(email)) {
-            logger.log(Level.INFO, "Password reset failed: Email does not exist: " + email);
-            return false;
-        }
-        
+        String hashedPassword = EncryptionUtils.hashPassword(newPassword);
         try (Connection conn = DatabaseManager.getConnection()) {
-            String hashedPassword = EncryptionUtils.hashPassword(newPassword);
             String sql = "UPDATE users SET password = ? WHERE email = ?";
             
             try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
                 pstmt.setString(1, hashedPassword);
                 pstmt.setString(2, email);
                 
+                // No row updated means the email does not exist
                 int rowsAffected = pstmt.executeUpdate();
                 if (rowsAffected > 0) {
                     logger.info("Password reset successfully for email: " + email);
                     return true;
                 }
+                logger.log(Level.INFO, "Password reset failed: Email does not exist: " + email);
             }
         } catch (SQLException e) {
             logger.log(Level.WARNING, "Error resetting password: " + e.getMessage(), e);
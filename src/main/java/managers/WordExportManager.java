@@ -1,44 +1,205 @@
 package managers;
 
+import models.CVThemeSettings;
 import models.Resume;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import utils.FileStorage;
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
- * Word Export Manager - Exports resume to Word format with text content
+ * Word Export Manager - Exports resume to Word (.docx) styled by the CV theme,
+ * or to plain text
  */
 public class WordExportManager {
     
+    public static void exportToWord(Resume resume) {
+        exportToWord(resume, "exported_resume.docx");
+    }
+    
     /**
-     * Helper method to repeat a string (Java 8 compatible)
+     * Export with the current theme. A .txt path gets the plain text layout;
+     * anything else is written as .docx.
      */
-    private static String repeat(String str, int count) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < count; i++) {
-            sb.append(str);
+    public static boolean exportToWord(Resume resume, String filePath) {
+        if (filePath.toLowerCase().endsWith(".txt")) {
+            return exportToWordAsText(resume, filePath);
         }
-        return sb.toString();
+        return exportToDocx(resume, ThemeSettingsManager.getSettings(), docxPath(filePath));
     }
     
-    public static void exportToWord(Resume resume) {
-        exportToWord(resume, "exported_resume.txt");
+    /**
+     * Write a themed .docx; .doc or a missing extension is replaced with .docx
+     */
+    public static boolean exportToDocx(Resume resume, CVThemeSettings settings, String filePath) {
+        File file = new File(docxPath(filePath));
+        System.out.println("=== Starting Word Export ===");
+        System.out.println("Target file: " + file.getAbsolutePath());
+        try {
+            writeDocx(resume, DocxStyleTemplate.forTheme(settings), file);
+            System.out.println("=== SUCCESS ===");
+            System.out.println("Size: " + file.length() + " bytes");
+            return true;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error creating Word document: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
     }
     
-    public static boolean exportToWord(Resume resume, String filePath) {
-        // Save as .txt file (can be opened in Word)
-        if (!filePath.toLowerCase().endsWith(".txt")) {
-            if (filePath.endsWith(".docx") || filePath.endsWith(".doc")) {
-                filePath = filePath.substring(0, filePath.lastIndexOf('.')) + ".txt";
-            } else {
-                filePath = filePath + ".txt";
+    /**
+     * Write a themed .docx to a stream (the stream is not closed)
+     */
+    public static void writeDocx(Resume resume, CVThemeSettings settings, OutputStream out) throws IOException {
+        writeDocx(resume, DocxStyleTemplate.forTheme(settings), out);
+    }
+    
+    /**
+     * Export many users' resumes with one theme as resume_&lt;userId&gt;.docx,
+     * named like the batch PDF export. The style template is compiled once and
+     * shared by every document. Failed documents are logged and skipped; the
+     * written files are returned.
+     */
+    public static List<File> exportToWordBatch(Map<Integer, Resume> resumesByUser, CVThemeSettings settings,
+                                               File outputDirectory) {
+        if (!outputDirectory.isDirectory() && !outputDirectory.mkdirs()) {
+            System.err.println("Cannot create output directory: " + outputDirectory);
+            return new ArrayList<>();
+        }
+        DocxStyleTemplate template = DocxStyleTemplate.forTheme(settings);
+        List<File> written = new ArrayList<>(resumesByUser.size());
+        long start = System.currentTimeMillis();
+        for (Map.Entry<Integer, Resume> entry : resumesByUser.entrySet()) {
+            File file = new File(outputDirectory, "resume_" + entry.getKey() + ".docx");
+            try {
+                writeDocx(entry.getValue(), template, file);
+                written.add(file);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Error creating " + file.getName() + ": " + e.getMessage());
+            }
+        }
+        System.out.println("Word batch: " + written.size() + "/" + resumesByUser.size() + " documents in "
+            + (System.currentTimeMillis() - start) + " ms");
+        return written;
+    }
+    
+    /**
+     * Stream the document to a temporary file beside the target, then move it
+     * into place so a failed export never leaves a truncated .docx behind
+     */
+    private static void writeDocx(Resume resume, DocxStyleTemplate template, File file) throws IOException {
+        FileStorage.writeAtomically(file.toPath(), temp -> {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                writeDocx(resume, template, out);
+            }
+        });
+    }
+    
+    private static void writeDocx(Resume resume, DocxStyleTemplate template, OutputStream out) throws IOException {
+        try (XWPFDocument document = new XWPFDocument()) {
+            template.applyTo(document);
+            document.getProperties().getCoreProperties().setCreator("Resume Builder");
+            
+            if (resume == null) {
+                paragraph(document, DocxStyleTemplate.DETAIL, "No resume found. Please create one first.");
+                document.write(out);
+                return;
+            }
+            
+            String name = resume.getName() != null ? resume.getName() : "Your Name";
+            document.getProperties().getCoreProperties().setTitle(name + " - Resume");
+            paragraph(document, DocxStyleTemplate.NAME, name.toUpperCase());
+            
+            List<String> contacts = new ArrayList<>();
+            addIfPresent(contacts, resume.getEmail());
+            addIfPresent(contacts, resume.getPhone());
+            addIfPresent(contacts, resume.getAddress());
+            paragraph(document, DocxStyleTemplate.CONTACT, String.join("    ", contacts));
+            
+            if (notEmpty(resume.getInstitution()) || notEmpty(resume.getDegree())) {
+                paragraph(document, DocxStyleTemplate.SECTION_PRIMARY, "EDUCATION");
+                paragraph(document, DocxStyleTemplate.ENTRY_TITLE, resume.getDegree());
+                paragraph(document, DocxStyleTemplate.BODY, resume.getInstitution());
+                paragraph(document, DocxStyleTemplate.DETAIL, resume.getYear());
             }
+            
+            if (notEmpty(resume.getJobTitle()) || notEmpty(resume.getCompany())) {
+                paragraph(document, DocxStyleTemplate.SECTION_SECONDARY, "PROFESSIONAL EXPERIENCE");
+                if (notEmpty(resume.getDuration())) {
+                    // Job title with the duration beside it
+                    XWPFParagraph title = document.createParagraph();
+                    title.setStyle(DocxStyleTemplate.ENTRY_TITLE);
+                    title.createRun().setText(resume.getJobTitle() != null ? resume.getJobTitle() : "");
+                    XWPFRun duration = title.createRun();
+                    duration.setStyle(DocxStyleTemplate.META);
+                    duration.setText("  (" + resume.getDuration() + ")");
+                } else {
+                    paragraph(document, DocxStyleTemplate.ENTRY_TITLE, resume.getJobTitle());
+                }
+                paragraph(document, DocxStyleTemplate.BODY, resume.getCompany());
+                paragraph(document, DocxStyleTemplate.DETAIL, resume.getDescription());
+            }
+            
+            if (notEmpty(resume.getSkills())) {
+                paragraph(document, DocxStyleTemplate.SECTION_TERTIARY, "SKILLS");
+                List<String> skills = new ArrayList<>();
+                for (String skill : resume.getSkills().split(",")) {
+                    addIfPresent(skills, skill.trim());
+                }
+                paragraph(document, DocxStyleTemplate.BODY, String.join("  •  ", skills));
+            }
+            
+            document.write(out);
         }
-        
-        System.out.println("=== Starting Word Export (as Text) ===");
-        System.out.println("Target file: " + filePath);
-        
-        // Export as text file
-        return exportToWordAsText(resume, filePath);
     }
+    
+    /**
+     * Add a styled paragraph; line breaks in the text are kept, empty text adds nothing
+     */
+    private static void paragraph(XWPFDocument document, String style, String text) {
+        if (!notEmpty(text)) {
+            return;
+        }
+        XWPFParagraph paragraph = document.createParagraph();
+        paragraph.setStyle(style);
+        String[] lines = text.split("\\r?\\n");
+        XWPFRun run = paragraph.createRun();
+        for (int i = 0; i < lines.length; i++) {
+            if (i > 0) {
+                run.addBreak();
+            }
+            run.setText(lines[i]);
+        }
+    }
+    
+    private static void addIfPresent(List<String> values, String value) {
+        if (notEmpty(value)) {
+            values.add(value);
+        }
+    }
+    
+    private static boolean notEmpty(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+    
+    private static String docxPath(String filePath) {
+        String lower = filePath.toLowerCase();
+        if (lower.endsWith(".docx")) {
+            return filePath;
+        }
+        if (lower.endsWith(".doc")) {
+            return filePath.substring(0, filePath.length() - 4) + ".docx";
+        }
+        return filePath + ".docx";
+    }
+    
     /**
      * Export as plain text (can be opened in Word)
      */
@@ -48,13 +209,7 @@ public class WordExportManager {
             
             // Ensure .txt extension
             if (!filePath.toLowerCase().endsWith(".txt")) {
-                if (filePath.endsWith(".docx")) {
-                    filePath = filePath.substring(0, filePath.length() - 5) + ".txt";
-                } else if (filePath.endsWith(".doc")) {
-                    filePath = filePath.substring(0, filePath.length() - 4) + ".txt";
-                } else {
-                    filePath = filePath + ".txt";
-                }
+                filePath = filePath + ".txt";
             }
             
             // Create parent directories
@@ -65,70 +220,9 @@ public class WordExportManager {
             }
             
             // Write resume as formatted text
-            try (PrintWriter writer = new PrintWriter(new FileWriter(filePath, false))) {
-                writer.println(repeat("=", 60));
-                writer.println("                    RESUME");
-                writer.println(repeat("=", 60));
-                writer.println();
-                
-                if (resume.getName() != null && !resume.getName().isEmpty()) {
-                    writer.println("NAME: " + resume.getName().toUpperCase());
-                    writer.println();
-                }
-                
-                writer.println("CONTACT INFORMATION:");
-                writer.println(repeat("-", 60));
-                if (resume.getEmail() != null && !resume.getEmail().isEmpty()) {
-                    writer.println("Email: " + resume.getEmail());
-                }
-                if (resume.getPhone() != null && !resume.getPhone().isEmpty()) {
-                    writer.println("Phone: " + resume.getPhone());
-                }
-                if (resume.getAddress() != null && !resume.getAddress().isEmpty()) {
-                    writer.println("Address: " + resume.getAddress());
-                }
-                writer.println();
-                
-                if (resume.getDegree() != null && !resume.getDegree().isEmpty()) {
-                    writer.println("EDUCATION:");
-                    writer.println(repeat("-", 60));
-                    writer.println("Degree: " + resume.getDegree());
-                    if (resume.getInstitution() != null && !resume.getInstitution().isEmpty()) {
-                        writer.println("Institution: " + resume.getInstitution());
-                    }
-                    if (resume.getYear() != null && !resume.getYear().isEmpty()) {
-                        writer.println("Year: " + resume.getYear());
-                    }
-                    writer.println();
-                }
-                
-                if (resume.getJobTitle() != null && !resume.getJobTitle().isEmpty()) {
-                    writer.println("PROFESSIONAL EXPERIENCE:");
-                    writer.println(repeat("-", 60));
-                    writer.println("Job Title: " + resume.getJobTitle());
-                    if (resume.getCompany() != null && !resume.getCompany().isEmpty()) {
-                        writer.println("Company: " + resume.getCompany());
-                    }
-                    if (resume.getDuration() != null && !resume.getDuration().isEmpty()) {
-                        writer.println("Duration: " + resume.getDuration());
-                    }
-                    if (resume.getDescription() != null && !resume.getDescription().isEmpty()) {
-                        writer.println("Description: " + resume.getDescription());
-                    }
-                    writer.println();
-                }
-                
-                if (resume.getSkills() != null && !resume.getSkills().isEmpty()) {
-                    writer.println("SKILLS:");
-                    writer.println(repeat("-", 60));
-                    String[] skills = resume.getSkills().split(",");
-                    for (String skill : skills) {
-                        writer.println("• " + skill.trim());
-                    }
-                }
-                
-                writer.println();
-                writer.println(repeat("=", 60));
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                TemplateManager.getTemplate(TemplateManager.WORD_TEXT_TEMPLATE).render(resume, channel);
             }
             
             // Verify file
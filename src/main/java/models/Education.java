@@ -1,10 +1,12 @@
 package models;
 
+import java.util.Objects;
+
 /**
  * Education model class for managing education entries
  * @author habib
  */
-public class Education {
+public class Education implements ResumeEntry<Education> {
     private int id;
     private int resumeId;
     private String institution;
@@ -23,6 +25,31 @@ public class Education {
         this.graduationYear = graduationYear;
     }
     
+    /**
+     * Copy constructor
+     */
+    public Education(Education other) {
+        this.id = other.id;
+        this.resumeId = other.resumeId;
+        this.institution = other.institution;
+        this.degree = other.degree;
+        this.fieldOfStudy = other.fieldOfStudy;
+        this.graduationYear = other.graduationYear;
+        this.gpa = other.gpa;
+        this.description = other.description;
+    }
+    
+    @Override
+    public boolean sameContent(Education other) {
+        return other != null &&
+               Objects.equals(institution, other.institution) &&
+               Objects.equals(degree, other.degree) &&
+               Objects.equals(fieldOfStudy, other.fieldOfStudy) &&
+               Objects.equals(graduationYear, other.graduationYear) &&
+               Objects.equals(gpa, other.gpa) &&
+               Objects.equals(description, other.description);
+    }
+    
     // Getters and Setters
     public int getId() { return id; }
     public void setId(int id) { this.id = id; }
@@ -1,10 +1,12 @@
 package models;
 
+import java.util.Objects;
+
 /**
  * Experience model class for managing work experience entries
  * @author habib
  */
-public class Experience {
+public class Experience implements ResumeEntry<Experience> {
     private int id;
     private int resumeId;
     private String jobTitle;
@@ -26,6 +28,33 @@ public class Experience {
         this.description = description;
     }
     
+    /**
+     * Copy constructor
+     */
+    public Experience(Experience other) {
+        this.id = other.id;
+        this.resumeId = other.resumeId;
+        this.jobTitle = other.jobTitle;
+        this.company = other.company;
+        this.location = other.location;
+        this.startDate = other.startDate;
+        this.endDate = other.endDate;
+        this.isCurrentJob = other.isCurrentJob;
+        this.description = other.description;
+    }
+    
+    @Override
+    public boolean sameContent(Experience other) {
+        return other != null &&
+               Objects.equals(jobTitle, other.jobTitle) &&
+               Objects.equals(company, other.company) &&
+               Objects.equals(location, other.location) &&
+               Objects.equals(startDate, other.startDate) &&
+               Objects.equals(endDate, other.endDate) &&
+               isCurrentJob == other.isCurrentJob &&
+               Objects.equals(description, other.description);
+    }
+    
     // Getters and Setters
     public int getId() { return id; }
     public void setId(int id) { this.id = id; }
@@ -1,87 +1,296 @@
-package models;
-
-public class Resume {
-
-    private String name;
-    private String email;
-    private String phone;
-    private String address;
-
-    private String institution;
-    private String degree;
-    private String year;
-
-    private String jobTitle;
-    private String company;
-    private String duration;
-    private String description;
-
-    private String skills;
-
-    // ============================
-    // EMPTY CONSTRUCTOR (REQUIRED)
-    // ============================
-    public Resume() {
-    }
-
-    // ============================
-    // FULL CONSTRUCTOR (OPTIONAL)
-    // ============================
-    public Resume(String name, String email, String phone, String address,
-                  String institution, String degree, String year,
-                  String jobTitle, String company, String duration,
-                  String description, String skills) {
-
-        this.name = name;
-        this.email = email;
-        this.phone = phone;
-        this.address = address;
-        this.institution = institution;
-        this.degree = degree;
-        this.year = year;
-        this.jobTitle = jobTitle;
-        this.company = company;
-        this.duration = duration;
-        this.description = description;
-        this.skills = skills;
-    }
-
-    // ============================
-    // GETTERS & SETTERS
-    // ============================
-    public String getName() { return name; }
-    public void setName(String name) { this.name = name; }
-
-    public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
-
-    public String getPhone() { return phone; }
-    public void setPhone(String phone) { this.phone = phone; }
-
-    public String getAddress() { return address; }
-    public void setAddress(String address) { this.address = address; }
-
-    public String getInstitution() { return institution; }
-    public void setInstitution(String institution) { this.institution = institution; }
-
-    public String getDegree() { return degree; }
-    public void setDegree(String degree) { this.degree = degree; }
-
-    public String getYear() { return year; }
-    public void setYear(String year) { this.year = year; }
-
-    public String getJobTitle() { return jobTitle; }
-    public void setJobTitle(String jobTitle) { this.jobTitle = jobTitle; }
-
-    public String getCompany() { return company; }
-    public void setCompany(String company) { this.company = company; }
-
-    public String getDuration() { return duration; }
-    public void setDuration(String duration) { this.duration = duration; }
-
-    public String getDescription() { return description; }
-    public void setDescription(String description) { this.description = description; }
-
-    public String getSkills() { return skills; }
-    public void setSkills(String skills) { this.skills = skills; }
-}
+package models;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+public class Resume {
+
+    // ============================
+    // FIELD BITS (for change detection)
+    // ============================
+    public static final int FIELD_NAME = 1;
+    public static final int FIELD_EMAIL = 1 << 1;
+    public static final int FIELD_PHONE = 1 << 2;
+    public static final int FIELD_ADDRESS = 1 << 3;
+    public static final int FIELD_INSTITUTION = 1 << 4;
+    public static final int FIELD_DEGREE = 1 << 5;
+    public static final int FIELD_YEAR = 1 << 6;
+    public static final int FIELD_JOB_TITLE = 1 << 7;
+    public static final int FIELD_COMPANY = 1 << 8;
+    public static final int FIELD_DURATION = 1 << 9;
+    public static final int FIELD_DESCRIPTION = 1 << 10;
+    public static final int FIELD_SKILLS = 1 << 11;
+    public static final int FIELD_COUNT = 12;           // number of flat column fields
+    public static final int COLUMN_FIELDS = (1 << FIELD_COUNT) - 1;
+    public static final int FIELD_EDUCATION_ENTRIES = 1 << 12;
+    public static final int FIELD_EXPERIENCE_ENTRIES = 1 << 13;
+    public static final int ALL_FIELDS = COLUMN_FIELDS | FIELD_EDUCATION_ENTRIES | FIELD_EXPERIENCE_ENTRIES;
+
+    private String name;
+    private String email;
+    private String phone;
+    private String address;
+
+    private String institution;
+    private String degree;
+    private String year;
+
+    private String jobTitle;
+    private String company;
+    private String duration;
+    private String description;
+
+    private String skills;
+
+    // Additional entries stored in the education / experience tables
+    private List<Education> educationEntries = new ArrayList<>();
+    private List<Experience> experienceEntries = new ArrayList<>();
+
+    // Cached getContentHash(), reset by setters on every effective change
+    private String contentHash = null;
+
+    // ============================
+    // EMPTY CONSTRUCTOR (REQUIRED)
+    // ============================
+    public Resume() {
+    }
+
+    // ============================
+    // FULL CONSTRUCTOR (OPTIONAL)
+    // ============================
+    public Resume(String name, String email, String phone, String address,
+                  String institution, String degree, String year,
+                  String jobTitle, String company, String duration,
+                  String description, String skills) {
+
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+        this.address = address;
+        this.institution = institution;
+        this.degree = degree;
+        this.year = year;
+        this.jobTitle = jobTitle;
+        this.company = company;
+        this.duration = duration;
+        this.description = description;
+        this.skills = skills;
+    }
+
+    // ============================
+    // COPY CONSTRUCTOR (snapshot)
+    // ============================
+    public Resume(Resume other) {
+        this(other.name, other.email, other.phone, other.address,
+             other.institution, other.degree, other.year,
+             other.jobTitle, other.company, other.duration,
+             other.description, other.skills);
+        for (Education education : other.educationEntries) {
+            this.educationEntries.add(new Education(education));
+        }
+        for (Experience experience : other.experienceEntries) {
+            this.experienceEntries.add(new Experience(experience));
+        }
+        this.contentHash = other.contentHash;
+    }
+
+    // ============================
+    // GETTERS & SETTERS
+    // ============================
+    public String getName() { return name; }
+    public void setName(String name) { this.name = track(this.name, name); }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = track(this.email, email); }
+
+    public String getPhone() { return phone; }
+    public void setPhone(String phone) { this.phone = track(this.phone, phone); }
+
+    public String getAddress() { return address; }
+    public void setAddress(String address) { this.address = track(this.address, address); }
+
+    public String getInstitution() { return institution; }
+    public void setInstitution(String institution) { this.institution = track(this.institution, institution); }
+
+    public String getDegree() { return degree; }
+    public void setDegree(String degree) { this.degree = track(this.degree, degree); }
+
+    public String getYear() { return year; }
+    public void setYear(String year) { this.year = track(this.year, year); }
+
+    public String getJobTitle() { return jobTitle; }
+    public void setJobTitle(String jobTitle) { this.jobTitle = track(this.jobTitle, jobTitle); }
+
+    public String getCompany() { return company; }
+    public void setCompany(String company) { this.company = track(this.company, company); }
+
+    public String getDuration() { return duration; }
+    public void setDuration(String duration) { this.duration = track(this.duration, duration); }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = track(this.description, description); }
+
+    public String getSkills() { return skills; }
+    public void setSkills(String skills) { this.skills = track(this.skills, skills); }
+
+    // ============================
+    // EDUCATION / EXPERIENCE ENTRIES
+    // Read-only views; replace or add entries through the methods below
+    // so that changes are tracked.
+    // ============================
+    public List<Education> getEducationEntries() { return Collections.unmodifiableList(educationEntries); }
+    public void setEducationEntries(List<Education> entries) {
+        this.educationEntries = entries != null ? new ArrayList<>(entries) : new ArrayList<>();
+        contentChanged();
+    }
+    public void addEducation(Education education) {
+        educationEntries.add(education);
+        contentChanged();
+    }
+
+    public List<Experience> getExperienceEntries() { return Collections.unmodifiableList(experienceEntries); }
+    public void setExperienceEntries(List<Experience> entries) {
+        this.experienceEntries = entries != null ? new ArrayList<>(entries) : new ArrayList<>();
+        contentChanged();
+    }
+    public void addExperience(Experience experience) {
+        experienceEntries.add(experience);
+        contentChanged();
+    }
+
+    // ============================
+    // CHANGE DETECTION
+    // ============================
+
+    /**
+     * Get a field value by its FIELD_* bit
+     */
+    public String getFieldValue(int field) {
+        switch (field) {
+            case FIELD_NAME: return name;
+            case FIELD_EMAIL: return email;
+            case FIELD_PHONE: return phone;
+            case FIELD_ADDRESS: return address;
+            case FIELD_INSTITUTION: return institution;
+            case FIELD_DEGREE: return degree;
+            case FIELD_YEAR: return year;
+            case FIELD_JOB_TITLE: return jobTitle;
+            case FIELD_COMPANY: return company;
+            case FIELD_DURATION: return duration;
+            case FIELD_DESCRIPTION: return description;
+            case FIELD_SKILLS: return skills;
+            default: throw new IllegalArgumentException("Unknown field: " + field);
+        }
+    }
+
+    /**
+     * Bitmask of fields whose values differ between two resumes
+     */
+    public static int diffFields(Resume a, Resume b) {
+        if (a == null || b == null) {
+            return ALL_FIELDS;
+        }
+        int diff = 0;
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            int field = 1 << i;
+            if (!Objects.equals(a.getFieldValue(field), b.getFieldValue(field))) {
+                diff |= field;
+            }
+        }
+        if (!sameEducation(a.educationEntries, b.educationEntries)) {
+            diff |= FIELD_EDUCATION_ENTRIES;
+        }
+        if (!sameExperience(a.experienceEntries, b.experienceEntries)) {
+            diff |= FIELD_EXPERIENCE_ENTRIES;
+        }
+        return diff;
+    }
+
+    /**
+     * Stable SHA-256 hash of the resume content (hex), recomputed only after changes.
+     * Entries edited in place are not seen; replace them via the setters instead.
+     */
+    public String getContentHash() {
+        if (contentHash == null) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                for (int i = 0; i < FIELD_COUNT; i++) {
+                    String value = getFieldValue(1 << i);
+                    if (value == null) {
+                        digest.update((byte) 0);
+                    } else {
+                        digest.update((byte) 1);
+                        digest.update(value.getBytes(StandardCharsets.UTF_8));
+                    }
+                    digest.update((byte) 0x1F); // field separator
+                }
+                for (Education e : educationEntries) {
+                    updateDigest(digest, 'E', e.getInstitution(), e.getDegree(), e.getFieldOfStudy(),
+                        e.getGraduationYear(), e.getGpa(), e.getDescription());
+                }
+                for (Experience e : experienceEntries) {
+                    updateDigest(digest, 'X', e.getJobTitle(), e.getCompany(), e.getLocation(),
+                        e.getStartDate(), e.getEndDate(), String.valueOf(e.isCurrentJob()), e.getDescription());
+                }
+                StringBuilder hex = new StringBuilder(64);
+                for (byte b : digest.digest()) {
+                    hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+                }
+                contentHash = hex.toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+        return contentHash;
+    }
+
+    private String track(String oldValue, String newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            contentChanged();
+        }
+        return newValue;
+    }
+
+    private void contentChanged() {
+        contentHash = null;
+    }
+
+    private static void updateDigest(MessageDigest digest, char kind, String... values) {
+        digest.update((byte) kind);
+        for (String value : values) {
+            if (value != null) {
+                digest.update(value.getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) 0x1F);
+        }
+    }
+
+    private static boolean sameEducation(List<Education> a, List<Education> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!a.get(i).sameContent(b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameExperience(List<Experience> a, List<Experience> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!a.get(i).sameContent(b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,17 @@
+package models;
+
+/**
+ * An additional entry of a resume stored in its own table (education, experience)
+ */
+public interface ResumeEntry<T extends ResumeEntry<T>> {
+    int getId();
+    void setId(int id);
+
+    int getResumeId();
+    void setResumeId(int resumeId);
+
+    /**
+     * Compare the user-visible content, ignoring database ids
+     */
+    boolean sameContent(T other);
+}
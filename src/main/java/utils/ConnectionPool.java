@@ -0,0 +1,351 @@
+package utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Small bounded pool of long-lived SQLite connections.
+ * Connections are opened lazily up to the maximum size, validated when
+ * borrowed and handed out as proxies whose close() returns them to the pool.
+ */
+public class ConnectionPool {
+    private static final Logger logger = Logger.getLogger(ConnectionPool.class.getName());
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+    private static final long WAIT_SLICE_MILLIS = 50;
+
+    /**
+     * Opens a new physical connection for the pool
+     */
+    interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final ConnectionFactory factory;
+    private final BlockingQueue<Connection> idle;
+    private final List<Connection> all = new ArrayList<>();
+    private final Map<Connection, Map<String, PreparedStatement>> statementCaches = new ConcurrentHashMap<>();
+    private volatile boolean closed = false;
+
+    // Metrics
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong waitCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong replacedCount = new AtomicLong();
+
+    ConnectionPool(String name, int maxSize, long borrowTimeoutMillis, ConnectionFactory factory) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.factory = factory;
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+    }
+
+    /**
+     * Borrow a connection, waiting up to the borrow timeout if the pool is exhausted
+     */
+    Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool '" + name + "' is closed");
+        }
+
+        Connection conn = idle.poll();
+        if (conn == null) {
+            conn = openIfBelowMax();
+        }
+        if (conn == null) {
+            // Pool exhausted: wait for a connection to be returned (or a discarded slot to free up)
+            long start = System.nanoTime();
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+            try {
+                while (conn == null && System.nanoTime() < deadline) {
+                    conn = idle.poll(WAIT_SLICE_MILLIS, TimeUnit.MILLISECONDS);
+                    if (conn == null) {
+                        conn = openIfBelowMax();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a database connection", e);
+            }
+            recordWait(System.nanoTime() - start);
+            if (conn == null) {
+                timeoutCount.incrementAndGet();
+                throw new SQLException("Timed out after " + borrowTimeoutMillis
+                    + " ms waiting for a connection from pool '" + name + "'");
+            }
+        }
+
+        conn = validate(conn);
+        borrowCount.incrementAndGet();
+        inUse.incrementAndGet();
+        return wrap(conn);
+    }
+
+    /**
+     * Close every pooled connection; borrowed connections are closed when returned
+     */
+    void close() {
+        closed = true;
+        Connection conn;
+        while ((conn = idle.poll()) != null) {
+            closeQuietly(conn);
+        }
+        synchronized (all) {
+            all.clear();
+        }
+        statementCaches.clear();
+    }
+
+    /**
+     * Run an action against every idle connection (used to apply settings or checkpoints)
+     */
+    void forEachIdle(ConnectionAction action) {
+        List<Connection> drained = new ArrayList<>();
+        idle.drainTo(drained);
+        try {
+            for (Connection conn : drained) {
+                try {
+                    action.apply(conn);
+                } catch (SQLException e) {
+                    logger.log(Level.WARNING, "Error applying action to pooled connection: " + e.getMessage());
+                }
+            }
+        } finally {
+            idle.addAll(drained);
+        }
+    }
+
+    /**
+     * Implemented by pooled connections: prepared statements cached for the
+     * lifetime of the physical connection. Cached statements must not be closed.
+     */
+    interface StatementCache {
+        PreparedStatement prepareCached(String sql) throws SQLException;
+    }
+
+    interface ConnectionAction {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    Stats getStats() {
+        int open;
+        synchronized (all) {
+            open = all.size();
+        }
+        return new Stats(name, maxSize, open, idle.size(), inUse.get(),
+            borrowCount.get(), waitCount.get(), totalWaitNanos.get(), maxWaitNanos.get(),
+            timeoutCount.get(), replacedCount.get());
+    }
+
+    private Connection openIfBelowMax() throws SQLException {
+        synchronized (all) {
+            if (all.size() >= maxSize) {
+                return null;
+            }
+            Connection conn = factory.open();
+            all.add(conn);
+            logger.fine("Opened connection " + all.size() + "/" + maxSize + " for pool '" + name + "'");
+            return conn;
+        }
+    }
+
+    /**
+     * Replace a broken connection with a fresh one
+     */
+    private Connection validate(Connection conn) throws SQLException {
+        boolean valid;
+        try {
+            valid = !conn.isClosed() && conn.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            valid = false;
+        }
+        if (valid) {
+            return conn;
+        }
+
+        logger.warning("Replacing invalid connection in pool '" + name + "'");
+        replacedCount.incrementAndGet();
+        closeQuietly(conn);
+        statementCaches.remove(conn);
+        synchronized (all) {
+            all.remove(conn);
+            Connection fresh = factory.open();
+            all.add(fresh);
+            return fresh;
+        }
+    }
+
+    private void release(Connection conn) {
+        inUse.decrementAndGet();
+        try {
+            // Hand the connection back in a clean state
+            if (!conn.isClosed() && !conn.getAutoCommit()) {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Discarding connection that could not be reset: " + e.getMessage());
+            discard(conn);
+            return;
+        }
+
+        if (closed || !idle.offer(conn)) {
+            discard(conn);
+        }
+    }
+
+    private void discard(Connection conn) {
+        closeQuietly(conn);
+        statementCaches.remove(conn);
+        synchronized (all) {
+            all.remove(conn);
+        }
+    }
+
+    private void recordWait(long nanos) {
+        waitCount.incrementAndGet();
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Error closing pooled connection", e);
+        }
+    }
+
+    /**
+     * Wrap a physical connection so that close() returns it to the pool
+     */
+    private Connection wrap(Connection physical) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean released = false;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String methodName = method.getName();
+                if ("close".equals(methodName) && method.getParameterCount() == 0) {
+                    if (!released) {
+                        released = true;
+                        release(physical);
+                    }
+                    return null;
+                }
+                if ("isClosed".equals(methodName) && method.getParameterCount() == 0) {
+                    return released || physical.isClosed();
+                }
+                if (released) {
+                    throw new SQLException("Connection has already been returned to the pool");
+                }
+                if ("prepareCached".equals(methodName) && method.getDeclaringClass() == StatementCache.class) {
+                    return prepareCached(physical, (String) args[0]);
+                }
+                try {
+                    return method.invoke(physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+            ConnectionPool.class.getClassLoader(), new Class<?>[] { Connection.class, StatementCache.class }, handler);
+    }
+
+    /**
+     * Get or prepare a statement in the physical connection's cache.
+     * A connection is only used by one borrower at a time, so no locking is needed.
+     */
+    private PreparedStatement prepareCached(Connection physical, String sql) throws SQLException {
+        Map<String, PreparedStatement> cache = statementCaches.computeIfAbsent(physical, c -> new HashMap<>());
+        PreparedStatement pstmt = cache.get(sql);
+        if (pstmt == null || pstmt.isClosed()) {
+            pstmt = physical.prepareStatement(sql);
+            cache.put(sql, pstmt);
+        } else {
+            pstmt.clearParameters();
+        }
+        return pstmt;
+    }
+
+    /**
+     * Snapshot of pool size and wait metrics
+     */
+    public static class Stats {
+        private final String name;
+        private final int maxSize;
+        private final int openConnections;
+        private final int idleConnections;
+        private final int inUseConnections;
+        private final long borrowCount;
+        private final long waitCount;
+        private final long totalWaitNanos;
+        private final long maxWaitNanos;
+        private final long timeoutCount;
+        private final long replacedCount;
+
+        Stats(String name, int maxSize, int openConnections, int idleConnections, int inUseConnections,
+              long borrowCount, long waitCount, long totalWaitNanos, long maxWaitNanos,
+              long timeoutCount, long replacedCount) {
+            this.name = name;
+            this.maxSize = maxSize;
+            this.openConnections = openConnections;
+            this.idleConnections = idleConnections;
+            this.inUseConnections = inUseConnections;
+            this.borrowCount = borrowCount;
+            this.waitCount = waitCount;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.timeoutCount = timeoutCount;
+            this.replacedCount = replacedCount;
+        }
+
+        public String getName() { return name; }
+        public int getMaxSize() { return maxSize; }
+        public int getOpenConnections() { return openConnections; }
+        public int getIdleConnections() { return idleConnections; }
+        public int getInUseConnections() { return inUseConnections; }
+        public long getBorrowCount() { return borrowCount; }
+        public long getWaitCount() { return waitCount; }
+        public long getTotalWaitNanos() { return totalWaitNanos; }
+        public long getMaxWaitNanos() { return maxWaitNanos; }
+        public long getTimeoutCount() { return timeoutCount; }
+        public long getReplacedCount() { return replacedCount; }
+
+        public double getAverageWaitMillis() {
+            return waitCount == 0 ? 0.0 : (totalWaitNanos / (double) waitCount) / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s pool: open=%d/%d idle=%d inUse=%d borrows=%d waits=%d avgWait=%.2fms maxWait=%.2fms timeouts=%d replaced=%d",
+                name, openConnections, maxSize, idleConnections, inUseConnections, borrowCount,
+                waitCount, getAverageWaitMillis(), maxWaitNanos / 1_000_000.0, timeoutCount, replacedCount);
+        }
+    }
+}
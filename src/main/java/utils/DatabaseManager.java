@@ -1,6 +1,11 @@
 package utils;
 
 import java.sql.*;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -12,138 +17,286 @@ public class DatabaseManager {
     private static final String DB_URL = "jdbc:sqlite:resume_builder.db";
     private static final Logger logger = Logger.getLogger(DatabaseManager.class.getName());
     
+    // Pool sizing: SQLite allows a single writer, readers can run alongside it
+    private static final int READ_POOL_SIZE = Integer.getInteger("resumebuilder.db.readPoolSize", 4);
+    private static final long BORROW_TIMEOUT_MS = Long.getLong("resumebuilder.db.borrowTimeoutMs", 10000L);
+    
+    // PRAGMA profile applied to every pooled connection when it is opened.
+    // Each value can be overridden with -Dresumebuilder.db.pragma.<name>=<value>
+    private static final Map<String, String> pragmaProfile = buildDefaultPragmaProfile();
+    
+    private static ConnectionPool writePool;
+    private static ConnectionPool readPool;
+    // Set by shutdown(); the pools are not reopened afterwards
+    private static boolean shutDown = false;
+    
     /**
-     * Get database connection
+     * Get the pooled writer connection. Closing it returns it to the pool.
+     * Only one writer connection exists, so callers must not nest calls.
+     * @throws SQLException after shutdown()
      */
     public static Connection getConnection() throws SQLException {
+        return getWritePool().borrow();
+    }
+    
+    /**
+     * Get a pooled connection for read-only queries. Closing it returns it to the pool.
+     * @throws SQLException after shutdown()
+     */
+    public static Connection getReadConnection() throws SQLException {
+        return getReadPool().borrow();
+    }
+    
+    private static synchronized ConnectionPool getWritePool() throws SQLException {
+        checkNotShutDown();
+        if (writePool == null) {
+            loadDriver();
+            writePool = new ConnectionPool("write", 1, BORROW_TIMEOUT_MS, DatabaseManager::openConnection);
+            registerShutdownHook();
+        }
+        return writePool;
+    }
+    
+    private static synchronized ConnectionPool getReadPool() throws SQLException {
+        checkNotShutDown();
+        if (readPool == null) {
+            loadDriver();
+            readPool = new ConnectionPool("read", READ_POOL_SIZE, BORROW_TIMEOUT_MS, DatabaseManager::openConnection);
+            registerShutdownHook();
+        }
+        return readPool;
+    }
+    
+    private static void checkNotShutDown() throws SQLException {
+        if (shutDown) {
+            throw new SQLException("Database has been shut down");
+        }
+    }
+    
+    private static boolean driverLoaded = false;
+    private static boolean shutdownHookRegistered = false;
+    
+    private static void loadDriver() throws SQLException {
+        if (driverLoaded) {
+            return;
+        }
         try {
             Class.forName("org.sqlite.JDBC");
-            Connection conn = DriverManager.getConnection(DB_URL);
-            return conn;
+            driverLoaded = true;
         } catch (ClassNotFoundException e) {
             logger.log(Level.SEVERE, "SQLite JDBC driver not found", e);
             throw new SQLException("Database driver not found", e);
         }
     }
     
+    private static Connection openConnection() throws SQLException {
+        Connection conn = DriverManager.getConnection(DB_URL);
+        try {
+            applyPragmas(conn, getPragmaProfile());
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        return conn;
+    }
+    
     /**
-     * Initialize database schema
+     * Default PRAGMA profile: WAL so readers never wait on the auto-save writer,
+     * NORMAL sync (safe with WAL), and in-memory temp storage
      */
-    public static void initializeDatabase() {
-        try (Connection conn = getConnection()) {
-            // Create users table
-            String createUsersTable = """
-                CREATE TABLE IF NOT EXISTS users (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    username TEXT UNIQUE NOT NULL,
-                    email TEXT UNIQUE NOT NULL,
-                    password TEXT NOT NULL,
-                    full_name TEXT,
-                    created_at DATETIME DEFAULT CURRENT_TIMESTAMP
-                )
-            """;
-            
-            // Create resumes table (updated with all fields)
-            String createResumesTable = """
-                CREATE TABLE IF NOT EXISTS resumes (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    user_id INTEGER NOT NULL,
-                    name TEXT,
-                    email TEXT,
-                    phone TEXT,
-                    address TEXT,
-                    institution TEXT,
-                    degree TEXT,
-                    year TEXT,
-                    job_title TEXT,
-                    company TEXT,
-                    duration TEXT,
-                    description TEXT,
-                    skills TEXT,
-                    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
-                    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP,
-                    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
-                )
-            """;
-            
-            
-            // Create education table
-            String createEducationTable = """
-                CREATE TABLE IF NOT EXISTS education (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    resume_id INTEGER NOT NULL,
-                    institution TEXT,
-                    degree TEXT,
-                    field_of_study TEXT,
-                    graduation_year TEXT,
-                    gpa TEXT,
-                    description TEXT,
-                    FOREIGN KEY (resume_id) REFERENCES resumes(id) ON DELETE CASCADE
-                )
-            """;
-            
-            // Create experience table
-            String createExperienceTable = """
-                CREATE TABLE IF NOT EXISTS experience (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    resume_id INTEGER NOT NULL,
-                    job_title TEXT,
-                    company TEXT,
-                    location TEXT,
-                    start_date TEXT,
-                    end_date TEXT,
-                    is_current_job INTEGER DEFAULT 0,
-                    description TEXT,
-                    FOREIGN KEY (resume_id) REFERENCES resumes(id) ON DELETE CASCADE
-                )
-            """;
-            
-            try (Statement stmt = conn.createStatement()) {
-                stmt.execute(createUsersTable);
-                stmt.execute(createResumesTable);
-                stmt.execute(createEducationTable);
-                stmt.execute(createExperienceTable);
-                logger.info("Database tables created");
+    private static Map<String, String> buildDefaultPragmaProfile() {
+        Map<String, String> profile = new LinkedHashMap<>();
+        profile.put("journal_mode", "WAL");
+        profile.put("synchronous", "NORMAL");
+        profile.put("busy_timeout", "5000");
+        profile.put("cache_size", "-8000");      // negative = size in KiB (8 MB)
+        profile.put("mmap_size", "67108864");    // 64 MB
+        profile.put("temp_store", "MEMORY");
+        
+        for (Map.Entry<String, String> entry : profile.entrySet()) {
+            String override = System.getProperty("resumebuilder.db.pragma." + entry.getKey());
+            if (override != null && !override.trim().isEmpty()) {
+                entry.setValue(override.trim());
             }
-            
-            // Add missing columns to existing resumes table (if they don't exist)
-            addColumnIfNotExists(conn, "resumes", "institution", "TEXT");
-            addColumnIfNotExists(conn, "resumes", "degree", "TEXT");
-            addColumnIfNotExists(conn, "resumes", "year", "TEXT");
-            addColumnIfNotExists(conn, "resumes", "job_title", "TEXT");
-            addColumnIfNotExists(conn, "resumes", "company", "TEXT");
-            addColumnIfNotExists(conn, "resumes", "duration", "TEXT");
-            addColumnIfNotExists(conn, "resumes", "description", "TEXT");
-            
-            logger.info("Database initialized successfully");
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Error initializing database", e);
         }
+        return profile;
     }
     
     /**
-     * Add column to table if it doesn't exist
+     * Get the PRAGMA profile applied to pooled connections
      */
-    private static void addColumnIfNotExists(Connection conn, String tableName, String columnName, String columnType) {
-        try {
-            // Check if column exists by trying to query it
-            try (Statement stmt = conn.createStatement()) {
-                stmt.executeQuery("SELECT " + columnName + " FROM " + tableName + " LIMIT 1");
+    public static Map<String, String> getPragmaProfile() {
+        synchronized (pragmaProfile) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(pragmaProfile));
+        }
+    }
+    
+    /**
+     * Change a PRAGMA in the profile. New connections pick it up when opened,
+     * idle pooled connections are updated immediately.
+     */
+    public static void setPragma(String name, String value) {
+        if (name == null || !name.matches("[a-z_]+") || value == null || !value.matches("[A-Za-z0-9_-]+")) {
+            throw new IllegalArgumentException("Invalid PRAGMA: " + name + " = " + value);
+        }
+        synchronized (pragmaProfile) {
+            pragmaProfile.put(name, value);
+        }
+        Map<String, String> single = Collections.singletonMap(name, value);
+        synchronized (DatabaseManager.class) {
+            if (writePool != null) {
+                writePool.forEachIdle(conn -> applyPragmas(conn, single));
+            }
+            if (readPool != null) {
+                readPool.forEachIdle(conn -> applyPragmas(conn, single));
+            }
+        }
+    }
+    
+    private static void applyPragmas(Connection conn, Map<String, String> pragmas) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (Map.Entry<String, String> pragma : pragmas.entrySet()) {
+                stmt.execute("PRAGMA " + pragma.getKey() + " = " + pragma.getValue());
+            }
+        }
+    }
+    
+    /**
+     * Run a WAL checkpoint on demand.
+     * @param mode PASSIVE, FULL, RESTART or TRUNCATE
+     * @return true if the checkpoint completed without being blocked by readers
+     */
+    public static boolean checkpoint(String mode) {
+        String checkpointMode = mode != null ? mode.toUpperCase() : "PASSIVE";
+        if (!checkpointMode.matches("PASSIVE|FULL|RESTART|TRUNCATE")) {
+            throw new IllegalArgumentException("Unknown checkpoint mode: " + mode);
+        }
+        
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA wal_checkpoint(" + checkpointMode + ")")) {
+            if (rs.next()) {
+                boolean busy = rs.getInt(1) != 0;
+                logger.info("WAL checkpoint (" + checkpointMode + "): busy=" + busy
+                    + ", log frames=" + rs.getInt(2) + ", checkpointed=" + rs.getInt(3));
+                return !busy;
             }
-            // Column exists, do nothing
         } catch (SQLException e) {
-            // Column doesn't exist, add it
-            try (Statement stmt = conn.createStatement()) {
-                stmt.execute("ALTER TABLE " + tableName + " ADD COLUMN " + columnName + " " + columnType);
-                logger.info("Added column " + columnName + " to " + tableName);
-            } catch (SQLException ex) {
-                logger.log(Level.WARNING, "Error adding column " + columnName + ": " + ex.getMessage());
+            logger.log(Level.WARNING, "Error running WAL checkpoint: " + e.getMessage(), e);
+        }
+        return false;
+    }
+    
+    /**
+     * Run a passive WAL checkpoint
+     */
+    public static boolean checkpoint() {
+        return checkpoint("PASSIVE");
+    }
+    
+    private static void registerShutdownHook() {
+        if (!shutdownHookRegistered) {
+            shutdownHookRegistered = true;
+            Runtime.getRuntime().addShutdownHook(new Thread(DatabaseManager::shutdown, "db-pool-shutdown"));
+        }
+    }
+    
+    private static final List<Runnable> shutdownTasks = new CopyOnWriteArrayList<>();
+    
+    /**
+     * Register a task to run before the pools are closed (e.g. flushing queued writes)
+     */
+    public static void addShutdownTask(Runnable task) {
+        shutdownTasks.add(task);
+    }
+    
+    /**
+     * Close all pooled connections (called on application exit). Later calls
+     * do nothing, and getConnection() fails from then on.
+     */
+    public static void shutdown() {
+        synchronized (DatabaseManager.class) {
+            if (shutDown) {
+                return;
+            }
+        }
+        for (Runnable task : shutdownTasks) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Error running shutdown task", e);
             }
         }
+        closePools();
+    }
+    
+    private static synchronized void closePools() {
+        if (shutDown) {
+            return;
+        }
+        if (writePool != null) {
+            // Fold the WAL back into the main database file before closing
+            checkpoint("TRUNCATE");
+            logger.info(writePool.getStats().toString());
+            writePool.close();
+            writePool = null;
+        }
+        if (readPool != null) {
+            logger.info(readPool.getStats().toString());
+            readPool.close();
+            readPool = null;
+        }
+        shutDown = true;
+    }
+    
+    /**
+     * Get pool size and wait metrics for the writer pool
+     */
+    public static synchronized ConnectionPool.Stats getWritePoolStats() {
+        return writePool != null ? writePool.getStats() : null;
+    }
+    
+    /**
+     * Get pool size and wait metrics for the reader pool
+     */
+    public static synchronized ConnectionPool.Stats getReadPoolStats() {
+        return readPool != null ? readPool.getStats() : null;
+    }
+    
+    private static boolean initialized = false;
+    
+    /**
+     * Initialize database schema. Runs pending migrations once per process;
+     * later calls return immediately.
+     */
+    public static synchronized void initializeDatabase() {
+        if (initialized) {
+            return;
+        }
+        try (Connection conn = getConnection()) {
+            int version = SchemaMigrator.migrate(conn);
+            initialized = true;
+            logger.info("Database initialized successfully (schema version " + version + ")");
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error initializing database", e);
+        }
+    }
+    
+    /**
+     * Get a prepared statement that is cached for the lifetime of the pooled connection.
+     * The returned statement is reused across borrows and must NOT be closed by the caller.
+     * Connections that are not pooled are not cached (nothing would evict the entry):
+     * they get a new statement on each call, released when the connection is closed.
+     */
+    public static PreparedStatement prepareCached(Connection conn, String sql) throws SQLException {
+        if (conn instanceof ConnectionPool.StatementCache) {
+            return ((ConnectionPool.StatementCache) conn).prepareCached(sql);
+        }
+        return conn.prepareStatement(sql);
     }
     
     /**
-     * Close connection
+     * Close connection (returns pooled connections to their pool)
      */
     public static void closeConnection(Connection conn) {
         if (conn != null) {
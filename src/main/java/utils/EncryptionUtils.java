@@ -1,36 +1,174 @@
 package utils;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.Base64;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Utility class for encryption and hashing operations
  * @author habib
  */
 public class EncryptionUtils {
+    private static final Logger logger = Logger.getLogger(EncryptionUtils.class.getName());
+    
+    // Latency budget for one password hash; PBKDF2 iterations are calibrated to it
+    private static final long TARGET_HASH_MILLIS = Long.getLong("resumebuilder.password.targetMs", 100L);
+    // Fixed iteration count (skips calibration) when set
+    private static final Integer FIXED_ITERATIONS = Integer.getInteger("resumebuilder.password.iterations");
+    // Operator switch: measure the cost again on this start and store the new value
+    private static final boolean RECALIBRATE = Boolean.getBoolean("resumebuilder.password.recalibrate");
+    
+    // The calibrated cost is measured once, on the first run, and kept in app_settings.
+    // Measuring on every start would drift with load and rehash users for nothing.
+    private static final String ITERATIONS_SETTING = "password.pbkdf2.iterations";
+    private static final String SELECT_SETTING_SQL = "SELECT value FROM app_settings WHERE name = ?";
+    private static final String INSERT_SETTING_SQL =
+        "INSERT INTO app_settings (name, value) VALUES (?, ?) ON CONFLICT(name) DO NOTHING";
+    private static final String REPLACE_SETTING_SQL =
+        "INSERT INTO app_settings (name, value) VALUES (?, ?) ON CONFLICT(name) DO UPDATE SET value = excluded.value";
+    
+    private static final PasswordHasher legacyHasher = new LegacySha256PasswordHasher();
+    private static volatile PasswordHasher passwordHasher;
     
     /**
-     * Hash a password using SHA-256
+     * Get the hasher used for new passwords (PBKDF2 at the stored cost,
+     * calibrated and stored on the first run)
      */
-    public static String hashPassword(String password) {
+    public static PasswordHasher getPasswordHasher() {
+        PasswordHasher hasher = passwordHasher;
+        if (hasher == null) {
+            synchronized (EncryptionUtils.class) {
+                if (passwordHasher == null) {
+                    if (FIXED_ITERATIONS != null) {
+                        passwordHasher = new Pbkdf2PasswordHasher(FIXED_ITERATIONS);
+                    } else if (RECALIBRATE) {
+                        recalibratePasswordHasher();
+                    } else {
+                        passwordHasher = new Pbkdf2PasswordHasher(loadIterations());
+                    }
+                }
+                hasher = passwordHasher;
+            }
+        }
+        return hasher;
+    }
+    
+    /**
+     * Measure the PBKDF2 cost again, store it and use it for new passwords.
+     * An explicit operator action (-Dresumebuilder.password.recalibrate=true);
+     * users are rehashed on their next login only if the cost went up.
+     * @return the new iteration count
+     */
+    public static synchronized int recalibratePasswordHasher() {
+        int iterations = Pbkdf2PasswordHasher.calibrateIterations(TARGET_HASH_MILLIS);
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(password.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(hash);
-        } catch (NoSuchAlgorithmException e) {
-            System.err.println("Error hashing password: " + e.getMessage());
+            DatabaseManager.initializeDatabase();
+            storeIterations(REPLACE_SETTING_SQL, iterations);
+            logger.info("PBKDF2 recalibrated to " + iterations + " iterations (target " + TARGET_HASH_MILLIS + " ms)");
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Could not store the PBKDF2 cost: " + e.getMessage(), e);
+        }
+        passwordHasher = new Pbkdf2PasswordHasher(iterations);
+        return iterations;
+    }
+    
+    /**
+     * The stored PBKDF2 cost. On the first run it is calibrated and stored;
+     * if another process stored one meanwhile, that value wins.
+     */
+    private static int loadIterations() {
+        try {
+            DatabaseManager.initializeDatabase();
+            Integer stored = readIterations();
+            if (stored != null) {
+                return stored;
+            }
+            int calibrated = Pbkdf2PasswordHasher.calibrateIterations(TARGET_HASH_MILLIS);
+            storeIterations(INSERT_SETTING_SQL, calibrated);
+            stored = readIterations();
+            logger.info("PBKDF2 calibrated to " + calibrated + " iterations (target " + TARGET_HASH_MILLIS + " ms)");
+            return stored != null ? stored : calibrated;
+        } catch (SQLException e) {
+            // Not stored, so the next start measures again
+            logger.log(Level.WARNING, "Could not read the stored PBKDF2 cost: " + e.getMessage(), e);
+            return Pbkdf2PasswordHasher.calibrateIterations(TARGET_HASH_MILLIS);
+        }
+    }
+    
+    private static Integer readIterations() throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_SETTING_SQL)) {
+            pstmt.setString(1, ITERATIONS_SETTING);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    try {
+                        return Integer.valueOf(rs.getString(1).trim());
+                    } catch (NumberFormatException e) {
+                        logger.warning("Ignoring invalid stored PBKDF2 cost: " + rs.getString(1));
+                    }
+                }
+            }
+        }
+        return null;
+    }
+    
+    private static void storeIterations(String sql, int iterations) throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, ITERATIONS_SETTING);
+            pstmt.setString(2, Integer.toString(iterations));
+            pstmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Replace the hasher used for new passwords
+     */
+    public static void setPasswordHasher(PasswordHasher hasher) {
+        passwordHasher = hasher;
+    }
+    
+    /**
+     * Hash a password with the current hasher (salted PBKDF2 by default)
+     */
+    public static String hashPassword(String password) {
+        if (password == null) {
             return null;
         }
+        return getPasswordHasher().hash(password);
     }
     
     /**
-     * Verify a password against a hash
+     * Verify a password against a hash in any supported format (current or legacy)
      */
     public static boolean verifyPassword(String password, String hash) {
-        String passwordHash = hashPassword(password);
-        return passwordHash != null && passwordHash.equals(hash);
+        if (password == null || hash == null) {
+            return false;
+        }
+        PasswordHasher current = getPasswordHasher();
+        if (current.supports(hash)) {
+            return current.verify(password, hash);
+        }
+        if (hash.startsWith(Pbkdf2PasswordHasher.PREFIX)) {
+            // Stored with a different PBKDF2 cost; the hash carries its own iteration count
+            return new Pbkdf2PasswordHasher(Pbkdf2PasswordHasher.MIN_ITERATIONS).verify(password, hash);
+        }
+        if (legacyHasher.supports(hash)) {
+            return legacyHasher.verify(password, hash);
+        }
+        return false;
+    }
+    
+    /**
+     * Whether a stored hash should be upgraded to the current hasher's format/cost
+     */
+    public static boolean needsRehash(String hash) {
+        PasswordHasher current = getPasswordHasher();
+        return !current.supports(hash) || current.needsRehash(hash);
     }
     
     /**
@@ -67,6 +205,7 @@ public class EncryptionUtils {
      * Generate a simple key from a string
      */
     public static String generateKey(String seed) {
-        return hashPassword(seed);
+        // Must be deterministic, so this stays a plain digest rather than a salted password hash
+        return legacyHasher.hash(seed);
     }
 }
@@ -1,9 +1,13 @@
 package utils;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Utility class for file storage operations
@@ -15,6 +19,13 @@ public class FileStorage {
     private static final String EXPORTS_DIR = BASE_DIR + "/exports";
     private static final String TEMPLATES_DIR = BASE_DIR + "/templates";
     
+    /**
+     * Writes the content of a file being replaced
+     */
+    public interface ContentWriter {
+        void write(Path temp) throws IOException;
+    }
+    
     static {
         initializeDirectories();
     }
@@ -48,6 +59,57 @@ public class FileStorage {
         }
     }
     
+    /**
+     * Replace a file without ever leaving it half written: the writer fills a
+     * temp file in the target's directory, which is then moved over the target
+     * (atomically where the file system supports it). The temp file is removed
+     * if anything fails. The result has the same permissions a direct write
+     * would give it: the existing target's, or the umask default for a new file.
+     */
+    public static void writeAtomically(Path target, ContentWriter writer) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = createSibling(dir, target.getFileName().toString());
+        try {
+            writer.write(temp);
+            copyPermissions(target, temp);
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    /**
+     * Create an empty temp file next to the target. Files.createTempFile is
+     * not used because it makes the file owner-only, and the move keeps that.
+     */
+    private static Path createSibling(Path dir, String name) throws IOException {
+        while (true) {
+            Path temp = dir.resolve("." + name + "." + Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36) + ".tmp");
+            try {
+                return Files.createFile(temp);
+            } catch (FileAlreadyExistsException e) {
+                // Name taken; pick another
+            }
+        }
+    }
+    
+    /**
+     * Give the temp file the permissions of the file it replaces, if any
+     */
+    private static void copyPermissions(Path target, Path temp) throws IOException {
+        PosixFileAttributeView view = Files.getFileAttributeView(temp, PosixFileAttributeView.class);
+        if (view == null || !Files.exists(target)) {
+            return;
+        }
+        PosixFileAttributes attributes = Files.readAttributes(target, PosixFileAttributes.class);
+        view.setPermissions(attributes.permissions());
+    }
+    
     /**
      * Read content from a file
      */
@@ -63,6 +125,21 @@ public class FileStorage {
         return null;
     }
     
+    /**
+     * Read a UTF-8 text file
+     */
+    public static String readTextFile(String fileName, String subDirectory) {
+        try {
+            Path file = Paths.get(BASE_DIR, subDirectory, fileName);
+            if (Files.exists(file)) {
+                return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading file: " + e.getMessage());
+        }
+        return null;
+    }
+    
     /**
      * Delete a file
      */
@@ -0,0 +1,322 @@
+package utils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streaming reader for bulk import files.
+ * Supports CSV with a header row (RFC 4180 quoting, quoted fields may span
+ * lines) and JSON lines with one flat object per line. Records are read one
+ * at a time, so memory use does not grow with the file.
+ */
+public class ImportRecordReader implements Closeable {
+
+    public enum Format {
+        CSV,
+        JSONL;
+
+        /**
+         * Pick the format from the file extension (.jsonl / .ndjson / .json, otherwise CSV)
+         */
+        public static Format fromFileName(String fileName) {
+            String lower = fileName.toLowerCase(Locale.ROOT);
+            if (lower.endsWith(".jsonl") || lower.endsWith(".ndjson") || lower.endsWith(".json")) {
+                return JSONL;
+            }
+            return CSV;
+        }
+    }
+
+    /**
+     * One parsed record. Keys are lower-case column names. If the line could
+     * not be parsed, fields is empty and error describes why.
+     */
+    public static class Record {
+        private final int lineNumber;
+        private final Map<String, String> fields;
+        private final String error;
+
+        Record(int lineNumber, Map<String, String> fields, String error) {
+            this.lineNumber = lineNumber;
+            this.fields = fields;
+            this.error = error;
+        }
+
+        public int getLineNumber() { return lineNumber; }
+        public String get(String column) { return fields.get(column); }
+        public Map<String, String> getFields() { return fields; }
+        public String getError() { return error; }
+        public boolean isValid() { return error == null; }
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private List<String> header;
+    private int lineNumber;
+    // First line of the last CSV row read (a quoted field may carry it onto later lines)
+    private int rowStartLine;
+
+    public ImportRecordReader(Path file) throws IOException {
+        this(file, Format.fromFileName(file.getFileName().toString()));
+    }
+
+    public ImportRecordReader(Path file, Format format) throws IOException {
+        this(Files.newBufferedReader(file, StandardCharsets.UTF_8), format);
+    }
+
+    public ImportRecordReader(BufferedReader reader, Format format) {
+        this.reader = reader;
+        this.format = format;
+    }
+
+    /**
+     * Read the next record, or null at end of input. Blank lines are skipped.
+     */
+    public Record next() throws IOException {
+        return format == Format.CSV ? nextCsv() : nextJson();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Record nextCsv() throws IOException {
+        if (header == null) {
+            List<String> columns = readCsvRow();
+            if (columns == null) {
+                return null;
+            }
+            header = new ArrayList<>(columns.size());
+            for (String column : columns) {
+                header.add(normalizeKey(column));
+            }
+        }
+
+        List<String> values;
+        do {
+            values = readCsvRow();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isEmpty());
+
+        int line = rowStartLine;
+        if (values.size() > header.size()) {
+            return new Record(line, Map.of(), "Expected " + header.size() + " columns but found " + values.size());
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            fields.put(header.get(i), values.get(i));
+        }
+        return new Record(line, fields, null);
+    }
+
+    /**
+     * Read one CSV row; a quoted field may continue onto following lines
+     */
+    private List<String> readCsvRow() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+        rowStartLine = lineNumber;
+
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i >= line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // Newline inside a quoted field
+                String more = reader.readLine();
+                if (more == null) {
+                    break;
+                }
+                lineNumber++;
+                field.append('\n');
+                line = more;
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        values.add(field.toString());
+        return values;
+    }
+
+    private Record nextJson() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        try {
+            return new Record(lineNumber, parseJsonObject(line.trim()), null);
+        } catch (IllegalArgumentException e) {
+            return new Record(lineNumber, Map.of(), "Invalid JSON: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parse a flat JSON object. Values may be strings, numbers, booleans or null;
+     * nested objects and arrays are rejected.
+     */
+    static Map<String, String> parseJsonObject(String json) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        int[] pos = {skipWhitespace(json, 0)};
+        expect(json, pos, '{');
+        pos[0] = skipWhitespace(json, pos[0]);
+        if (peek(json, pos[0]) == '}') {
+            pos[0]++;
+        } else {
+            while (true) {
+                pos[0] = skipWhitespace(json, pos[0]);
+                String key = readJsonString(json, pos);
+                pos[0] = skipWhitespace(json, pos[0]);
+                expect(json, pos, ':');
+                pos[0] = skipWhitespace(json, pos[0]);
+                fields.put(normalizeKey(key), readJsonValue(json, pos));
+                pos[0] = skipWhitespace(json, pos[0]);
+                char c = peek(json, pos[0]);
+                pos[0]++;
+                if (c == '}') {
+                    break;
+                }
+                if (c != ',') {
+                    throw new IllegalArgumentException("expected ',' or '}' at " + (pos[0] - 1));
+                }
+            }
+        }
+        if (skipWhitespace(json, pos[0]) != json.length()) {
+            throw new IllegalArgumentException("trailing characters at " + pos[0]);
+        }
+        return fields;
+    }
+
+    private static String readJsonValue(String json, int[] pos) {
+        char c = peek(json, pos[0]);
+        if (c == '"') {
+            return readJsonString(json, pos);
+        }
+        if (c == '{' || c == '[') {
+            throw new IllegalArgumentException("nested values are not supported at " + pos[0]);
+        }
+        int start = pos[0];
+        while (pos[0] < json.length() && ",}".indexOf(json.charAt(pos[0])) < 0
+                && !Character.isWhitespace(json.charAt(pos[0]))) {
+            pos[0]++;
+        }
+        String literal = json.substring(start, pos[0]);
+        if (literal.isEmpty()) {
+            throw new IllegalArgumentException("missing value at " + start);
+        }
+        if (literal.equals("null")) {
+            return null;
+        }
+        if (!literal.equals("true") && !literal.equals("false")
+                && !literal.matches("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?")) {
+            throw new IllegalArgumentException("unexpected literal '" + literal + "' at " + start);
+        }
+        return literal;
+    }
+
+    private static String readJsonString(String json, int[] pos) {
+        expect(json, pos, '"');
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            if (pos[0] >= json.length()) {
+                throw new IllegalArgumentException("unterminated string");
+            }
+            char c = json.charAt(pos[0]++);
+            if (c == '"') {
+                return sb.toString();
+            }
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            char escape = peek(json, pos[0]++);
+            switch (escape) {
+                case '"': case '\\': case '/': sb.append(escape); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                case 't': sb.append('\t'); break;
+                case 'u':
+                    if (pos[0] + 4 > json.length()) {
+                        throw new IllegalArgumentException("bad unicode escape");
+                    }
+                    sb.append((char) Integer.parseInt(json.substring(pos[0], pos[0] + 4), 16));
+                    pos[0] += 4;
+                    break;
+                default:
+                    throw new IllegalArgumentException("bad escape '\\" + escape + "'");
+            }
+        }
+    }
+
+    private static void expect(String json, int[] pos, char expected) {
+        if (peek(json, pos[0]) != expected) {
+            throw new IllegalArgumentException("expected '" + expected + "' at " + pos[0]);
+        }
+        pos[0]++;
+    }
+
+    private static char peek(String json, int index) {
+        if (index >= json.length()) {
+            throw new IllegalArgumentException("unexpected end of line");
+        }
+        return json.charAt(index);
+    }
+
+    private static int skipWhitespace(String json, int index) {
+        while (index < json.length() && Character.isWhitespace(json.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static String normalizeKey(String key) {
+        String k = key.trim().toLowerCase(Locale.ROOT);
+        // Tolerate a UTF-8 byte order mark on the first header
+        return k.startsWith("\uFEFF") ? k.substring(1) : k;
+    }
+}
@@ -0,0 +1,43 @@
+package utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Unsalted single-pass SHA-256 (Base64), the format used by earlier versions.
+ * Only kept to verify existing accounts until they are upgraded at login.
+ */
+public class LegacySha256PasswordHasher implements PasswordHasher {
+    
+    @Override
+    public String hash(String password) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(password.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            System.err.println("Error hashing password: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    @Override
+    public boolean verify(String password, String encodedHash) {
+        String passwordHash = hash(password);
+        return passwordHash != null && encodedHash != null && MessageDigest.isEqual(
+            passwordHash.getBytes(StandardCharsets.US_ASCII), encodedHash.getBytes(StandardCharsets.US_ASCII));
+    }
+    
+    @Override
+    public boolean supports(String encodedHash) {
+        // 32 bytes in Base64 = 44 characters, no '$' format prefix
+        return encodedHash != null && encodedHash.length() == 44 && !encodedHash.startsWith("$");
+    }
+    
+    @Override
+    public boolean needsRehash(String encodedHash) {
+        return true;
+    }
+}
@@ -0,0 +1,29 @@
+package utils;
+
+/**
+ * Strategy for hashing and verifying passwords.
+ * Implementations encode everything needed for verification (algorithm,
+ * cost, salt) into the returned string.
+ */
+public interface PasswordHasher {
+    
+    /**
+     * Hash a password into this hasher's encoded format
+     */
+    String hash(String password);
+    
+    /**
+     * Verify a password against an encoded hash produced by this hasher
+     */
+    boolean verify(String password, String encodedHash);
+    
+    /**
+     * Whether this hasher can verify the given encoded hash
+     */
+    boolean supports(String encodedHash);
+    
+    /**
+     * Whether the hash should be replaced (weaker algorithm or lower cost than current settings)
+     */
+    boolean needsRehash(String encodedHash);
+}
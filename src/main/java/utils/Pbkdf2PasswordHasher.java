@@ -0,0 +1,136 @@
+package utils;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * PBKDF2-HMAC-SHA256 password hasher (JDK built-in).
+ * Encoded format: $pbkdf2-sha256$&lt;iterations&gt;$&lt;salt base64&gt;$&lt;hash base64&gt;
+ */
+public class Pbkdf2PasswordHasher implements PasswordHasher {
+    public static final String PREFIX = "$pbkdf2-sha256$";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int KEY_BITS = 256;
+
+    // Never go below this, however slow the machine is
+    public static final int MIN_ITERATIONS = 100_000;
+    private static final int CALIBRATION_ITERATIONS = 20_000;
+
+    private final SecureRandom random = new SecureRandom();
+    private final int iterations;
+
+    public Pbkdf2PasswordHasher(int iterations) {
+        this.iterations = Math.max(MIN_ITERATIONS, iterations);
+    }
+
+    /**
+     * Measure PBKDF2 speed and scale the iteration count to the latency budget
+     */
+    public static int calibrateIterations(long targetMillis) {
+        byte[] salt = new byte[SALT_BYTES];
+        char[] password = "calibration-password".toCharArray();
+
+        // Warm up once, then keep the fastest of a few runs
+        derive(password, salt, CALIBRATION_ITERATIONS);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            derive(password, salt, CALIBRATION_ITERATIONS);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double nanosPerIteration = Math.max(1.0, best / (double) CALIBRATION_ITERATIONS);
+        long scaled = (long) (targetMillis * 1_000_000L / nanosPerIteration);
+        // Round down to a multiple of 10,000 so the stored value is readable
+        scaled = (scaled / 10_000) * 10_000;
+        return (int) Math.max(MIN_ITERATIONS, Math.min(Integer.MAX_VALUE, scaled));
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    @Override
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = derive(password.toCharArray(), salt, iterations);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    @Override
+    public boolean verify(String password, String encodedHash) {
+        Parsed parsed = parse(encodedHash);
+        if (parsed == null || password == null) {
+            return false;
+        }
+        byte[] actual = derive(password.toCharArray(), parsed.salt, parsed.iterations);
+        return MessageDigest.isEqual(actual, parsed.hash);
+    }
+
+    @Override
+    public boolean supports(String encodedHash) {
+        return encodedHash != null && encodedHash.startsWith(PREFIX);
+    }
+
+    @Override
+    public boolean needsRehash(String encodedHash) {
+        Parsed parsed = parse(encodedHash);
+        return parsed == null || parsed.iterations < iterations;
+    }
+
+    /**
+     * Whether an encoded hash can be verified: a positive iteration count,
+     * a salt, and a hash of the full key length
+     */
+    public static boolean isWellFormed(String encodedHash) {
+        Parsed parsed = parse(encodedHash);
+        return parsed != null && parsed.iterations > 0
+            && parsed.salt.length > 0 && parsed.hash.length == KEY_BITS / 8;
+    }
+
+    private static byte[] derive(char[] password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, KEY_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2 not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private static Parsed parse(String encodedHash) {
+        if (encodedHash == null || !encodedHash.startsWith(PREFIX)) {
+            return null;
+        }
+        String[] parts = encodedHash.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            Base64.Decoder decoder = Base64.getDecoder();
+            return new Parsed(Integer.parseInt(parts[0]), decoder.decode(parts[1]), decoder.decode(parts[2]));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static class Parsed {
+        final int iterations;
+        final byte[] salt;
+        final byte[] hash;
+
+        Parsed(int iterations, byte[] salt, byte[] hash) {
+            this.iterations = iterations;
+            this.salt = salt;
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,447 @@
+package utils;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Versioned schema migrations for the SQLite database.
+ * The current version is kept in PRAGMA user_version so startup only needs a
+ * single read; every applied step is also recorded in the schema_version table.
+ * Migrations run in order, each one inside its own transaction.
+ */
+public class SchemaMigrator {
+    private static final Logger logger = Logger.getLogger(SchemaMigrator.class.getName());
+
+    /**
+     * Work performed by a migration step
+     */
+    interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    /**
+     * A single ordered migration
+     */
+    static class Migration {
+        private final int version;
+        private final String description;
+        private final Step step;
+
+        Migration(int version, String description, Step step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+
+        public int getVersion() { return version; }
+        public String getDescription() { return description; }
+    }
+
+    private static final String CREATE_SCHEMA_VERSION_TABLE = """
+        CREATE TABLE IF NOT EXISTS schema_version (
+            version INTEGER PRIMARY KEY,
+            description TEXT NOT NULL,
+            applied_at DATETIME DEFAULT CURRENT_TIMESTAMP
+        )
+    """;
+
+    private static final String CREATE_USERS_TABLE = """
+        CREATE TABLE IF NOT EXISTS users (
+            id INTEGER PRIMARY KEY AUTOINCREMENT,
+            username TEXT UNIQUE NOT NULL,
+            email TEXT UNIQUE NOT NULL,
+            password TEXT NOT NULL,
+            full_name TEXT,
+            created_at DATETIME DEFAULT CURRENT_TIMESTAMP
+        )
+    """;
+
+    private static final String CREATE_RESUMES_TABLE = """
+        CREATE TABLE IF NOT EXISTS resumes (
+            id INTEGER PRIMARY KEY AUTOINCREMENT,
+            user_id INTEGER NOT NULL,
+            name TEXT,
+            email TEXT,
+            phone TEXT,
+            address TEXT,
+            institution TEXT,
+            degree TEXT,
+            year TEXT,
+            job_title TEXT,
+            company TEXT,
+            duration TEXT,
+            description TEXT,
+            skills TEXT,
+            created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+            updated_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+            FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+        )
+    """;
+
+    private static final String CREATE_EDUCATION_TABLE = """
+        CREATE TABLE IF NOT EXISTS education (
+            id INTEGER PRIMARY KEY AUTOINCREMENT,
+            resume_id INTEGER NOT NULL,
+            institution TEXT,
+            degree TEXT,
+            field_of_study TEXT,
+            graduation_year TEXT,
+            gpa TEXT,
+            description TEXT,
+            FOREIGN KEY (resume_id) REFERENCES resumes(id) ON DELETE CASCADE
+        )
+    """;
+
+    private static final String CREATE_EXPERIENCE_TABLE = """
+        CREATE TABLE IF NOT EXISTS experience (
+            id INTEGER PRIMARY KEY AUTOINCREMENT,
+            resume_id INTEGER NOT NULL,
+            job_title TEXT,
+            company TEXT,
+            location TEXT,
+            start_date TEXT,
+            end_date TEXT,
+            is_current_job INTEGER DEFAULT 0,
+            description TEXT,
+            FOREIGN KEY (resume_id) REFERENCES resumes(id) ON DELETE CASCADE
+        )
+    """;
+
+    // Inverted index for BM25 ranking of resumes. Postings are clustered by term
+    // (WITHOUT ROWID) so a term's posting list is one range read, and carry the
+    // document length so scoring needs no join. Document frequencies and the
+    // collection totals are kept current by triggers.
+    private static final String CREATE_RESUME_SEARCH_DOCS_TABLE = """
+        CREATE TABLE IF NOT EXISTS resume_search_docs (
+            resume_id INTEGER PRIMARY KEY,
+            length INTEGER NOT NULL
+        )
+    """;
+
+    private static final String CREATE_RESUME_SEARCH_TERMS_TABLE = """
+        CREATE TABLE IF NOT EXISTS resume_search_terms (
+            term TEXT NOT NULL,
+            resume_id INTEGER NOT NULL,
+            tf INTEGER NOT NULL,
+            doc_length INTEGER NOT NULL,
+            PRIMARY KEY (term, resume_id)
+        ) WITHOUT ROWID
+    """;
+
+    private static final String CREATE_RESUME_SEARCH_DF_TABLE = """
+        CREATE TABLE IF NOT EXISTS resume_search_df (
+            term TEXT PRIMARY KEY,
+            df INTEGER NOT NULL
+        ) WITHOUT ROWID
+    """;
+
+    private static final String CREATE_RESUME_SEARCH_STATS_TABLE = """
+        CREATE TABLE IF NOT EXISTS resume_search_stats (
+            id INTEGER PRIMARY KEY CHECK (id = 0),
+            doc_count INTEGER NOT NULL,
+            total_length INTEGER NOT NULL
+        )
+    """;
+
+    private static final String[] CREATE_RESUME_SEARCH_TRIGGERS = {
+        """
+        CREATE TRIGGER IF NOT EXISTS resume_search_terms_insert AFTER INSERT ON resume_search_terms BEGIN
+            INSERT INTO resume_search_df (term, df) VALUES (NEW.term, 1)
+                ON CONFLICT(term) DO UPDATE SET df = df + 1;
+        END
+        """,
+        """
+        CREATE TRIGGER IF NOT EXISTS resume_search_terms_delete AFTER DELETE ON resume_search_terms BEGIN
+            UPDATE resume_search_df SET df = df - 1 WHERE term = OLD.term;
+            DELETE FROM resume_search_df WHERE term = OLD.term AND df <= 0;
+        END
+        """,
+        """
+        CREATE TRIGGER IF NOT EXISTS resume_search_docs_insert AFTER INSERT ON resume_search_docs BEGIN
+            UPDATE resume_search_stats SET doc_count = doc_count + 1, total_length = total_length + NEW.length;
+        END
+        """,
+        """
+        CREATE TRIGGER IF NOT EXISTS resume_search_docs_update AFTER UPDATE OF length ON resume_search_docs BEGIN
+            UPDATE resume_search_stats SET total_length = total_length - OLD.length + NEW.length;
+        END
+        """,
+        """
+        CREATE TRIGGER IF NOT EXISTS resume_search_docs_delete AFTER DELETE ON resume_search_docs BEGIN
+            UPDATE resume_search_stats SET doc_count = doc_count - 1, total_length = total_length - OLD.length;
+        END
+        """,
+        // Deleting a resume (or its user, by cascade) drops it from the index
+        """
+        CREATE TRIGGER IF NOT EXISTS resumes_search_delete AFTER DELETE ON resumes BEGIN
+            DELETE FROM resume_search_terms WHERE resume_id = OLD.id;
+            DELETE FROM resume_search_docs WHERE resume_id = OLD.id;
+        END
+        """
+    };
+
+    // External-content FTS5 index over the searchable resume columns. Rows that
+    // existed before the table was created are indexed by a background build
+    // that advances indexed_upto; the triggers only touch rows the index already
+    // covers (id <= indexed_upto, or newer than backfill_end), because an
+    // external-content table must never be sent a 'delete' for a row it has not
+    // indexed.
+    private static final String CREATE_RESUMES_FTS_TABLE = """
+        CREATE VIRTUAL TABLE IF NOT EXISTS resumes_fts USING fts5(
+            name, skills, description, job_title, company, institution,
+            content = 'resumes', content_rowid = 'id',
+            tokenize = "unicode61 remove_diacritics 2 tokenchars '+#'"
+        )
+    """;
+
+    private static final String CREATE_RESUMES_FTS_STATE_TABLE = """
+        CREATE TABLE IF NOT EXISTS resumes_fts_state (
+            id INTEGER PRIMARY KEY CHECK (id = 0),
+            indexed_upto INTEGER NOT NULL,
+            backfill_end INTEGER NOT NULL
+        )
+    """;
+
+    // Trigger condition: the index covers the row (%1$s is NEW or OLD)
+    private static final String RESUMES_FTS_COVERS =
+        "%1$s.id <= (SELECT indexed_upto FROM resumes_fts_state) OR %1$s.id > (SELECT backfill_end FROM resumes_fts_state)";
+
+    private static final String[] CREATE_RESUMES_FTS_TRIGGERS = {
+        """
+        CREATE TRIGGER IF NOT EXISTS resumes_fts_insert AFTER INSERT ON resumes
+        WHEN %s BEGIN
+            INSERT INTO resumes_fts (rowid, name, skills, description, job_title, company, institution)
+            VALUES (NEW.id, NEW.name, NEW.skills, NEW.description, NEW.job_title, NEW.company, NEW.institution);
+        END
+        """.formatted(RESUMES_FTS_COVERS.formatted("NEW")),
+        """
+        CREATE TRIGGER IF NOT EXISTS resumes_fts_delete AFTER DELETE ON resumes
+        WHEN %s BEGIN
+            INSERT INTO resumes_fts (resumes_fts, rowid, name, skills, description, job_title, company, institution)
+            VALUES ('delete', OLD.id, OLD.name, OLD.skills, OLD.description, OLD.job_title, OLD.company, OLD.institution);
+        END
+        """.formatted(RESUMES_FTS_COVERS.formatted("OLD")),
+        """
+        CREATE TRIGGER IF NOT EXISTS resumes_fts_update
+        AFTER UPDATE OF name, skills, description, job_title, company, institution ON resumes
+        WHEN %s BEGIN
+            INSERT INTO resumes_fts (resumes_fts, rowid, name, skills, description, job_title, company, institution)
+            VALUES ('delete', OLD.id, OLD.name, OLD.skills, OLD.description, OLD.job_title, OLD.company, OLD.institution);
+            INSERT INTO resumes_fts (rowid, name, skills, description, job_title, company, institution)
+            VALUES (NEW.id, NEW.name, NEW.skills, NEW.description, NEW.job_title, NEW.company, NEW.institution);
+        END
+        """.formatted(RESUMES_FTS_COVERS.formatted("OLD"))
+    };
+
+    // Small named values the application keeps across runs (e.g. the PBKDF2 cost)
+    private static final String CREATE_APP_SETTINGS_TABLE = """
+        CREATE TABLE IF NOT EXISTS app_settings (
+            name TEXT PRIMARY KEY,
+            value TEXT NOT NULL
+        )
+    """;
+
+    // Ordered list of migrations. Append new steps with the next version number;
+    // never edit a step that has already shipped.
+    private static final List<Migration> MIGRATIONS = List.of(
+        new Migration(1, "Create base tables", sql(
+            CREATE_USERS_TABLE,
+            CREATE_RESUMES_TABLE,
+            CREATE_EDUCATION_TABLE,
+            CREATE_EXPERIENCE_TABLE
+        )),
+        new Migration(2, "Add flat education and experience columns to legacy resumes tables",
+            SchemaMigrator::addLegacyResumeColumns),
+        new Migration(3, "One resume per user: unique index on resumes.user_id", sql(
+            // Older builds could insert duplicates; keep the row that was being updated
+            "DELETE FROM resumes WHERE id NOT IN (SELECT MIN(id) FROM resumes GROUP BY user_id)",
+            "CREATE UNIQUE INDEX IF NOT EXISTS idx_resumes_user_id ON resumes(user_id)"
+        )),
+        new Migration(4, "Ordered education/experience entries indexed by resume", sql(
+            "ALTER TABLE education ADD COLUMN position INTEGER NOT NULL DEFAULT 0",
+            "ALTER TABLE experience ADD COLUMN position INTEGER NOT NULL DEFAULT 0",
+            "CREATE INDEX IF NOT EXISTS idx_education_resume_id ON education(resume_id, position)",
+            "CREATE INDEX IF NOT EXISTS idx_experience_resume_id ON experience(resume_id, position)"
+        )),
+        // Withdrawn before release: login matches exactly via the UNIQUE indexes.
+        // Kept as an empty step so the version numbers stay in sequence.
+        new Migration(5, "No-op (case-insensitive users indexes withdrawn)", sql()),
+        new Migration(6, "Inverted index tables for BM25 resume ranking",
+            SchemaMigrator::createResumeSearchIndex),
+        new Migration(7, "FTS5 full-text index over resumes kept in sync by triggers",
+            SchemaMigrator::createResumeFullTextIndex),
+        new Migration(8, "Application settings table (persisted password hashing cost)", sql(
+            CREATE_APP_SETTINGS_TABLE
+        ))
+    );
+
+    /**
+     * Bring the database up to the latest schema version.
+     * @return the schema version after migrating
+     */
+    public static int migrate(Connection conn) throws SQLException {
+        int current = getSchemaVersion(conn);
+        int latest = getLatestVersion();
+        if (current >= latest) {
+            return current;
+        }
+
+        logger.info("Migrating database schema from version " + current + " to " + latest);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(CREATE_SCHEMA_VERSION_TABLE);
+        }
+
+        for (Migration migration : MIGRATIONS) {
+            if (migration.getVersion() <= current) {
+                continue;
+            }
+            applyMigration(conn, migration);
+            current = migration.getVersion();
+        }
+        return current;
+    }
+
+    /**
+     * Read the current schema version (a single PRAGMA read)
+     */
+    public static int getSchemaVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Get the version of the newest migration
+     */
+    public static int getLatestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).getVersion();
+    }
+
+    /**
+     * Get the ordered list of known migrations
+     */
+    static List<Migration> getMigrations() {
+        return Collections.unmodifiableList(new ArrayList<>(MIGRATIONS));
+    }
+
+    private static void applyMigration(Connection conn, Migration migration) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        // Manage the transaction in SQL: JDBC's setAutoCommit(false) starts a deferred
+        // transaction, which takes no lock until the first write
+        conn.setAutoCommit(true);
+        try (Statement tx = conn.createStatement()) {
+            // Take the write lock up front (waiting for busy_timeout if another process holds it),
+            // so the version check below and the migration run under the same lock
+            tx.execute("BEGIN IMMEDIATE");
+            try {
+                // Another process may have migrated while we were waiting for the write lock
+                if (getSchemaVersion(conn) >= migration.getVersion()) {
+                    tx.execute("ROLLBACK");
+                    return;
+                }
+
+                migration.step.apply(conn);
+
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        "INSERT OR REPLACE INTO schema_version (version, description) VALUES (?, ?)")) {
+                    pstmt.setInt(1, migration.getVersion());
+                    pstmt.setString(2, migration.getDescription());
+                    pstmt.executeUpdate();
+                }
+                // user_version is part of the database header and commits with the transaction
+                tx.execute("PRAGMA user_version = " + migration.getVersion());
+
+                tx.execute("COMMIT");
+                logger.info("Applied schema migration " + migration.getVersion() + ": " + migration.getDescription());
+            } catch (SQLException e) {
+                SQLException failure = new SQLException(
+                    "Schema migration " + migration.getVersion() + " failed: " + e.getMessage(), e);
+                try {
+                    tx.execute("ROLLBACK");
+                } catch (SQLException rollbackError) {
+                    // SQLite may already have rolled back (e.g. disk full)
+                    failure.addSuppressed(rollbackError);
+                }
+                throw failure;
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Build a step that runs plain SQL statements in order
+     */
+    private static Step sql(String... statements) {
+        return conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                for (String statement : statements) {
+                    stmt.execute(statement);
+                }
+            }
+        };
+    }
+
+    /**
+     * Databases created by early versions have a resumes table without the flat
+     * education/experience columns. Read the column list once and add what is missing.
+     */
+    private static void addLegacyResumeColumns(Connection conn) throws SQLException {
+        Set<String> existing = new HashSet<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(resumes)")) {
+            while (rs.next()) {
+                existing.add(rs.getString("name").toLowerCase());
+            }
+        }
+
+        String[] columns = {"institution", "degree", "year", "job_title", "company", "duration", "description"};
+        try (Statement stmt = conn.createStatement()) {
+            for (String column : columns) {
+                if (!existing.contains(column)) {
+                    stmt.execute("ALTER TABLE resumes ADD COLUMN " + column + " TEXT");
+                    logger.info("Added column " + column + " to resumes");
+                }
+            }
+        }
+    }
+
+    /**
+     * Tables and triggers of the resume ranking index. Existing resumes are
+     * indexed by the application on first use, not here.
+     */
+    private static void createResumeSearchIndex(Connection conn) throws SQLException {
+        sql(
+            CREATE_RESUME_SEARCH_DOCS_TABLE,
+            CREATE_RESUME_SEARCH_TERMS_TABLE,
+            "CREATE INDEX IF NOT EXISTS idx_resume_search_terms_resume_id ON resume_search_terms(resume_id)",
+            CREATE_RESUME_SEARCH_DF_TABLE,
+            CREATE_RESUME_SEARCH_STATS_TABLE,
+            "INSERT OR IGNORE INTO resume_search_stats (id, doc_count, total_length) VALUES (0, 0, 0)"
+        ).apply(conn);
+        sql(CREATE_RESUME_SEARCH_TRIGGERS).apply(conn);
+    }
+
+    /**
+     * The FTS5 table, its triggers and the build state. Only the rows present
+     * now are left to the background build, so this step stays fast on a
+     * large database.
+     */
+    private static void createResumeFullTextIndex(Connection conn) throws SQLException {
+        sql(
+            CREATE_RESUMES_FTS_TABLE,
+            CREATE_RESUMES_FTS_STATE_TABLE,
+            // ORDER BY rank weighs the columns (name, skills, description, job_title, company, institution)
+            "INSERT INTO resumes_fts (resumes_fts, rank) VALUES ('rank', 'bm25(2.0, 4.0, 1.0, 4.0, 1.5, 1.0)')",
+            "INSERT OR IGNORE INTO resumes_fts_state (id, indexed_upto, backfill_end) "
+                + "VALUES (0, 0, COALESCE((SELECT MAX(id) FROM resumes), 0))"
+        ).apply(conn);
+        sql(CREATE_RESUMES_FTS_TRIGGERS).apply(conn);
+    }
+}
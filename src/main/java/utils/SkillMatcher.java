@@ -0,0 +1,313 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aho-Corasick matcher for a fixed list of skill names.
+ *
+ * Matching is case-insensitive and word-boundary aware: a pattern that starts
+ * (ends) with a letter or digit only matches where the text does not continue
+ * with one before (after) it, so "Go" does not match "Google" and "SQL" does
+ * not match "MySQL", while "C++" and "Node.js" still match as written.
+ *
+ * The automaton is compiled once into flat arrays and is immutable, so one
+ * instance can be shared by any number of threads. A scan is a single
+ * linear pass over the text.
+ */
+public final class SkillMatcher {
+
+    /**
+     * Receives every match: the pattern id and the [start, end) range in the text
+     */
+    public interface MatchHandler {
+        void onMatch(int patternId, int start, int end);
+    }
+
+    private final int[] patternLengths;
+    private final boolean[] wordStart;
+    private final boolean[] wordEnd;
+
+    // State s has edges edgeChars/edgeTargets[firstEdge[s] .. firstEdge[s + 1]), sorted by char
+    private final int[] firstEdge;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] fail;
+    // Pattern ending at the state, or -1
+    private final int[] output;
+    // Nearest state on the failure chain with an output, or -1
+    private final int[] outputLink;
+
+    private SkillMatcher(int[] patternLengths, boolean[] wordStart, boolean[] wordEnd,
+                         int[] firstEdge, char[] edgeChars, int[] edgeTargets,
+                         int[] fail, int[] output, int[] outputLink) {
+        this.patternLengths = patternLengths;
+        this.wordStart = wordStart;
+        this.wordEnd = wordEnd;
+        this.firstEdge = firstEdge;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.output = output;
+        this.outputLink = outputLink;
+    }
+
+    /**
+     * Build the automaton. Pattern ids are list indexes; blank patterns never
+     * match, and of several patterns equal ignoring case only the first does.
+     */
+    public static SkillMatcher compile(List<String> patterns) {
+        int count = patterns.size();
+        int[] lengths = new int[count];
+        boolean[] wordStart = new boolean[count];
+        boolean[] wordEnd = new boolean[count];
+
+        // Trie edges in a primitive hash keyed by (state << 16 | char)
+        EdgeTable trie = new EdgeTable(Math.max(16, count * 8));
+        int states = 1;
+        int[] outputs = new int[Math.max(16, count * 8)];
+        Arrays.fill(outputs, -1);
+
+        for (int id = 0; id < count; id++) {
+            String raw = patterns.get(id);
+            String pattern = raw != null ? raw.trim() : "";
+            lengths[id] = pattern.length();
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            wordStart[id] = isWordChar(pattern.charAt(0));
+            wordEnd[id] = isWordChar(pattern.charAt(pattern.length() - 1));
+
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                long key = edgeKey(state, fold(pattern.charAt(i)));
+                int next = trie.get(key);
+                if (next < 0) {
+                    next = states++;
+                    trie.put(key, next);
+                    if (next >= outputs.length) {
+                        int old = outputs.length;
+                        outputs = Arrays.copyOf(outputs, old * 2);
+                        Arrays.fill(outputs, old, outputs.length, -1);
+                    }
+                }
+                state = next;
+            }
+            if (outputs[state] < 0) {
+                outputs[state] = id;
+            }
+        }
+
+        // Sorting the keys groups edges by state, each group ordered by char
+        long[] keys = trie.keys();
+        Arrays.sort(keys);
+        int[] firstEdge = new int[states + 1];
+        char[] edgeChars = new char[keys.length];
+        int[] edgeTargets = new int[keys.length];
+        int state = 0;
+        for (int e = 0; e < keys.length; e++) {
+            int from = (int) (keys[e] >>> 16);
+            while (state < from) {
+                firstEdge[++state] = e;
+            }
+            edgeChars[e] = (char) keys[e];
+            edgeTargets[e] = trie.get(keys[e]);
+        }
+        while (state < states) {
+            firstEdge[++state] = keys.length;
+        }
+        int[] output = Arrays.copyOf(outputs, states);
+
+        // Failure and output links, breadth first
+        int[] fail = new int[states];
+        int[] outputLink = new int[states];
+        Arrays.fill(outputLink, -1);
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int e = firstEdge[0]; e < firstEdge[1]; e++) {
+            queue[tail++] = edgeTargets[e];
+        }
+        while (head < tail) {
+            int current = queue[head++];
+            for (int e = firstEdge[current]; e < firstEdge[current + 1]; e++) {
+                char c = edgeChars[e];
+                int child = edgeTargets[e];
+                int f = fail[current];
+                int target;
+                while ((target = step(firstEdge, edgeChars, edgeTargets, f, c)) < 0 && f != 0) {
+                    f = fail[f];
+                }
+                fail[child] = target >= 0 ? target : 0;
+                outputLink[child] = output[fail[child]] >= 0 ? fail[child] : outputLink[fail[child]];
+                queue[tail++] = child;
+            }
+        }
+
+        return new SkillMatcher(lengths, wordStart, wordEnd,
+            firstEdge, edgeChars, edgeTargets, fail, output, outputLink);
+    }
+
+    public int size() {
+        return patternLengths.length;
+    }
+
+    /**
+     * Report every word-bounded match in the text, in order of match end
+     */
+    public void match(CharSequence text, MatchHandler handler) {
+        int length = text.length();
+        int state = 0;
+        for (int i = 0; i < length; i++) {
+            char c = fold(text.charAt(i));
+            int next;
+            while ((next = step(firstEdge, edgeChars, edgeTargets, state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = next >= 0 ? next : 0;
+
+            int s = output[state] >= 0 ? state : outputLink[state];
+            while (s >= 0) {
+                int id = output[s];
+                int end = i + 1;
+                int start = end - patternLengths[id];
+                if ((!wordStart[id] || start == 0 || !isWordChar(text.charAt(start - 1)))
+                        && (!wordEnd[id] || end == length || !isWordChar(text.charAt(end)))) {
+                    handler.onMatch(id, start, end);
+                }
+                s = outputLink[s];
+            }
+        }
+    }
+
+    /**
+     * Ids of the patterns found in the text, each once, in ascending id order
+     */
+    public int[] findAll(CharSequence text) {
+        // Matches are few, so collect, sort and drop duplicates rather than
+        // allocating a flag per pattern
+        int[][] ids = {new int[8]};
+        int[] count = {0};
+        match(text, (id, start, end) -> {
+            if (count[0] == ids[0].length) {
+                ids[0] = Arrays.copyOf(ids[0], count[0] * 2);
+            }
+            ids[0][count[0]++] = id;
+        });
+        int[] found = ids[0];
+        Arrays.sort(found, 0, count[0]);
+        int unique = 0;
+        for (int i = 0; i < count[0]; i++) {
+            if (unique == 0 || found[unique - 1] != found[i]) {
+                found[unique++] = found[i];
+            }
+        }
+        return Arrays.copyOf(found, unique);
+    }
+
+    private static int step(int[] firstEdge, char[] edgeChars, int[] edgeTargets, int state, char c) {
+        int low = firstEdge[state];
+        int high = firstEdge[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char m = edgeChars[mid];
+            if (m < c) {
+                low = mid + 1;
+            } else if (m > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+
+    private static long edgeKey(int state, char c) {
+        return ((long) state << 16) | c;
+    }
+
+    /**
+     * Open-addressing long -> int map for trie edges, so building a large
+     * automaton does not allocate an object per edge
+     */
+    private static final class EdgeTable {
+        private long[] keys;
+        private int[] values;
+        private int size;
+
+        EdgeTable(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected * 2) - 1) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            Arrays.fill(keys, -1L);
+        }
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+                if (keys[i] == -1L) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (keys[i] != -1L && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == -1L) {
+                size++;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        long[] keys() {
+            long[] result = new long[size];
+            int n = 0;
+            for (long key : keys) {
+                if (key != -1L) {
+                    result[n++] = key;
+                }
+            }
+            return result;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            Arrays.fill(keys, -1L);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != -1L) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    private static char fold(char c) {
+        return c < 0x80
+            ? (c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c)
+            : Character.toLowerCase(c);
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+}
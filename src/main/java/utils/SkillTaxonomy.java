@@ -0,0 +1,730 @@
+package utils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The skill / category / job title taxonomy shared by the skill analyzer and
+ * the job matcher.
+ *
+ * The source is a UTF-8 tab separated file (resumebuilder.taxonomy.file,
+ * default resume_data/taxonomy.tsv), one skill per line:
+ *
+ *   skill &lt;TAB&gt; category &lt;TAB&gt; job title|job title|...
+ *
+ * Category and jobs are optional, and a skill may appear on several lines:
+ * the first category given wins and the job titles add up. Lines starting
+ * with # are comments.
+ *
+ * The source is compiled into a binary snapshot next to it (taxonomy.tsv.bin)
+ * holding a string table and int arrays only, which is memory-mapped, so a
+ * taxonomy of many thousands of skills costs almost no heap. The snapshot
+ * is rebuilt whenever the source changes, and get() picks up a changed
+ * source without a restart. Without a source file the built-in taxonomy
+ * is used.
+ *
+ * Skills are identified by their normalized name (lower case, single spaces),
+ * numbered in the byte order of that name, and looked up through hash
+ * tables stored in the snapshot.
+ */
+public final class SkillTaxonomy {
+    private static final Logger logger = Logger.getLogger(SkillTaxonomy.class.getName());
+
+    private static final int MAGIC = 0x52425458; // "RBTX"
+    private static final int VERSION = 1;
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final String DEFAULT_SOURCE = "resume_data/taxonomy.tsv";
+    private static final long CHECK_INTERVAL_MS = Long.getLong("resumebuilder.taxonomy.checkIntervalMs", 5000L);
+
+    private static final String BUILT_IN = """
+        # Skill categories, in display order
+        Java\tProgramming
+        Python\tProgramming
+        C++\tProgramming
+        C#\tProgramming
+        JavaScript\tProgramming
+        TypeScript\tProgramming
+        Ruby\tProgramming
+        PHP\tProgramming
+        Go\tProgramming
+        Swift\tProgramming
+        Kotlin\tProgramming
+        HTML\tWeb Development
+        CSS\tWeb Development
+        React\tWeb Development
+        Angular\tWeb Development
+        Vue\tWeb Development
+        Node.js\tWeb Development
+        Django\tWeb Development
+        Flask\tWeb Development
+        Spring\tWeb Development
+        Express\tWeb Development
+        SQL\tDatabase
+        MySQL\tDatabase
+        PostgreSQL\tDatabase
+        MongoDB\tDatabase
+        Oracle\tDatabase
+        SQLite\tDatabase
+        Redis\tDatabase
+        Cassandra\tDatabase
+        Git\tTools
+        Docker\tTools
+        Kubernetes\tTools
+        Jenkins\tTools
+        Maven\tTools
+        Gradle\tTools
+        JIRA\tTools
+        Confluence\tTools
+        AWS\tCloud
+        Azure\tCloud
+        GCP\tCloud
+        Heroku\tCloud
+        DigitalOcean\tCloud
+
+        # Job titles by skill
+        java\t\tJava Developer|Backend Developer|Software Engineer|Android Developer|Full Stack Developer
+        python\t\tPython Developer|Data Scientist|Machine Learning Engineer|Backend Developer|DevOps Engineer
+        javascript\t\tFrontend Developer|Full Stack Developer|React Developer|Node.js Developer|Web Developer
+        c++\t\tSystems Programmer|Game Developer|Embedded Systems Engineer|Software Engineer|Performance Engineer
+        c#\t\t.NET Developer|Unity Game Developer|Backend Developer|Software Engineer|Windows Developer
+        swift\t\tiOS Developer|Mobile Developer|Apple Platform Developer|Software Engineer
+        kotlin\t\tAndroid Developer|Mobile Developer|Backend Developer|Software Engineer
+        go\t\tBackend Developer|DevOps Engineer|Cloud Engineer|Systems Engineer
+        rust\t\tSystems Programmer|Blockchain Developer|Performance Engineer|Backend Developer
+        php\t\tPHP Developer|Web Developer|Backend Developer|WordPress Developer
+        ruby\t\tRuby Developer|Rails Developer|Backend Developer|Full Stack Developer
+        sql\t\tDatabase Administrator|Data Analyst|Backend Developer|Data Engineer
+        react\t\tReact Developer|Frontend Developer|Full Stack Developer|UI Developer
+        angular\t\tAngular Developer|Frontend Developer|Full Stack Developer|UI Developer
+        vue\t\tVue.js Developer|Frontend Developer|Full Stack Developer|UI Developer
+        node\t\tNode.js Developer|Backend Developer|Full Stack Developer|API Developer
+        spring\t\tJava Developer|Backend Developer|Microservices Developer|Enterprise Developer
+        django\t\tPython Developer|Backend Developer|Full Stack Developer|Web Developer
+        flask\t\tPython Developer|Backend Developer|API Developer|Web Developer
+        docker\t\tDevOps Engineer|Cloud Engineer|Platform Engineer|SRE
+        kubernetes\t\tDevOps Engineer|Cloud Engineer|Platform Engineer|SRE|Infrastructure Engineer
+        aws\t\tCloud Engineer|AWS Solutions Architect|DevOps Engineer|Cloud Developer
+        azure\t\tCloud Engineer|Azure Developer|DevOps Engineer|Cloud Architect
+        gcp\t\tCloud Engineer|GCP Developer|DevOps Engineer|Data Engineer
+        machine learning\t\tMachine Learning Engineer|Data Scientist|AI Engineer|Research Scientist
+        deep learning\t\tDeep Learning Engineer|AI Researcher|Computer Vision Engineer|NLP Engineer
+        tensorflow\t\tMachine Learning Engineer|AI Developer|Data Scientist|Research Engineer
+        pytorch\t\tMachine Learning Engineer|AI Developer|Research Scientist|Deep Learning Engineer
+        data analysis\t\tData Analyst|Business Analyst|Data Scientist|BI Developer
+        tableau\t\tData Analyst|BI Developer|Data Visualization Specialist|Business Analyst
+        power bi\t\tBI Developer|Data Analyst|Business Analyst|Report Developer
+        project management\t\tProject Manager|Scrum Master|Product Owner|Program Manager
+        agile\t\tScrum Master|Agile Coach|Project Manager|Product Owner
+        ui/ux\t\tUI/UX Designer|Product Designer|UX Researcher|Interaction Designer
+        graphic design\t\tGraphic Designer|Visual Designer|Brand Designer|Creative Director
+        marketing\t\tDigital Marketing Manager|Marketing Specialist|Content Marketing Manager|SEO Specialist
+        sales\t\tSales Representative|Account Executive|Business Development Manager|Sales Manager
+        communication\t\tCommunications Specialist|PR Manager|Content Writer|Marketing Coordinator
+        leadership\t\tTeam Lead|Engineering Manager|Director|VP of Engineering
+        """;
+
+    private static volatile SkillTaxonomy current;
+    private static volatile long nextCheck;
+
+    // Where this snapshot came from (null for the built-in one)
+    private final Path source;
+    private final long sourceModified;
+    private final long sourceLength;
+
+    private final ByteBuffer buffer;
+    private final IntBuffer stringOffsets;
+    private final int stringBase;
+    private final int maxSkillWords;
+    private final IntBuffer skillKey;
+    private final IntBuffer skillTable;
+    private final IntBuffer skillName;
+    private final IntBuffer skillCategory;
+    private final IntBuffer skillRank;
+    private final IntBuffer skillJobStart;
+    private final IntBuffer skillJobs;
+    private final IntBuffer categoryName;
+    private final IntBuffer categorySkillStart;
+    private final IntBuffer categorySkills;
+    private final IntBuffer jobTitle;
+    private final IntBuffer wordKey;
+    private final IntBuffer wordTable;
+    private final IntBuffer wordSkillStart;
+    private final IntBuffer wordSkills;
+
+    private SkillTaxonomy(ByteBuffer snapshot, Path source) {
+        ByteBuffer b = snapshot.duplicate();
+        if (b.getInt() != MAGIC || b.getInt() != VERSION) {
+            throw new IllegalArgumentException("Not a taxonomy snapshot");
+        }
+        this.source = source;
+        this.sourceModified = b.getLong();
+        this.sourceLength = b.getLong();
+        this.maxSkillWords = b.getInt();
+        this.buffer = snapshot;
+        this.stringOffsets = section(b);
+        int byteCount = b.getInt();
+        this.stringBase = b.position();
+        b.position(stringBase + pad(byteCount));
+        this.skillKey = section(b);
+        this.skillTable = section(b);
+        this.skillName = section(b);
+        this.skillCategory = section(b);
+        this.skillRank = section(b);
+        this.skillJobStart = section(b);
+        this.skillJobs = section(b);
+        this.categoryName = section(b);
+        this.categorySkillStart = section(b);
+        this.categorySkills = section(b);
+        this.jobTitle = section(b);
+        this.wordKey = section(b);
+        this.wordTable = section(b);
+        this.wordSkillStart = section(b);
+        this.wordSkills = section(b);
+    }
+
+    /**
+     * The current taxonomy. At most every few seconds this checks whether the
+     * source file changed and, if so, loads the new version.
+     */
+    public static SkillTaxonomy get() {
+        SkillTaxonomy taxonomy = current;
+        if (taxonomy != null && System.currentTimeMillis() < nextCheck) {
+            return taxonomy;
+        }
+        synchronized (SkillTaxonomy.class) {
+            long now = System.currentTimeMillis();
+            if (current == null || now >= nextCheck) {
+                nextCheck = now + CHECK_INTERVAL_MS;
+                refresh(false);
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Load the source file again now, even if it looks unchanged
+     */
+    public static synchronized SkillTaxonomy reload() {
+        nextCheck = System.currentTimeMillis() + CHECK_INTERVAL_MS;
+        refresh(true);
+        return current;
+    }
+
+    private static void refresh(boolean force) {
+        Path path = Paths.get(System.getProperty("resumebuilder.taxonomy.file", DEFAULT_SOURCE));
+        SkillTaxonomy loaded = current;
+        try {
+            if (Files.isRegularFile(path)) {
+                long modified = Files.getLastModifiedTime(path).toMillis();
+                long length = Files.size(path);
+                if (force || loaded == null || !path.equals(loaded.source)
+                        || loaded.sourceModified != modified || loaded.sourceLength != length) {
+                    current = load(path);
+                    logger.info("Skill taxonomy loaded from " + path + ": " + current.getSkillCount() + " skills, "
+                        + current.getCategoryCount() + " categories, " + current.getJobCount() + " job titles");
+                }
+                return;
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Could not load skill taxonomy " + path + ": " + e.getMessage(), e);
+            if (loaded != null) {
+                return; // keep the taxonomy we have
+            }
+        }
+        if (loaded == null || loaded.source != null) {
+            current = builtIn();
+        }
+    }
+
+    /**
+     * Map the snapshot for a source file, compiling it first if it is missing or stale
+     */
+    public static SkillTaxonomy load(Path sourceFile) throws IOException {
+        Path snapshot = Paths.get(sourceFile.toString() + SNAPSHOT_SUFFIX);
+        long modified = Files.getLastModifiedTime(sourceFile).toMillis();
+        long length = Files.size(sourceFile);
+
+        if (Files.isRegularFile(snapshot)) {
+            try {
+                SkillTaxonomy mapped = new SkillTaxonomy(map(snapshot), sourceFile);
+                if (mapped.sourceModified == modified && mapped.sourceLength == length) {
+                    return mapped;
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warning("Rebuilding unreadable taxonomy snapshot " + snapshot + ": " + e.getMessage());
+            }
+        }
+
+        byte[] bytes;
+        try (BufferedReader reader = Files.newBufferedReader(sourceFile, StandardCharsets.UTF_8)) {
+            bytes = compile(reader, modified, length);
+        }
+        try {
+            FileStorage.writeAtomically(snapshot, temp -> Files.write(temp, bytes));
+            return new SkillTaxonomy(map(snapshot), sourceFile);
+        } catch (IOException e) {
+            // e.g. the old snapshot is still mapped and cannot be replaced; use the bytes directly
+            logger.warning("Could not write taxonomy snapshot " + snapshot + ": " + e.getMessage());
+            return new SkillTaxonomy(ByteBuffer.wrap(bytes), sourceFile);
+        }
+    }
+
+    /**
+     * The taxonomy that ships with the application
+     */
+    public static SkillTaxonomy builtIn() {
+        try {
+            return new SkillTaxonomy(ByteBuffer.wrap(compile(new BufferedReader(new StringReader(BUILT_IN)), 0, 0)), null);
+        } catch (IOException e) {
+            throw new IllegalStateException("Built-in taxonomy is invalid", e);
+        }
+    }
+
+    private static ByteBuffer map(Path snapshot) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Lower case, trimmed, single spaces: the form skills are identified by
+     */
+    public static String normalize(String skill) {
+        return skill.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    // ---- Queries ----
+
+    public int getSkillCount() {
+        return skillKey.limit();
+    }
+
+    /**
+     * Display name of a skill, as written in the source
+     */
+    public String getSkillName(int skill) {
+        return string(skillName.get(skill));
+    }
+
+    /**
+     * Category id of a skill, or -1 if it has none
+     */
+    public int getSkillCategory(int skill) {
+        return skillCategory.get(skill);
+    }
+
+    /**
+     * Position of the skill within its category, in source order
+     */
+    public int getSkillRank(int skill) {
+        return skillRank.get(skill);
+    }
+
+    public int getSkillJobCount(int skill) {
+        return skillJobStart.get(skill + 1) - skillJobStart.get(skill);
+    }
+
+    public int getSkillJob(int skill, int index) {
+        return skillJobs.get(skillJobStart.get(skill) + index);
+    }
+
+    /**
+     * Most words in any skill name
+     */
+    public int getMaxSkillWords() {
+        return maxSkillWords;
+    }
+
+    public int getCategoryCount() {
+        return categoryName.limit();
+    }
+
+    public String getCategoryName(int category) {
+        return string(categoryName.get(category));
+    }
+
+    public int getCategorySkillCount(int category) {
+        return categorySkillStart.get(category + 1) - categorySkillStart.get(category);
+    }
+
+    /**
+     * Skills of a category in source order
+     */
+    public int getCategorySkill(int category, int index) {
+        return categorySkills.get(categorySkillStart.get(category) + index);
+    }
+
+    public int getJobCount() {
+        return jobTitle.limit();
+    }
+
+    public String getJobTitle(int job) {
+        return string(jobTitle.get(job));
+    }
+
+    /**
+     * Skill id for a normalized skill name, or -1
+     */
+    public int findSkill(CharSequence normalizedName) {
+        return find(skillTable, skillKey, normalizedName);
+    }
+
+    /**
+     * Id of a word that appears in multi-word skill names, or -1
+     */
+    public int findWord(CharSequence word) {
+        return find(wordTable, wordKey, word);
+    }
+
+    public int getWordSkillCount(int word) {
+        return wordSkillStart.get(word + 1) - wordSkillStart.get(word);
+    }
+
+    public int getWordSkill(int word, int index) {
+        return wordSkills.get(wordSkillStart.get(word) + index);
+    }
+
+    /**
+     * Probe an open-addressing table of (key index + 1) slots
+     */
+    private int find(IntBuffer table, IntBuffer keys, CharSequence key) {
+        int mask = table.limit() - 1;
+        if (mask < 0) {
+            return -1;
+        }
+        byte[] bytes = isAscii(key) ? null : key.toString().getBytes(StandardCharsets.UTF_8);
+        int hash = bytes == null ? hash(key) : hash(bytes);
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            int slot = table.get(i);
+            if (slot == 0) {
+                return -1;
+            }
+            int id = slot - 1;
+            if (bytes == null ? matches(keys.get(id), key) : matches(keys.get(id), bytes)) {
+                return id;
+            }
+        }
+    }
+
+    private boolean matches(int string, CharSequence ascii) {
+        int start = stringOffsets.get(string);
+        if (stringOffsets.get(string + 1) - start != ascii.length()) {
+            return false;
+        }
+        for (int i = 0; i < ascii.length(); i++) {
+            if (buffer.get(stringBase + start + i) != ascii.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matches(int string, byte[] key) {
+        int start = stringOffsets.get(string);
+        if (stringOffsets.get(string + 1) - start != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(stringBase + start + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAscii(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a over the UTF-8 bytes; for ASCII text the chars are the bytes
+    private static int hash(CharSequence ascii) {
+        int h = 0x811C9DC5;
+        for (int i = 0; i < ascii.length(); i++) {
+            h = (h ^ ascii.charAt(i)) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static int hash(byte[] bytes) {
+        int h = 0x811C9DC5;
+        for (byte b : bytes) {
+            h = (h ^ (b & 0xFF)) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private String string(int id) {
+        int start = stringOffsets.get(id);
+        byte[] bytes = new byte[stringOffsets.get(id + 1) - start];
+        buffer.get(stringBase + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static IntBuffer section(ByteBuffer b) {
+        int count = b.getInt();
+        ByteBuffer slice = b.slice(b.position(), count * Integer.BYTES);
+        b.position(b.position() + count * Integer.BYTES);
+        return slice.asIntBuffer();
+    }
+
+    private static int pad(int length) {
+        return (length + 3) & ~3;
+    }
+
+    // ---- Compiler ----
+
+    private static final class SkillEntry {
+        final String key;
+        final byte[] keyBytes;
+        final String name;
+        int category = -1;
+        int rank;
+        final List<Integer> jobs = new ArrayList<>();
+        int id;
+
+        SkillEntry(String key, String name) {
+            this.key = key;
+            this.keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            this.name = name;
+        }
+    }
+
+    /**
+     * Compile TSV source into snapshot bytes
+     * @throws IllegalArgumentException if a line is malformed
+     */
+    static byte[] compile(BufferedReader reader, long sourceModified, long sourceLength) throws IOException {
+        Map<String, SkillEntry> skills = new LinkedHashMap<>();
+        Map<String, Integer> categories = new LinkedHashMap<>();
+        List<List<SkillEntry>> categoryMembers = new ArrayList<>();
+        Map<String, Integer> jobs = new LinkedHashMap<>();
+
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.trim().startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t", -1);
+            String name = fields[0].trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Taxonomy line " + lineNumber + ": missing skill name");
+            }
+            if (fields.length > 3) {
+                throw new IllegalArgumentException("Taxonomy line " + lineNumber + ": expected at most 3 columns");
+            }
+            String key = normalize(name);
+            SkillEntry skill = skills.computeIfAbsent(key, k -> new SkillEntry(k, name));
+
+            String category = fields.length > 1 ? fields[1].trim() : "";
+            if (!category.isEmpty() && skill.category < 0) {
+                Integer categoryId = categories.get(category);
+                if (categoryId == null) {
+                    categoryId = categories.size();
+                    categories.put(category, categoryId);
+                    categoryMembers.add(new ArrayList<>());
+                }
+                skill.category = categoryId;
+                skill.rank = categoryMembers.get(categoryId).size();
+                categoryMembers.get(categoryId).add(skill);
+            }
+            if (fields.length > 2) {
+                for (String title : fields[2].split("\\|")) {
+                    String job = title.trim();
+                    if (!job.isEmpty()) {
+                        Integer jobId = jobs.computeIfAbsent(job, k -> jobs.size());
+                        if (!skill.jobs.contains(jobId)) {
+                            skill.jobs.add(jobId);
+                        }
+                    }
+                }
+            }
+        }
+
+        // Skill ids follow the byte order of the normalized names
+        List<SkillEntry> sorted = new ArrayList<>(skills.values());
+        sorted.sort((a, b) -> Arrays.compareUnsigned(a.keyBytes, b.keyBytes));
+        for (int i = 0; i < sorted.size(); i++) {
+            sorted.get(i).id = i;
+        }
+
+        // Words of multi-word skills
+        Map<String, List<Integer>> words = new HashMap<>();
+        int maxWords = 1;
+        for (SkillEntry skill : sorted) {
+            String[] parts = skill.key.split(" ");
+            maxWords = Math.max(maxWords, parts.length);
+            if (parts.length > 1) {
+                for (String part : parts) {
+                    List<Integer> ids = words.computeIfAbsent(part, k -> new ArrayList<>());
+                    if (ids.isEmpty() || ids.get(ids.size() - 1) != skill.id) {
+                        ids.add(skill.id);
+                    }
+                }
+            }
+        }
+        List<String> sortedWords = new ArrayList<>(words.keySet());
+        sortedWords.sort(Comparator.comparing((String w) -> w.getBytes(StandardCharsets.UTF_8), Arrays::compareUnsigned));
+
+        // String table
+        StringTable strings = new StringTable();
+        int[] skillKeys = new int[sorted.size()];
+        int[] skillNames = new int[sorted.size()];
+        int[] skillCategories = new int[sorted.size()];
+        int[] skillRanks = new int[sorted.size()];
+        int[] skillJobStarts = new int[sorted.size() + 1];
+        List<Integer> skillJobList = new ArrayList<>();
+        for (SkillEntry skill : sorted) {
+            skillKeys[skill.id] = strings.add(skill.key);
+            skillNames[skill.id] = strings.add(skill.name);
+            skillCategories[skill.id] = skill.category;
+            skillRanks[skill.id] = skill.rank;
+            skillJobStarts[skill.id] = skillJobList.size();
+            skillJobList.addAll(skill.jobs);
+        }
+        skillJobStarts[sorted.size()] = skillJobList.size();
+
+        int[] categoryNames = new int[categories.size()];
+        int[] categorySkillStarts = new int[categories.size() + 1];
+        List<Integer> categorySkillList = new ArrayList<>();
+        int c = 0;
+        for (String category : categories.keySet()) {
+            categoryNames[c] = strings.add(category);
+            categorySkillStarts[c] = categorySkillList.size();
+            for (SkillEntry skill : categoryMembers.get(c)) {
+                categorySkillList.add(skill.id);
+            }
+            c++;
+        }
+        categorySkillStarts[categories.size()] = categorySkillList.size();
+
+        int[] jobTitles = new int[jobs.size()];
+        for (Map.Entry<String, Integer> job : jobs.entrySet()) {
+            jobTitles[job.getValue()] = strings.add(job.getKey());
+        }
+
+        int[] wordKeys = new int[sortedWords.size()];
+        int[] wordSkillStarts = new int[sortedWords.size() + 1];
+        List<Integer> wordSkillList = new ArrayList<>();
+        for (int w = 0; w < sortedWords.size(); w++) {
+            wordKeys[w] = strings.add(sortedWords.get(w));
+            wordSkillStarts[w] = wordSkillList.size();
+            wordSkillList.addAll(words.get(sortedWords.get(w)));
+        }
+        wordSkillStarts[sortedWords.size()] = wordSkillList.size();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(sourceModified);
+        out.writeLong(sourceLength);
+        out.writeInt(maxWords);
+        strings.write(out);
+        writeInts(out, skillKeys);
+        writeInts(out, hashTable(sorted.stream().map(skill -> skill.keyBytes).toArray(byte[][]::new)));
+        writeInts(out, skillNames);
+        writeInts(out, skillCategories);
+        writeInts(out, skillRanks);
+        writeInts(out, skillJobStarts);
+        writeInts(out, skillJobList);
+        writeInts(out, categoryNames);
+        writeInts(out, categorySkillStarts);
+        writeInts(out, categorySkillList);
+        writeInts(out, jobTitles);
+        writeInts(out, wordKeys);
+        writeInts(out, hashTable(sortedWords.stream().map(w -> w.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new)));
+        writeInts(out, wordSkillStarts);
+        writeInts(out, wordSkillList);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Open-addressing table at most half full; slot = key index + 1, 0 = empty
+     */
+    private static int[] hashTable(byte[][] keys) {
+        int[] table = new int[keys.length == 0 ? 0 : Integer.highestOneBit(keys.length * 2 - 1) << 1];
+        int mask = table.length - 1;
+        for (int id = 0; id < keys.length; id++) {
+            int i = hash(keys[id]) & mask;
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = id + 1;
+        }
+        return table;
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static void writeInts(DataOutputStream out, List<Integer> values) throws IOException {
+        out.writeInt(values.size());
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    /**
+     * Deduplicated UTF-8 strings: an offsets section followed by the bytes
+     */
+    private static final class StringTable {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        private final List<Integer> offsets = new ArrayList<>();
+
+        int add(String value) {
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = offsets.size();
+                ids.put(value, id);
+                offsets.add(data.size());
+                data.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            }
+            return id;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            List<Integer> all = new ArrayList<>(offsets);
+            all.add(data.size());
+            writeInts(out, all);
+            out.writeInt(data.size());
+            data.writeTo(out);
+            for (int i = data.size(); i < pad(data.size()); i++) {
+                out.writeByte(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Writer that encodes UTF-8 directly into a pooled byte buffer and drains
+ * it to a channel when full, with no intermediate Strings or char[] copies.
+ * Closing flushes and returns the buffer to the pool; the channel stays open.
+ * Not thread-safe.
+ */
+public class Utf8ChannelWriter extends Writer {
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_POOLED = 16;
+    private static final BlockingQueue<ByteBuffer> POOL = new ArrayBlockingQueue<>(MAX_POOLED);
+
+    private final WritableByteChannel channel;
+    private ByteBuffer buffer;
+    private byte[] bytes;
+    private int count;
+    // High surrogate waiting for its pair across append calls
+    private char pendingHigh;
+
+    public Utf8ChannelWriter(WritableByteChannel channel) {
+        this.channel = channel;
+        ByteBuffer pooled = POOL.poll();
+        this.buffer = pooled != null ? pooled : ByteBuffer.allocate(BUFFER_SIZE);
+        this.bytes = buffer.array();
+    }
+
+    @Override
+    public Utf8ChannelWriter append(CharSequence csq) throws IOException {
+        CharSequence text = csq != null ? csq : "null";
+        return append(text, 0, text.length());
+    }
+
+    @Override
+    public Utf8ChannelWriter append(CharSequence csq, int start, int end) throws IOException {
+        CharSequence text = csq != null ? csq : "null";
+        ensureOpen();
+        for (int i = start; i < end; i++) {
+            encode(text.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public Utf8ChannelWriter append(char c) throws IOException {
+        ensureOpen();
+        encode(c);
+        return this;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        append((char) c);
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        append(str, off, off + len);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        for (int i = off; i < off + len; i++) {
+            encode(cbuf[i]);
+        }
+    }
+
+    private void encode(char c) throws IOException {
+        if (count > BUFFER_SIZE - 4) {
+            drain();
+        }
+        if (pendingHigh != 0) {
+            char high = pendingHigh;
+            pendingHigh = 0;
+            if (Character.isLowSurrogate(c)) {
+                int cp = Character.toCodePoint(high, c);
+                bytes[count++] = (byte) (0xF0 | (cp >> 18));
+                bytes[count++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                bytes[count++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                bytes[count++] = (byte) (0x80 | (cp & 0x3F));
+                return;
+            }
+            // Unpaired high surrogate
+            bytes[count++] = '?';
+            if (count > BUFFER_SIZE - 4) {
+                drain();
+            }
+        }
+        if (c < 0x80) {
+            bytes[count++] = (byte) c;
+        } else if (c < 0x800) {
+            bytes[count++] = (byte) (0xC0 | (c >> 6));
+            bytes[count++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            pendingHigh = c;
+        } else if (Character.isLowSurrogate(c)) {
+            bytes[count++] = '?';
+        } else {
+            bytes[count++] = (byte) (0xE0 | (c >> 12));
+            bytes[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            bytes[count++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.clear();
+        buffer.limit(count);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        count = 0;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        try {
+            if (pendingHigh != 0) {
+                pendingHigh = 0;
+                bytes[count++] = '?';
+            }
+            drain();
+        } finally {
+            buffer.clear();
+            POOL.offer(buffer);
+            buffer = null;
+            bytes = null;
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (buffer == null) {
+            throw new IOException("Writer closed");
+        }
+    }
+}
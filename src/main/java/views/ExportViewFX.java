@@ -50,7 +50,7 @@ public class ExportViewFX {
         VBox content = createContent();
         root.setCenter(content);
         
-        Scene scene = new Scene(root, 700, 550);
+        Scene scene = new Scene(root, 960, 550);
         stage.setScene(scene);
         stage.centerOnScreen();
         
@@ -125,6 +125,15 @@ public class ExportViewFX {
         );
         pdfCard.setOnMouseClicked(e -> exportToPDF());
         
+        // Image PDF Card
+        VBox imagePdfCard = createExportCard(
+            "Image PDF",
+            "Exact copy of\nthe preview",
+            "#f39c12", "#d35400",
+            "🖼"
+        );
+        imagePdfCard.setOnMouseClicked(e -> exportToImagePDF());
+        
         // Word Card
         VBox wordCard = createExportCard(
             "Word Document",
@@ -134,7 +143,7 @@ public class ExportViewFX {
         );
         wordCard.setOnMouseClicked(e -> exportToWord());
         
-        cardsRow.getChildren().addAll(pdfCard, wordCard);
+        cardsRow.getChildren().addAll(pdfCard, imagePdfCard, wordCard);
         
         content.getChildren().addAll(headerText, subText, cardsRow);
         
@@ -213,6 +222,73 @@ public class ExportViewFX {
             return;
         }
         
+        File file = choosePdfFile();
+        if (file != null) {
+            boolean success = PDFExportManager.exportToPDF(resume, file.getAbsolutePath());
+            if (success) {
+                showAlert(Alert.AlertType.INFORMATION, "PDF exported successfully!\n" + file.getAbsolutePath());
+            } else {
+                showAlert(Alert.AlertType.ERROR, "Failed to export PDF!");
+            }
+        }
+    }
+    
+    /**
+     * Export page images of the on-screen preview, at a resolution and
+     * encoding chosen by the user
+     */
+    private void exportToImagePDF() {
+        Resume resume = ResumeManager.getLastResume();
+        if (resume == null) {
+            showAlert(Alert.AlertType.ERROR, "No resume found. Please create one first!");
+            return;
+        }
+        
+        ComboBox<Integer> dpiCombo = new ComboBox<>();
+        dpiCombo.getItems().addAll(96, 144, 216, 300);
+        if (!dpiCombo.getItems().contains(PDFExportManager.DEFAULT_RASTER_DPI)) {
+            dpiCombo.getItems().add(PDFExportManager.DEFAULT_RASTER_DPI);
+        }
+        dpiCombo.setValue(PDFExportManager.DEFAULT_RASTER_DPI);
+        
+        // Same order as PDFExportManager.ImageEncoding
+        ComboBox<String> encodingCombo = new ComboBox<>();
+        encodingCombo.getItems().addAll("Lossless (fastest)", "Lossless (smaller file)", "JPEG (smallest file)");
+        encodingCombo.getSelectionModel().select(PDFExportManager.ImageEncoding.LOSSLESS.ordinal());
+        
+        GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(10);
+        grid.setPadding(new Insets(20));
+        grid.addRow(0, new Label("Resolution (DPI):"), dpiCombo);
+        grid.addRow(1, new Label("Image encoding:"), encodingCombo);
+        
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.initOwner(stage);
+        dialog.setTitle("Image PDF");
+        dialog.setHeaderText("Pages are pictures of the preview; text cannot be selected or searched.");
+        dialog.getDialogPane().setContent(grid);
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+        if (dialog.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK) {
+            return;
+        }
+        int dpi = dpiCombo.getValue();
+        PDFExportManager.ImageEncoding encoding =
+            PDFExportManager.ImageEncoding.values()[encodingCombo.getSelectionModel().getSelectedIndex()];
+        
+        File file = choosePdfFile();
+        if (file != null) {
+            // Snapshots are taken of JavaFX nodes, so this runs here on the FX thread
+            boolean success = PDFExportManager.exportSnapshotToPDF(resume, file.getAbsolutePath(), dpi, encoding);
+            if (success) {
+                showAlert(Alert.AlertType.INFORMATION, "PDF exported successfully!\n" + file.getAbsolutePath());
+            } else {
+                showAlert(Alert.AlertType.ERROR, "Failed to export PDF!");
+            }
+        }
+    }
+    
+    private File choosePdfFile() {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Save PDF");
         fileChooser.setInitialFileName("resume.pdf");
@@ -231,15 +307,7 @@ public class ExportViewFX {
             new FileChooser.ExtensionFilter("PDF Files", "*.pdf")
         );
         
-        File file = fileChooser.showSaveDialog(stage);
-        if (file != null) {
-            boolean success = PDFExportManager.exportToPDF(resume, file.getAbsolutePath());
-            if (success) {
-                showAlert(Alert.AlertType.INFORMATION, "PDF exported successfully!\n" + file.getAbsolutePath());
-            } else {
-                showAlert(Alert.AlertType.ERROR, "Failed to export PDF!");
-            }
-        }
+        return fileChooser.showSaveDialog(stage);
     }
     
     private void exportToWord() {
@@ -250,8 +318,8 @@ public class ExportViewFX {
         }
         
         FileChooser fileChooser = new FileChooser();
-        fileChooser.setTitle("Save Resume as Text");
-        fileChooser.setInitialFileName("resume.txt");
+        fileChooser.setTitle("Save Resume as Word Document");
+        fileChooser.setInitialFileName("resume.docx");
         
         // Set initial directory to user's Documents folder
         String userHome = System.getProperty("user.home");
@@ -264,19 +332,19 @@ public class ExportViewFX {
         }
         
         fileChooser.getExtensionFilters().add(
-            new FileChooser.ExtensionFilter("Text Files", "*.txt")
+            new FileChooser.ExtensionFilter("Word Documents", "*.docx")
         );
         fileChooser.getExtensionFilters().add(
-            new FileChooser.ExtensionFilter("All Files", "*.*")
+            new FileChooser.ExtensionFilter("Text Files", "*.txt")
         );
         
         File file = fileChooser.showSaveDialog(stage);
         if (file != null) {
             String filePath = file.getAbsolutePath();
-            // Ensure .txt extension
-            if (!filePath.toLowerCase().endsWith(".txt")) {
-                filePath = filePath + ".txt";
-                                    
+            // Ensure .docx extension unless plain text was chosen
+            String lower = filePath.toLowerCase();
+            if (!lower.endsWith(".docx") && !lower.endsWith(".txt")) {
+                filePath = lower.endsWith(".doc") ? filePath + "x" : filePath + ".docx";
             }
             
             // Show progress
@@ -307,10 +375,9 @@ public class ExportViewFX {
                 }
                 
                 if (savedFile.exists() && savedFile.length() > 0) {
-                    String message = "Resume exported successfully as text file!\n\n" + 
+                    String message = "Resume exported successfully!\n\n" + 
                                    "Saved to: " + savedFile.getAbsolutePath() + "\n" +
-                                   "File size: " + (savedFile.length() / 1024) + " KB\n\n" +
-                                   "Note: This is a .txt file that can be opened in Word or any text editor.";
+                                   "File size: " + (savedFile.length() / 1024) + " KB";
                         
                     showAlert(Alert.AlertType.INFORMATION, message);
                     
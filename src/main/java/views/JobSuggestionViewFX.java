@@ -21,6 +21,8 @@ import managers.AIJobSuggestionManager;
 import managers.AIJobSuggestionManager.JobSuggestion;
 import managers.AIJobSuggestionManager.JobListing;
 import managers.LinkedInManager;
+import managers.ResumeSkillAnalyzer;
+import models.Resume;
 
 import java.util.List;
 
@@ -355,7 +357,10 @@ public class JobSuggestionViewFX {
                 Thread.sleep(1000); // Simulate AI thinking
             } catch (InterruptedException ignored) {}
             
-            List<JobSuggestion> suggestions = AIJobSuggestionManager.suggestJobsFromSkills(skills);
+            // Cached by content, so asking again for the same skills is a lookup
+            Resume query = new Resume();
+            query.setSkills(skills);
+            List<JobSuggestion> suggestions = ResumeSkillAnalyzer.analyze(query).jobSuggestions;
             
             javafx.application.Platform.runLater(() -> {
                 resultsContainer.getChildren().clear();
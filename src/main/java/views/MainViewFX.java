@@ -182,9 +182,13 @@ public class MainViewFX {
             "-fx-padding: 5 15;"
         ));
         logoutBtn.setOnAction(e -> {
-            SessionManager.logout();
-            new LoginViewFX().show();
-            stage.close();
+            // Queued saves are written first; keep the window inert until then
+            logoutBtn.setText("Saving...");
+            stage.getScene().getRoot().setDisable(true);
+            SessionManager.logout(() -> {
+                new LoginViewFX().show();
+                stage.close();
+            });
         });
         
         // Close button
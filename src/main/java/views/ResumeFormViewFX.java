@@ -16,8 +16,8 @@ import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import javafx.util.Duration;
-import managers.ResumeManager;
 import managers.AutoSaveManager;
+import managers.ResumeWriteQueue;
 import models.Resume;
 import utils.ValidationUtils;
 import java.util.Timer;
@@ -29,6 +29,7 @@ import java.util.TimerTask;
 public class ResumeFormViewFX {
     private Stage stage;
     private boolean isEditMode = false;
+    private Resume loadedResume; // Resume being edited (keeps entries the form doesn't show)
     
     private TextField txtName, txtEmail, txtPhone, txtAddress;
     private TextField txtInstitution, txtDegree, txtYear;
@@ -39,6 +40,20 @@ public class ResumeFormViewFX {
     private Timer debounceTimer;
     private TimerTask debounceTask;
     
+    // Tells the user when a background save fails (the queue keeps retrying it)
+    private final ResumeWriteQueue.FailureListener saveFailureListener = (userId, attempts) -> {
+        if (attempts == 1) {
+            Platform.runLater(() -> {
+                Alert alert = new Alert(Alert.AlertType.WARNING);
+                alert.setTitle("Save failed");
+                alert.setHeaderText(null);
+                alert.setContentText("Your resume could not be saved. It will be retried automatically; "
+                    + "your changes are kept until then.");
+                alert.show();
+            });
+        }
+    };
+    
     public ResumeFormViewFX() {
         stage = new Stage();
         stage.setTitle("Resume Builder - Create Resume");
@@ -49,6 +64,7 @@ public class ResumeFormViewFX {
     public ResumeFormViewFX(Resume resume) {
         this();
         isEditMode = true;
+        loadedResume = resume;
         stage.setTitle("Resume Builder - Edit Resume");
         loadResumeData(resume);
     }
@@ -392,10 +408,9 @@ public class ResumeFormViewFX {
             txtDescription.getText().trim(),
             txtSkills.getText().trim()
         );
+        copyEntries(resume);
         
-        ResumeManager.saveResume(resume);
-        
-        // Trigger immediate auto-save after manual save
+        // Saved in the background so the UI thread never waits on the database
         AutoSaveManager.triggerAutoSave(resume);
         
         showAlert(Alert.AlertType.INFORMATION, "Resume saved successfully!");
@@ -410,6 +425,8 @@ public class ResumeFormViewFX {
     }
     
     public void show() {
+        ResumeWriteQueue.addFailureListener(saveFailureListener);
+        stage.setOnHidden(e -> ResumeWriteQueue.removeFailureListener(saveFailureListener));
         stage.show();
         // Start auto-save when form is shown
         startAutoSave();
@@ -506,7 +523,7 @@ public class ResumeFormViewFX {
             name = "Draft Resume";
         }
         
-        return new Resume(
+        Resume resume = new Resume(
             name,
             txtEmail.getText().trim(),
             txtPhone.getText().trim(),
@@ -520,5 +537,18 @@ public class ResumeFormViewFX {
             txtDescription.getText().trim(),
             txtSkills.getText().trim()
         );
+        copyEntries(resume);
+        return resume;
+    }
+    
+    /**
+     * Carry over the additional education/experience entries of the resume being edited
+     */
+    private void copyEntries(Resume resume) {
+        if (loadedResume != null) {
+            Resume copy = new Resume(loadedResume); // deep copy of the entries
+            resume.setEducationEntries(copy.getEducationEntries());
+            resume.setExperienceEntries(copy.getExperienceEntries());
+        }
     }
 }
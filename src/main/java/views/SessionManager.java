@@ -1,12 +1,13 @@
 package views;
 
+import javafx.application.Platform;
 import models.User;
 
 /**
  * Session Manager - Handles user session state
  */
 public class SessionManager {
-    private static User currentUser = null;
+    private static volatile User currentUser = null;
     
     public static void setCurrentUser(User user) {
         currentUser = user;
@@ -20,11 +21,24 @@ public class SessionManager {
         return currentUser != null;
     }
     
-    public static void logout() {
-        // Clear resume cache and theme settings cache when logging out
-        managers.ResumeManager.clearCache();
-        managers.ThemeSettingsManager.clearCache();
-        currentUser = null;
+    /**
+     * Log out without blocking the JavaFX thread: queued saves are written on a
+     * background thread, then the caches and the session are cleared and
+     * onLoggedOut runs on the JavaFX thread.
+     */
+    public static void logout(Runnable onLoggedOut) {
+        Thread flush = new Thread(() -> {
+            managers.ResumeWriteQueue.flush();
+            Platform.runLater(() -> {
+                // Clear resume cache and theme settings cache when logging out
+                managers.ResumeManager.clearCache();
+                managers.ThemeSettingsManager.clearCache();
+                currentUser = null;
+                onLoggedOut.run();
+            });
+        }, "logout-flush");
+        flush.setDaemon(true);
+        flush.start();
     }
     
     public static String getCurrentUsername() {
@@ -289,25 +289,23 @@ public class SignUpViewFX {
             return;
         }
         
-        // Check which field already exists for better error message
-        if (UserManager.usernameExists(username)) {
-            showAlert(Alert.AlertType.ERROR, "Username already exists! Please choose a different username.");
-            return;
-        }
-        
-        if (UserManager.emailExists(email)) {
-            showAlert(Alert.AlertType.ERROR, "Email already exists! If you have an account, please use the Sign In button to login.");
-            return;
-        }
-        
-        boolean success = UserManager.registerUser(username, email, password, fullName);
-        
-        if (success) {
-            showAlert(Alert.AlertType.INFORMATION, "Account created successfully! Please login.");
-            new LoginViewFX().show();
-            stage.close();
-        } else {
-            showAlert(Alert.AlertType.ERROR, "Registration failed! Please check your input and try again.");
+        // One INSERT; the database reports which field already exists
+        UserManager.RegistrationResult result = UserManager.register(username, email, password, fullName);
+        
+        switch (result) {
+            case SUCCESS:
+                showAlert(Alert.AlertType.INFORMATION, "Account created successfully! Please login.");
+                new LoginViewFX().show();
+                stage.close();
+                break;
+            case DUPLICATE_USERNAME:
+                showAlert(Alert.AlertType.ERROR, "Username already exists! Please choose a different username.");
+                break;
+            case DUPLICATE_EMAIL:
+                showAlert(Alert.AlertType.ERROR, "Email already exists! If you have an account, please use the Sign In button to login.");
+                break;
+            default:
+                showAlert(Alert.AlertType.ERROR, "Registration failed! Please check your input and try again.");
         }
     }
     
@@ -0,0 +1,60 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import utils.LegacySha256PasswordHasher;
+import utils.Pbkdf2PasswordHasher;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of password verification cost.
+ * Use it to size login throughput against PBKDF2 iteration counts on the target hardware:
+ *   java -cp target/test-classes:target/classes:&lt;test classpath&gt; benchmarks.PasswordHashBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PasswordHashBenchmark {
+    
+    @Param({"100000", "210000", "600000"})
+    public int iterations;
+    
+    private static final String PASSWORD = "correct horse battery staple";
+    
+    private Pbkdf2PasswordHasher pbkdf2;
+    private String pbkdf2Hash;
+    private LegacySha256PasswordHasher legacy;
+    private String legacyHash;
+    
+    @Setup
+    public void setup() {
+        pbkdf2 = new Pbkdf2PasswordHasher(iterations);
+        pbkdf2Hash = pbkdf2.hash(PASSWORD);
+        legacy = new LegacySha256PasswordHasher();
+        legacyHash = legacy.hash(PASSWORD);
+    }
+    
+    @Benchmark
+    public boolean verifyPbkdf2() {
+        return pbkdf2.verify(PASSWORD, pbkdf2Hash);
+    }
+    
+    @Benchmark
+    public boolean verifyLegacySha256() {
+        return legacy.verify(PASSWORD, legacyHash);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(PasswordHashBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
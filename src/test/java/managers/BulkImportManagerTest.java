@@ -0,0 +1,238 @@
+package managers;
+
+import utils.DatabaseManager;
+import utils.ImportRecordReader;
+import utils.Pbkdf2PasswordHasher;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for bulk import: CSV quoting and line numbers, JSON-lines rejection,
+ * per-row error reporting, and rows that fail part way leaving nothing behind
+ */
+public class BulkImportManagerTest {
+    private static int failures = 0;
+
+    // Usernames and emails unique to this run, so the test can share a database
+    private static final String RUN = Long.toString(Math.floorMod(System.nanoTime(), 60_466_176L), 36);
+    private static final String FAIL_TERM = "zzfail" + RUN;
+    private static final String FAIL_NAME = "Idx Fail " + RUN;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Bulk Import Test Suite ===\n");
+
+        System.out.println("Test 1: CSV quoting and line numbers");
+        List<ImportRecordReader.Record> records = readAll(ImportRecordReader.Format.CSV,
+            "Username,EMAIL,password,skills\n"
+            + "ann,ann@example.com,secret1,\"Java, SQL\"\n"
+            + "bob,bob@example.com,\"say \"\"hi\"\"\",\"line one\n"
+            + "line two\"\n"
+            + "\n"
+            + "cat,cat@example.com,secret3\n"
+            + "dan,dan@example.com,secret4,Go,extra\n");
+        check("four records", records.size() == 4);
+        check("header names lower-cased", "ann".equals(records.get(0).get("username"))
+            && "ann@example.com".equals(records.get(0).get("email")));
+        check("quoted comma kept in the field", "Java, SQL".equals(records.get(0).get("skills")));
+        check("doubled quotes unescaped", "say \"hi\"".equals(records.get(1).get("password")));
+        check("quoted newline kept in the field", "line one\nline two".equals(records.get(1).get("skills")));
+        check("multi-line row reported at the line it starts on", records.get(1).getLineNumber() == 3);
+        check("later rows keep their own line numbers", records.get(2).getLineNumber() == 6);
+        check("short row allowed", records.get(2).isValid() && records.get(2).get("skills") == null);
+        check("too many columns rejected", !records.get(3).isValid() && records.get(3).getLineNumber() == 7
+            && records.get(3).getError().contains("Expected 4 columns"));
+
+        System.out.println("\nTest 2: JSON lines");
+        records = readAll(ImportRecordReader.Format.JSONL,
+            "{\"username\": \"ann\", \"email\": \"ann@example.com\", \"year\": 2020, \"phone\": null}\n"
+            + "\n"
+            + "{\"username\": \"bob\", \"skills\": [\"Java\"]}\n"
+            + "{\"username\": \"cat\"} trailing\n"
+            + "{\"username\": \"dan\", \"note\": \"tab\\there \\u00e9\"}\n"
+            + "not json\n");
+        check("five records, blank line skipped", records.size() == 5);
+        check("values read", records.get(0).isValid() && "2020".equals(records.get(0).get("year"))
+            && records.get(0).get("phone") == null);
+        check("nested values rejected", !records.get(1).isValid() && records.get(1).getLineNumber() == 3
+            && records.get(1).getError().startsWith("Invalid JSON"));
+        check("trailing characters rejected", !records.get(2).isValid() && records.get(2).getLineNumber() == 4);
+        check("escapes decoded", "tab\there \u00e9".equals(records.get(3).get("note")));
+        check("non-JSON line rejected", !records.get(4).isValid() && records.get(4).getLineNumber() == 6);
+        check("format from the file name", ImportRecordReader.Format.fromFileName("users.NDJSON") == ImportRecordReader.Format.JSONL
+            && ImportRecordReader.Format.fromFileName("users.csv") == ImportRecordReader.Format.CSV);
+
+        DatabaseManager.initializeDatabase();
+        try {
+            createFailureTriggers();
+            importRows();
+        } finally {
+            dropFailureTriggers();
+        }
+
+        System.out.println("\n=== " + (failures == 0 ? "All tests passed" : failures + " test(s) failed") + " ===");
+        DatabaseManager.shutdown();
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static void importRows() throws Exception {
+        System.out.println("\nTest 3: Per-row errors");
+        String goodHash = new Pbkdf2PasswordHasher(Pbkdf2PasswordHasher.MIN_ITERATIONS).hash("secret123");
+        String truncatedHash = goodHash.substring(0, goodHash.length() - 8);
+        String csv = "username,email,password,password_hash,full_name,name,skills\n"
+            + row("ok1", "secret1", "", "Ann One", "Ann One", "Java") // line 2
+            + row("bademail", "secret1", "", "", "", "").replace(user("bademail") + "@example.com", "nope") // 3
+            + row("shortpw", "abc", "", "", "", "") // 4
+            + row("trunc", "", truncatedHash, "", "", "") // 5
+            + row("junk", "", Pbkdf2PasswordHasher.PREFIX + "x$y$z", "", "", "") // 6
+            + row("foreign", "", "$2a$10$abcdefghijklmnopqrstuv", "", "", "") // 7
+            + row("hashed", "", goodHash, "Pre Hashed", "", "") // 8
+            + row("ok1", "secret1", "", "", "", "") // 9: duplicate username
+            + row("resfail", "secret1", "", "", "FAIL", "Java") // 10: resume insert fails
+            + row("idxfail", "secret1", "", "", FAIL_NAME, "Java, " + FAIL_TERM) // 11: indexing fails
+            + row("ok2", "secret1", "", "", "", ""); // 12: no resume columns
+
+        BulkImportManager.ImportReport report = importCsv(csv, 3);
+        check("all rows read", report.getRowsRead() == 11);
+        check("valid rows written in batches of three", report.getBatches() == 2);
+        check("users counted only for rows that were kept", report.getUsersCreated() == 3);
+        check("resumes counted only for rows that were kept", report.getResumesCreated() == 1);
+        check("one error per bad row", report.getErrors().size() == 8);
+        check("invalid email", hasError(report, 3, "Invalid email"));
+        check("invalid password", hasError(report, 4, "Invalid password"));
+        check("truncated hash rejected", hasError(report, 5, "Malformed password_hash"));
+        check("unparseable hash rejected", hasError(report, 6, "Malformed password_hash"));
+        check("other hash formats rejected", hasError(report, 7, "Unsupported password_hash format"));
+        check("duplicate username", hasError(report, 9, "Username already exists"));
+        check("resume failure reported", hasError(report, 10, "resume rejected"));
+        check("indexing failure reported", hasError(report, 11, "term rejected"));
+        check("errors in line order", isSortedByLine(report.getErrors()));
+
+        check("good rows stored", userExists("ok1") && userExists("hashed") && userExists("ok2"));
+        check("rejected rows not stored", !userExists("trunc") && !userExists("junk") && !userExists("foreign"));
+        check("row whose resume failed left no user", !userExists("resfail"));
+        check("row whose indexing failed left no user", !userExists("idxfail"));
+        check("row whose indexing failed left no resume or postings", count(
+            "SELECT (SELECT COUNT(*) FROM resumes WHERE name = '" + FAIL_NAME + "')"
+            + " + (SELECT COUNT(*) FROM resume_search_terms WHERE term = '" + FAIL_TERM + "')") == 0);
+        check("imported resume is searchable", count(
+            "SELECT COUNT(*) FROM resumes r JOIN users u ON u.id = r.user_id"
+            + " JOIN resume_search_terms t ON t.resume_id = r.id"
+            + " WHERE u.username = '" + user("ok1") + "' AND t.term = 'java'") == 1);
+        check("pre-encoded hash can log in", UserManager.login(user("hashed"), "secret123") != null);
+
+        System.out.println("\nTest 4: Rerunning after the failures are fixed");
+        dropFailureTriggers();
+        report = importCsv(csv, 3);
+        check("failed rows now imported", report.getUsersCreated() == 2 && report.getResumesCreated() == 2
+            && userExists("resfail") && userExists("idxfail"));
+        check("previously failed rows not reported as duplicates",
+            !hasError(report, 10, "already exists") && !hasError(report, 11, "already exists"));
+        check("previously imported rows are duplicates", hasError(report, 2, "Username already exists")
+            && hasError(report, 8, "Username already exists") && hasError(report, 12, "Username already exists"));
+    }
+
+    private static String user(String name) {
+        return "bi" + RUN + "_" + name;
+    }
+
+    private static String row(String name, String password, String hash, String fullName,
+                              String resumeName, String skills) {
+        String username = user(name);
+        return String.join(",", username, username + "@example.com", password, hash, fullName,
+            resumeName, "\"" + skills + "\"") + "\n";
+    }
+
+    private static List<ImportRecordReader.Record> readAll(ImportRecordReader.Format format, String text)
+            throws IOException {
+        List<ImportRecordReader.Record> records = new ArrayList<>();
+        try (ImportRecordReader reader = new ImportRecordReader(new BufferedReader(new StringReader(text)), format)) {
+            ImportRecordReader.Record record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    private static BulkImportManager.ImportReport importCsv(String csv, int batchSize) throws IOException {
+        try (ImportRecordReader reader = new ImportRecordReader(
+                new BufferedReader(new StringReader(csv)), ImportRecordReader.Format.CSV)) {
+            return BulkImportManager.importRecords(reader, batchSize);
+        }
+    }
+
+    private static boolean hasError(BulkImportManager.ImportReport report, int line, String message) {
+        for (BulkImportManager.RowError error : report.getErrors()) {
+            if (error.getLineNumber() == line && error.getMessage() != null && error.getMessage().contains(message)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSortedByLine(List<BulkImportManager.RowError> errors) {
+        for (int i = 1; i < errors.size(); i++) {
+            if (errors.get(i).getLineNumber() < errors.get(i - 1).getLineNumber()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean userExists(String name) throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT 1 FROM users WHERE username = ?")) {
+            pstmt.setString(1, user(name));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static long count(String sql) throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : -1;
+        }
+    }
+
+    /**
+     * Make a resume named FAIL fail to insert, and this run's FAIL_TERM fail
+     * to index, both after the row's user has been inserted
+     */
+    private static void createFailureTriggers() throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS test_import_resume_fail BEFORE INSERT ON resumes"
+                + " WHEN NEW.name = 'FAIL' BEGIN SELECT RAISE(ABORT, 'resume rejected'); END");
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS test_import_term_fail BEFORE INSERT ON resume_search_terms"
+                + " WHEN NEW.term = '" + FAIL_TERM + "' BEGIN SELECT RAISE(ABORT, 'term rejected'); END");
+        }
+    }
+
+    private static void dropFailureTriggers() throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TRIGGER IF EXISTS test_import_resume_fail");
+            stmt.execute("DROP TRIGGER IF EXISTS test_import_term_fail");
+        }
+    }
+
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "  ✓ " : "  ✗ ") + name);
+        if (!passed) {
+            failures++;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package managers;
+
+import utils.SkillTaxonomy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for JobMatchIndex.match(): phrase n-grams, partial matches and the
+ * order of the top jobs
+ */
+public class JobMatchIndexTest {
+    private static int failures = 0;
+
+    // Job ids follow first appearance: ML Engineer 0, Data Scientist 1, Teacher 2, ...
+    private static final String TAXONOMY = String.join("\n",
+        "machine learning\t\tML Engineer|Data Scientist",
+        "learning\t\tTeacher",
+        "power bi\t\tBI Developer",
+        "node\t\tNode Developer",
+        "java\t\tJava Developer|Backend Developer",
+        "go\t\tGo Developer|Backend Developer",
+        "");
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Job Match Index Test Suite ===\n");
+        Path dir = Files.createTempDirectory("jobmatch");
+        Path source = dir.resolve("taxonomy.tsv");
+        Files.write(source, TAXONOMY.getBytes(StandardCharsets.UTF_8));
+        JobMatchIndex index = new JobMatchIndex(SkillTaxonomy.load(source));
+
+        System.out.println("Test 1: Phrase n-grams");
+        check("a two-word skill matches exactly",
+            jobs(index, "Machine Learning", 5).equals(List.of("ML Engineer:10", "Data Scientist:10", "Teacher:10")));
+        check("phrases do not span segments", jobs(index, "machine, learning", 5)
+            .equals(List.of("Teacher:10", "ML Engineer:5", "Data Scientist:5")));
+        check("phrase inside a longer segment", jobs(index, "reporting in power bi daily", 5).equals(List.of("BI Developer:10")));
+        check("one word of a phrase is a partial match", jobs(index, "bi", 5).equals(List.of("BI Developer:5")));
+        check("dotted word part is a partial match", jobs(index, "Node.js", 5).equals(List.of("Node Developer:5")));
+
+        System.out.println("\nTest 2: Scores");
+        check("a skill counts once", jobs(index, "Java, java; JAVA", 5)
+            .equals(List.of("Java Developer:10", "Backend Developer:10")));
+        check("jobs add up across skills", jobs(index, "Java, Go", 5)
+            .equals(List.of("Backend Developer:20", "Java Developer:10", "Go Developer:10")));
+
+        System.out.println("\nTest 3: Top-K and ties");
+        check("ties go to the earlier job", jobs(index, "Go\nJava", 5)
+            .equals(List.of("Backend Developer:20", "Java Developer:10", "Go Developer:10")));
+        check("limit 1 keeps the best", jobs(index, "Java, Go", 1).equals(List.of("Backend Developer:20")));
+        check("a tie at the cut keeps the earlier job", jobs(index, "Java, Go", 2)
+            .equals(List.of("Backend Developer:20", "Java Developer:10")));
+        check("tie order does not depend on input order",
+            jobs(index, "learning, machine learning", 2).equals(jobs(index, "machine learning, learning", 2))
+                && jobs(index, "learning, machine learning", 2).equals(List.of("ML Engineer:10", "Data Scientist:10")));
+
+        System.out.println("\nTest 4: Nothing to match");
+        check("unknown skills", jobs(index, "Cobol, Fortran", 5).isEmpty());
+        check("null text", jobs(index, null, 5).isEmpty());
+        check("zero limit", jobs(index, "Java", 0).isEmpty());
+        check("scratch is reset between calls", jobs(index, "Java", 5)
+            .equals(List.of("Java Developer:10", "Backend Developer:10")));
+
+        Files.deleteIfExists(Path.of(source + ".bin"));
+        Files.delete(source);
+        Files.delete(dir);
+
+        System.out.println("\n=== " + (failures == 0 ? "All tests passed" : failures + " test(s) failed") + " ===");
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static List<String> jobs(JobMatchIndex index, String text, int limit) {
+        JobMatchIndex.Matches matches = index.match(text, limit);
+        List<String> jobs = new ArrayList<>();
+        for (int i = 0; i < matches.size(); i++) {
+            jobs.add(matches.title(i) + ":" + matches.score(i));
+        }
+        return jobs;
+    }
+
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "  ✓ " : "  ✗ ") + name);
+        if (!passed) {
+            failures++;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package managers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for the page breaking of snapshot PDF exports: computePageBreaks()
+ */
+public class PDFExportManagerTest {
+    private static int failures = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== PDF Export Page Break Test Suite ===\n");
+
+        System.out.println("Test 1: Content that fits on one page");
+        check("one page", pages(List.of(0.0, 200.0), 0, 800, 1000).equals(List.of("0-800")));
+        check("exactly one page", pages(List.of(), 0, 1000, 1000).equals(List.of("0-1000")));
+        check("empty content", pages(List.of(), 50, 50, 1000).isEmpty());
+
+        System.out.println("\nTest 2: Breaks at the last block top that fits");
+        check("breaks before the block that would be cut",
+            pages(List.of(0.0, 300.0, 700.0, 1100.0), 0, 1500, 1000).equals(List.of("0-700", "700-1500")));
+        check("block exactly at the page edge",
+            pages(List.of(0.0, 1000.0), 0, 1500, 1000).equals(List.of("0-1000", "1000-1500")));
+        check("unsorted block tops", pages(List.of(700.0, 0.0, 300.0), 0, 1500, 1000).equals(List.of("0-700", "700-1500")));
+
+        System.out.println("\nTest 3: Blocks taller than a page are cut at the page edge");
+        check("single tall block", pages(List.of(0.0), 0, 2500, 1000).equals(List.of("0-1000", "1000-2000", "2000-2500")));
+        check("tall block after a short one",
+            pages(List.of(0.0, 100.0), 0, 2300, 1000).equals(List.of("0-100", "100-1100", "1100-2100", "2100-2300")));
+
+        System.out.println("\nTest 4: Offset content");
+        check("starts below zero", pages(List.of(40.0, 640.0), 40, 1240, 1000).equals(List.of("40-640", "640-1240")));
+        check("block at the page top does not make an empty page",
+            pages(List.of(40.0, 40.5), 40, 1240, 1000).equals(List.of("40-1040", "1040-1240")));
+
+        System.out.println("\nTest 5: Pages are contiguous and bounded");
+        List<Double> tops = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            tops.add(i * 137.0);
+        }
+        List<double[]> breaks = PDFExportManager.computePageBreaks(tops, 0, 40 * 137.0, 1000);
+        boolean contiguous = breaks.get(0)[0] == 0 && breaks.get(breaks.size() - 1)[1] == 40 * 137.0;
+        boolean bounded = true;
+        for (int i = 0; i < breaks.size(); i++) {
+            bounded &= breaks.get(i)[1] - breaks.get(i)[0] <= 1000;
+            if (i > 0) {
+                contiguous &= breaks.get(i)[0] == breaks.get(i - 1)[1];
+            }
+        }
+        check("no gaps or overlaps", contiguous);
+        check("no page taller than the page height", bounded);
+
+        System.out.println("\n=== " + (failures == 0 ? "All tests passed" : failures + " test(s) failed") + " ===");
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static List<String> pages(List<Double> blockTops, double start, double end, double pageHeight) {
+        List<String> pages = new ArrayList<>();
+        for (double[] page : PDFExportManager.computePageBreaks(blockTops, start, end, pageHeight)) {
+            pages.add(Math.round(page[0]) + "-" + Math.round(page[1]));
+        }
+        return pages;
+    }
+
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "  ✓ " : "  ✗ ") + name);
+        if (!passed) {
+            failures++;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package managers;
+
+import models.Education;
+import models.Experience;
+import models.Resume;
+import models.User;
+import utils.DatabaseManager;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Save/load round trips of education and experience entries through
+ * ResumeManager and ResumeEntryStore
+ */
+public class ResumeEntryStoreTest {
+    private static int failures = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Resume Entry Store Test Suite ===\n");
+        DatabaseManager.initializeDatabase();
+        int userId = createUser("entrystore");
+        int otherUserId = createUser("entrystore2");
+
+        System.out.println("Test 1: Save and reload new entries");
+        Resume resume = new Resume();
+        resume.setName("Entry Test");
+        resume.addEducation(education("MIT", "MSc", "2022"));
+        resume.addEducation(education("Stanford", "BSc", "2019"));
+        resume.addExperience(new Experience("Engineer", "Acme", "2020", "2022", "Built things"));
+        check("saved", ResumeManager.saveResume(userId, resume));
+        Resume loaded = reload(userId);
+        check("education in order", institutions(loaded).equals(List.of("MIT", "Stanford")));
+        check("experience loaded", loaded.getExperienceEntries().size() == 1
+            && loaded.getExperienceEntries().get(0).sameContent(resume.getExperienceEntries().get(0)));
+        check("saved entries got their row ids", sameIds(resume.getEducationEntries(), loaded.getEducationEntries())
+            && resume.getExperienceEntries().get(0).getId() == loaded.getExperienceEntries().get(0).getId());
+
+        System.out.println("\nTest 2: Ids of rows added to an existing list");
+        // Rows of another resume in between, so ids are not in step with positions
+        Resume other = new Resume();
+        other.setName("Other");
+        for (int i = 0; i < 3; i++) {
+            other.addEducation(education("Other " + i, "BA", "2010"));
+        }
+        check("other saved", ResumeManager.saveResume(otherUserId, other));
+        Resume edited = new Resume(loaded);
+        List<Education> educations = new ArrayList<>(edited.getEducationEntries());
+        educations.add(education("Harvard", "PhD", "2025"));
+        educations.add(education("Yale", "MBA", "2026"));
+        edited.setEducationEntries(educations);
+        check("saved with two more", ResumeManager.saveResume(userId, edited));
+        Resume reloaded = reload(userId);
+        check("four entries in order", institutions(reloaded).equals(List.of("MIT", "Stanford", "Harvard", "Yale")));
+        check("new entries carry the ids of their rows", sameIds(edited.getEducationEntries(), reloaded.getEducationEntries()));
+        check("existing rows kept their ids",
+            reloaded.getEducationEntries().get(0).getId() == loaded.getEducationEntries().get(0).getId());
+
+        System.out.println("\nTest 3: Edit, reorder and delete");
+        Resume changed = new Resume(reloaded);
+        List<Education> reordered = new ArrayList<>(changed.getEducationEntries());
+        int yaleId = reordered.get(3).getId();
+        reordered.remove(1);                        // drop Stanford
+        Education yale = reordered.remove(2);       // move Yale first
+        yale.setGpa("4.0");                         // and edit it
+        reordered.add(0, yale);
+        changed.setEducationEntries(reordered);
+        changed.setExperienceEntries(List.of());
+        check("saved", ResumeManager.saveResume(userId, changed));
+        Resume afterEdit = reload(userId);
+        check("new order", institutions(afterEdit).equals(List.of("Yale", "MIT", "Harvard")));
+        check("edited entry updated in place", afterEdit.getEducationEntries().get(0).getId() == yaleId
+            && "4.0".equals(afterEdit.getEducationEntries().get(0).getGpa()));
+        check("experience deleted", afterEdit.getExperienceEntries().isEmpty());
+        check("other resume untouched", reload(otherUserId).getEducationEntries().size() == 3);
+
+        System.out.println("\nTest 4: Unchanged resave keeps everything");
+        Resume again = new Resume(afterEdit);
+        check("saved", ResumeManager.saveResume(userId, again));
+        check("same ids", sameIds(afterEdit.getEducationEntries(), reload(userId).getEducationEntries()));
+
+        System.out.println("\n=== " + (failures == 0 ? "All tests passed" : failures + " test(s) failed") + " ===");
+        DatabaseManager.shutdown();
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static int createUser(String username) {
+        UserManager.registerUser(username, username + "@example.com", "password123", "Entry Store");
+        User user = UserManager.login(username, "password123");
+        if (user == null) {
+            throw new IllegalStateException("Could not create test user " + username);
+        }
+        return user.getId();
+    }
+
+    /**
+     * Read the resume back from the database rather than the cache
+     */
+    private static Resume reload(int userId) {
+        ResumeManager.clearAllCaches();
+        return ResumeManager.getResume(userId);
+    }
+
+    private static Education education(String institution, String degree, String year) {
+        return new Education(institution, degree, year);
+    }
+
+    private static List<String> institutions(Resume resume) {
+        List<String> names = new ArrayList<>();
+        for (Education education : resume.getEducationEntries()) {
+            names.add(education.getInstitution());
+        }
+        return names;
+    }
+
+    private static boolean sameIds(List<Education> a, List<Education> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i).getId() <= 0 || a.get(i).getId() != b.get(i).getId()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "  ✓ " : "  ✗ ") + name);
+        if (!passed) {
+            failures++;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package managers;
+
+import models.Resume;
+import utils.DatabaseManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Tests for ResumeFullTextSearch: query translation, the triggers that keep
+ * resumes_fts in sync, and the background build of rows that predate it.
+ * The database may already hold other resumes, so users and searched words
+ * are unique to each run.
+ */
+public class ResumeFullTextSearchTest {
+    private static int failures = 0;
+    private static int nextUser = 0;
+
+    private static final String RUN = Long.toString(Math.floorMod(System.nanoTime(), 60_466_176L), 36);
+    private static final String COBOL = "cobol" + RUN;
+    private static final String HASKELL = "haskell" + RUN;
+    private static final String RUST = "rust" + RUN;
+    private static final String ELIXIR = "elixir" + RUN;
+
+    private static final int OLD_ROWS = 2500;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Resume Full-Text Search Test Suite ===\n");
+
+        System.out.println("Test 1: toMatchExpression");
+        check("no words", ResumeFullTextSearch.toMatchExpression(null) == null
+            && ResumeFullTextSearch.toMatchExpression("") == null
+            && ResumeFullTextSearch.toMatchExpression(" ,;- ") == null);
+        check("one word is exact or prefix",
+            "(\"java\" OR \"java\"*)".equals(ResumeFullTextSearch.toMatchExpression("java")));
+        check("all words required, the last as a prefix",
+            "\"Java\" AND (\"dev\" OR \"dev\"*)".equals(ResumeFullTextSearch.toMatchExpression("Java dev")));
+        check("operators and quotes are plain words",
+            "\"java\" AND \"OR\" AND (\"NEAR\" OR \"NEAR\"*)".equals(ResumeFullTextSearch.toMatchExpression("java\" OR NEAR(")));
+        check("C++ and C# kept whole",
+            "\"C++\" AND (\"C#\" OR \"C#\"*)".equals(ResumeFullTextSearch.toMatchExpression("C++, C#")));
+
+        DatabaseManager.initializeDatabase();
+
+        System.out.println("\nTest 2: Building the index for rows that predate it");
+        int oldUser = insertOldResumes();
+        try (Connection conn = DatabaseManager.getConnection()) {
+            // Edited before the build reached it: the trigger must leave it to the build
+            execute(conn, "UPDATE resumes SET skills = '" + HASKELL + "' WHERE user_id = " + oldUser);
+            // Deleted before the build reached it
+            execute(conn, "DELETE FROM resumes WHERE user_id = " + (oldUser + 1));
+        }
+        int newUser = save("Fresh Start", RUST + ", Go", "Systems programmer");
+        check("new resume searchable before the build", total(RUST) == 1);
+        ResumeFullTextSearch.startIndexBuild();
+        long deadline = System.currentTimeMillis() + 60000;
+        while (!ResumeFullTextSearch.isIndexComplete() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        check("build completes", ResumeFullTextSearch.isIndexComplete());
+        check("all old rows indexed", total(COBOL) == OLD_ROWS - 2);
+        check("row edited before the build has its new content", total(HASKELL) == 1);
+        check("deleted row not indexed", total(role(1)) == 0 && total(role(2)) == 1);
+        check("index matches the resumes table", integrityCheck());
+
+        System.out.println("\nTest 3: Triggers keep the index in sync");
+        ResumeFullTextSearch.SearchPage page = ResumeFullTextSearch.search(RUST + " sys", 0, 10);
+        check("prefix of the last word", page.totalHits == 1 && page.hits.get(0).userId == newUser);
+        check("snippet highlights the match", page.hits.get(0).snippet.contains(
+            ResumeFullTextSearch.HIGHLIGHT_START + RUST + ResumeFullTextSearch.HIGHLIGHT_END));
+        Resume edited = new Resume();
+        edited.setName("Fresh Start");
+        edited.setSkills(ELIXIR);
+        edited.setDescription("Systems programmer");
+        check("saved", ResumeManager.saveResume(newUser, edited));
+        check("old words gone after an update", total(RUST) == 0);
+        check("new words found after an update", total(ELIXIR) == 1);
+        try (Connection conn = DatabaseManager.getConnection()) {
+            execute(conn, "DELETE FROM resumes WHERE user_id = " + newUser);
+            execute(conn, "DELETE FROM resumes WHERE user_id = " + (oldUser + 2));
+        }
+        check("deleted rows gone", total(ELIXIR) == 0 && total(COBOL) == OLD_ROWS - 3);
+        check("index still matches the resumes table", integrityCheck());
+
+        System.out.println("\nTest 4: Paging");
+        page = ResumeFullTextSearch.search(COBOL, 1, 50);
+        check("page of results", page.hits.size() == 50 && page.totalHits == OLD_ROWS - 3);
+        check("page count", page.getPageCount() == (OLD_ROWS - 3 + 49) / 50 && page.hasNextPage());
+        check("past the last page", ResumeFullTextSearch.search(COBOL, 1000, 50).hits.isEmpty());
+
+        System.out.println("\n=== " + (failures == 0 ? "All tests passed" : failures + " test(s) failed") + " ===");
+        DatabaseManager.shutdown();
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Insert resumes, then reset the index to the state a database upgraded
+     * to version 7 starts in: empty, with every existing row left to the build.
+     * Returns the user id of the first resume.
+     */
+    private static int insertOldResumes() throws SQLException {
+        int first = -1;
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement user = conn.prepareStatement(
+                     "INSERT INTO users (username, email, password) VALUES (?, ?, 'x') RETURNING id");
+                 PreparedStatement resume = conn.prepareStatement(
+                     "INSERT INTO resumes (user_id, name, job_title, skills) VALUES (?, ?, ?, ?)")) {
+                for (int i = 0; i < OLD_ROWS; i++) {
+                    int n = nextUser++;
+                    user.setString(1, "fts" + RUN + "_" + n);
+                    user.setString(2, "fts" + RUN + "_" + n + "@example.com");
+                    int userId;
+                    try (ResultSet rs = user.executeQuery()) {
+                        rs.next();
+                        userId = rs.getInt(1);
+                    }
+                    if (first < 0) {
+                        first = userId;
+                    }
+                    resume.setInt(1, userId);
+                    resume.setString(2, "Old " + i);
+                    resume.setString(3, role(i));
+                    resume.setString(4, COBOL + ", Fortran");
+                    resume.addBatch();
+                }
+                resume.executeBatch();
+            }
+            execute(conn, "INSERT INTO resumes_fts (resumes_fts) VALUES ('delete-all')");
+            execute(conn, "UPDATE resumes_fts_state SET indexed_upto = 0, "
+                + "backfill_end = (SELECT MAX(id) FROM resumes) WHERE id = 0");
+            conn.commit();
+            conn.setAutoCommit(true);
+        }
+        return first;
+    }
+
+    private static int save(String name, String skills, String description) throws SQLException {
+        int userId;
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement insert = conn.prepareStatement(
+                 "INSERT INTO users (username, email, password) VALUES (?, ?, 'x') RETURNING id")) {
+            int n = nextUser++;
+            insert.setString(1, "fts" + RUN + "_" + n);
+            insert.setString(2, "fts" + RUN + "_" + n + "@example.com");
+            try (ResultSet rs = insert.executeQuery()) {
+                rs.next();
+                userId = rs.getInt(1);
+            }
+        }
+        Resume resume = new Resume();
+        resume.setName(name);
+        resume.setSkills(skills);
+        resume.setDescription(description);
+        if (!ResumeManager.saveResume(userId, resume)) {
+            throw new IllegalStateException("Could not save resume for " + name);
+        }
+        return userId;
+    }
+
+    private static String role(int i) {
+        return "role" + RUN + "n" + i + "x";
+    }
+
+    private static int total(String query) {
+        return ResumeFullTextSearch.search(query, 0, 1).totalHits;
+    }
+
+    /**
+     * FTS5's own check of the index against the content table
+     */
+    private static boolean integrityCheck() throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection()) {
+            execute(conn, "INSERT INTO resumes_fts (resumes_fts, rank) VALUES ('integrity-check', 1)");
+            return true;
+        } catch (SQLException e) {
+            System.out.println("    " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static void execute(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "  ✓ " : "  ✗ ") + name);
+        if (!passed) {
+            failures++;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package managers;
+
+import models.Resume;
+import utils.DatabaseManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ranking of stored resumes with ResumeSearchIndex.rankResumes(), including
+ * queries made of terms that most resumes share. The database may already hold
+ * other resumes (earlier runs, other tests), so users and the rare terms are
+ * unique to each run and counts only consider resumes this run stored.
+ */
+public class ResumeSearchIndexTest {
+    private static int failures = 0;
+    private static int nextUser = 0;
+
+    private static final String RUN = Long.toString(Math.floorMod(System.nanoTime(), 60_466_176L), 36);
+    // Rare terms no other resume contains
+    private static final String DEVELOPER = "developer" + RUN;
+    private static final String KOTLIN = "kotlin" + RUN;
+    // Large enough to return every matching resume
+    private static final int ALL = 1_000_000;
+
+    private static final Set<Integer> stored = new HashSet<>();
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Resume Search Index Test Suite ===\n");
+        DatabaseManager.initializeDatabase();
+
+        // 150 resumes that all list Java; none of them has the rare DEVELOPER term
+        for (int i = 0; i < 150; i++) {
+            save("Engineer " + i, "Software Engineer", "Java, SQL", "Worked on backend services " + i);
+        }
+        String javaDeveloper = "Java " + DEVELOPER;
+
+        System.out.println("Test 1: Queries made only of common terms");
+        List<ResumeSearchIndex.RankedResume> ranked = ResumeSearchIndex.rankResumes(javaDeveloper, 5);
+        check("\"Java developer\" returns 5 results", ranked.size() == 5);
+        check("results are scored", !ranked.isEmpty() && ranked.get(0).score > 0);
+        check("\"Java\" alone returns 5 results", ResumeSearchIndex.rankResumes("Java", 5).size() == 5);
+        check("more results than asked for are cut", ResumeSearchIndex.rankResumes("Java SQL", 20).size() == 20);
+        check("every stored resume matches", countStored(ResumeSearchIndex.rankResumes("Java SQL", ALL)) == 150);
+
+        System.out.println("\nTest 2: Rare terms rank first, fewer matches than the limit");
+        int dev1 = save("Dev One", "Java " + DEVELOPER, "Java, Spring", DEVELOPER + " of payment systems");
+        int dev2 = save("Dev Two", "Backend " + DEVELOPER, "Java, Kafka", "Built APIs");
+        ranked = ResumeSearchIndex.rankResumes(javaDeveloper, 5);
+        check("still 5 results", ranked.size() == 5);
+        check("the two developers come first", ranked.size() >= 2
+            && List.of(ranked.get(0).userId, ranked.get(1).userId).containsAll(List.of(dev1, dev2)));
+        check("best first", isSorted(ranked));
+
+        System.out.println("\nTest 3: Common terms still count once the top results are settled");
+        int[] kotlin = new int[6];
+        for (int i = 0; i < kotlin.length; i++) {
+            // The first three are strong Kotlin matches that also list Java; the rest mention Kotlin once
+            kotlin[i] = i < 3
+                ? save("Kotlin " + i, KOTLIN + " Engineer", KOTLIN + ", Java", KOTLIN + " services")
+                : save("Kotlin " + i, "Engineer", "Rust", "Tried " + KOTLIN + " once");
+        }
+        ranked = ResumeSearchIndex.rankResumes(KOTLIN + " Java", 3);
+        check("3 results", ranked.size() == 3);
+        boolean allStrong = true;
+        for (ResumeSearchIndex.RankedResume result : ranked) {
+            allStrong &= result.userId == kotlin[0] || result.userId == kotlin[1] || result.userId == kotlin[2];
+        }
+        check("the strong Kotlin matches win", allStrong);
+        check("each score is the Kotlin score plus the Java score",
+            ranked.size() == 3 && sumsMatch(ranked, ResumeSearchIndex.rankResumes(KOTLIN, 10),
+                ResumeSearchIndex.rankResumes("Java", ALL)));
+        check("best first", isSorted(ranked));
+
+        System.out.println("\nTest 4: Nothing to match");
+        check("unknown term", ResumeSearchIndex.rankResumes("haskell" + RUN, 5).isEmpty());
+        check("stop words only", ResumeSearchIndex.rankResumes("the and of", 5).isEmpty());
+        check("zero limit", ResumeSearchIndex.rankResumes("Java", 0).isEmpty());
+
+        System.out.println("\n=== " + (failures == 0 ? "All tests passed" : failures + " test(s) failed") + " ===");
+        DatabaseManager.shutdown();
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Store a resume for a new user (inserted directly; password hashing is not under test)
+     */
+    private static int save(String name, String jobTitle, String skills, String description) throws Exception {
+        int userId;
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement insert = conn.prepareStatement(
+                 "INSERT INTO users (username, email, password) VALUES (?, ?, 'x') RETURNING id")) {
+            int n = nextUser++;
+            insert.setString(1, "search" + RUN + "_" + n);
+            insert.setString(2, "search" + RUN + "_" + n + "@example.com");
+            try (ResultSet rs = insert.executeQuery()) {
+                rs.next();
+                userId = rs.getInt(1);
+            }
+        }
+        Resume resume = new Resume();
+        resume.setName(name);
+        resume.setJobTitle(jobTitle);
+        resume.setSkills(skills);
+        resume.setDescription(description);
+        if (!ResumeManager.saveResume(userId, resume)) {
+            throw new IllegalStateException("Could not save resume for " + name);
+        }
+        stored.add(userId);
+        return userId;
+    }
+
+    private static int countStored(List<ResumeSearchIndex.RankedResume> ranked) {
+        int count = 0;
+        for (ResumeSearchIndex.RankedResume result : ranked) {
+            if (stored.contains(result.userId)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean sumsMatch(List<ResumeSearchIndex.RankedResume> ranked,
+                                     List<ResumeSearchIndex.RankedResume> first,
+                                     List<ResumeSearchIndex.RankedResume> second) {
+        for (ResumeSearchIndex.RankedResume result : ranked) {
+            double expected = scoreOf(first, result.userId) + scoreOf(second, result.userId);
+            if (Math.abs(result.score - expected) > 1e-9) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double scoreOf(List<ResumeSearchIndex.RankedResume> ranked, int userId) {
+        for (ResumeSearchIndex.RankedResume result : ranked) {
+            if (result.userId == userId) {
+                return result.score;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isSorted(List<ResumeSearchIndex.RankedResume> ranked) {
+        for (int i = 1; i < ranked.size(); i++) {
+            if (ranked.get(i).score > ranked.get(i - 1).score) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "  ✓ " : "  ✗ ") + name);
+        if (!passed) {
+            failures++;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package managers;
+
+import models.Resume;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for ResumeTemplate and the built-in templates: each built-in renders
+ * exactly what the hand-written formatter it replaced did (kept below as
+ * the reference), plus the template syntax and its errors
+ */
+public class ResumeTemplateTest {
+    private static int failures = 0;
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== Resume Template Test Suite ===\n");
+
+        System.out.println("Test 1: Built-in templates match the old layouts");
+        for (Resume resume : samples()) {
+            String label = resume.getName() != null ? "\"" + resume.getName() + "\"" : "all fields null";
+            check("modern, " + label, formatModern(resume).equals(
+                TemplateManager.formatResume(resume, TemplateManager.TemplateType.MODERN)));
+            check("classic, " + label, formatClassic(resume).equals(
+                TemplateManager.formatResume(resume, TemplateManager.TemplateType.CLASSIC)));
+            check("creative, " + label, formatCreative(resume).equals(
+                TemplateManager.formatResume(resume, TemplateManager.TemplateType.CREATIVE)));
+            check("professional, " + label, formatProfessional(resume).equals(
+                TemplateManager.formatResume(resume, TemplateManager.TemplateType.PROFESSIONAL)));
+        }
+        Resume sample = samples().get(0);
+        StringWriter writer = new StringWriter();
+        TemplateManager.renderResume(sample, "professional", writer);
+        check("renderResume writes the same text", writer.toString().equals(formatProfessional(sample)));
+        check("names are case-insensitive", TemplateManager.formatResume(sample, " Classic ").equals(formatClassic(sample)));
+        check("unknown names use the modern template", TemplateManager.formatResume(sample, "nope").equals(formatModern(sample)));
+        check("no resume, no text", TemplateManager.formatResume(null, "modern").isEmpty());
+
+        System.out.println("\nTest 2: Template syntax");
+        Resume resume = new Resume();
+        resume.setName("Ada Lovelace");
+        resume.setSkills("Math, Engines,  , Poetry");
+        check("fields and upper case", render("{{name}} / {{ name:upper }}", resume).equals("Ada Lovelace / ADA LOVELACE"));
+        check("null field is empty", render("[{{email}}]", resume).equals("[]"));
+        check("sections", render("{{#name}}has name{{/name}}{{^email}}, no email{{/email}}{{#email}}x{{/email}}", resume)
+            .equals("has name, no email"));
+        check("lists skip blank elements", render("{{*skills}}<{{.}}>{{/skills}}", resume).equals("<Math><Engines><Poetry>"));
+        check("block tags alone on a line leave no blank line",
+            render("A\n{{#email}}\nE\n{{/email}}\n  {{! note }}\nB\n", resume).equals("A\nB\n"));
+        check("values are not parsed as tags", render("{{name}}", named("{{email}}")).equals("{{email}}"));
+
+        System.out.println("\nTest 3: Malformed templates");
+        check("unclosed tag", rejects("{{name"));
+        check("empty tag", rejects("{{ }}"));
+        check("unknown field", rejects("{{nickname}}"));
+        check("unknown modifier", rejects("{{name:lower}}"));
+        check("unclosed block", rejects("{{#name}}x"));
+        check("mismatched block end", rejects("{{#name}}x{{/email}}"));
+        check("item outside a list", rejects("{{.}}"));
+
+        System.out.println("\n=== " + (failures == 0 ? "All tests passed" : failures + " test(s) failed") + " ===");
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static List<Resume> samples() {
+        List<Resume> samples = new ArrayList<>();
+        samples.add(new Resume("John Doe", "john@example.com", "123-456-7890", "123 Main St",
+            "University of Test", "Bachelor of Science", "2020",
+            "Software Engineer", "Tech Corp", "2020-2023", "Built services.\nLed a team of 4.", "Java, Python, SQL"));
+        samples.add(new Resume());
+        Resume empty = new Resume("", "", "", "", "", "", "", "", "", "", "", "");
+        samples.add(empty);
+        samples.add(named("Zoë Ünal"));
+        return samples;
+    }
+
+    private static Resume named(String name) {
+        Resume resume = new Resume();
+        resume.setName(name);
+        resume.setSkills("Go");
+        return resume;
+    }
+
+    private static String render(String source, Resume resume) throws IOException {
+        StringBuilder out = new StringBuilder();
+        ResumeTemplate.compile("test", source).render(resume, out);
+        return out.toString();
+    }
+
+    private static boolean rejects(String source) {
+        try {
+            ResumeTemplate.compile("test", source);
+            return false;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    // ---- The formatters the built-in templates replaced, unchanged ----
+
+    private static String formatModern(Resume resume) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("╔═══════════════════════════════════════╗\n");
+        sb.append("║          RESUME - MODERN STYLE       ║\n");
+        sb.append("╚═══════════════════════════════════════╝\n\n");
+
+        sb.append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
+        sb.append("PERSONAL INFORMATION\n");
+        sb.append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
+        sb.append("Name: ").append(resume.getName() != null ? resume.getName() : "").append("\n");
+        sb.append("Email: ").append(resume.getEmail() != null ? resume.getEmail() : "").append("\n");
+        sb.append("Phone: ").append(resume.getPhone() != null ? resume.getPhone() : "").append("\n");
+        sb.append("Address: ").append(resume.getAddress() != null ? resume.getAddress() : "").append("\n\n");
+
+        sb.append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
+        sb.append("EDUCATION\n");
+        sb.append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
+        sb.append("Institution: ").append(resume.getInstitution() != null ? resume.getInstitution() : "").append("\n");
+        sb.append("Degree: ").append(resume.getDegree() != null ? resume.getDegree() : "").append("\n");
+        sb.append("Year: ").append(resume.getYear() != null ? resume.getYear() : "").append("\n\n");
+
+        sb.append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
+        sb.append("EXPERIENCE\n");
+        sb.append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
+        sb.append("Job Title: ").append(resume.getJobTitle() != null ? resume.getJobTitle() : "").append("\n");
+        sb.append("Company: ").append(resume.getCompany() != null ? resume.getCompany() : "").append("\n");
+        sb.append("Duration: ").append(resume.getDuration() != null ? resume.getDuration() : "").append("\n");
+        sb.append("Description: ").append(resume.getDescription() != null ? resume.getDescription() : "").append("\n\n");
+
+        sb.append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
+        sb.append("SKILLS\n");
+        sb.append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
+        sb.append(resume.getSkills() != null ? resume.getSkills() : "").append("\n");
+
+        return sb.toString();
+    }
+
+    private static String formatClassic(Resume resume) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("==========================================\n");
+        sb.append("                RESUME\n");
+        sb.append("==========================================\n\n");
+
+        sb.append("PERSONAL INFORMATION\n");
+        sb.append("------------------------------------------\n");
+        sb.append(resume.getName() != null ? resume.getName() : "").append("\n");
+        sb.append(resume.getEmail() != null ? resume.getEmail() : "").append(" | ");
+        sb.append(resume.getPhone() != null ? resume.getPhone() : "").append("\n");
+        sb.append(resume.getAddress() != null ? resume.getAddress() : "").append("\n\n");
+
+        sb.append("EDUCATION\n");
+        sb.append("------------------------------------------\n");
+        sb.append(resume.getDegree() != null ? resume.getDegree() : "").append(", ");
+        sb.append(resume.getInstitution() != null ? resume.getInstitution() : "").append("\n");
+        sb.append("Graduated: ").append(resume.getYear() != null ? resume.getYear() : "").append("\n\n");
+
+        sb.append("EXPERIENCE\n");
+        sb.append("------------------------------------------\n");
+        sb.append(resume.getJobTitle() != null ? resume.getJobTitle() : "").append(" at ");
+        sb.append(resume.getCompany() != null ? resume.getCompany() : "").append("\n");
+        sb.append(resume.getDuration() != null ? resume.getDuration() : "").append("\n");
+        sb.append(resume.getDescription() != null ? resume.getDescription() : "").append("\n\n");
+
+        sb.append("SKILLS\n");
+        sb.append("------------------------------------------\n");
+        sb.append(resume.getSkills() != null ? resume.getSkills() : "").append("\n");
+
+        return sb.toString();
+    }
+
+    private static String formatCreative(Resume resume) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("╭───────────────────────────────────────╮\n");
+        sb.append("│         ✨ CREATIVE RESUME ✨          │\n");
+        sb.append("╰───────────────────────────────────────╯\n\n");
+
+        sb.append("👤 ").append(resume.getName() != null ? resume.getName() : "").append("\n");
+        sb.append("📧 ").append(resume.getEmail() != null ? resume.getEmail() : "").append("\n");
+        sb.append("📱 ").append(resume.getPhone() != null ? resume.getPhone() : "").append("\n");
+        sb.append("📍 ").append(resume.getAddress() != null ? resume.getAddress() : "").append("\n\n");
+
+        sb.append("🎓 EDUCATION\n");
+        sb.append("   • ").append(resume.getDegree() != null ? resume.getDegree() : "").append(" from ");
+        sb.append(resume.getInstitution() != null ? resume.getInstitution() : "").append(" (").append(resume.getYear() != null ? resume.getYear() : "").append(")\n\n");
+
+        sb.append("💼 EXPERIENCE\n");
+        sb.append("   • ").append(resume.getJobTitle() != null ? resume.getJobTitle() : "").append(" @ ");
+        sb.append(resume.getCompany() != null ? resume.getCompany() : "").append(" (").append(resume.getDuration() != null ? resume.getDuration() : "").append(")\n");
+        sb.append("     ").append(resume.getDescription() != null ? resume.getDescription() : "").append("\n\n");
+
+        sb.append("🛠️  SKILLS\n");
+        sb.append("   ").append(resume.getSkills() != null ? resume.getSkills() : "").append("\n");
+
+        return sb.toString();
+    }
+
+    private static String formatProfessional(Resume resume) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("RESUME\n");
+        sb.append("═══════════════════════════════════════════\n\n");
+
+        sb.append(resume.getName() != null ? resume.getName().toUpperCase() : "").append("\n");
+        sb.append(resume.getEmail() != null ? resume.getEmail() : "").append(" | ");
+        sb.append(resume.getPhone() != null ? resume.getPhone() : "").append(" | ");
+        sb.append(resume.getAddress() != null ? resume.getAddress() : "").append("\n\n");
+
+        sb.append("EDUCATION\n");
+        sb.append("─────────────────────────────────────────\n");
+        sb.append(resume.getInstitution() != null ? resume.getInstitution() : "").append("\n");
+        sb.append(resume.getDegree() != null ? resume.getDegree() : "").append(", ");
+        sb.append(resume.getYear() != null ? resume.getYear() : "").append("\n\n");
+
+        sb.append("PROFESSIONAL EXPERIENCE\n");
+        sb.append("─────────────────────────────────────────\n");
+        sb.append(resume.getJobTitle() != null ? resume.getJobTitle() : "").append("\n");
+        sb.append(resume.getCompany() != null ? resume.getCompany() : "").append(" | ");
+        sb.append(resume.getDuration() != null ? resume.getDuration() : "").append("\n");
+        sb.append(resume.getDescription() != null ? resume.getDescription() : "").append("\n\n");
+
+        sb.append("CORE COMPETENCIES\n");
+        sb.append("─────────────────────────────────────────\n");
+        sb.append(resume.getSkills() != null ? resume.getSkills() : "").append("\n");
+
+        return sb.toString();
+    }
+
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "  ✓ " : "  ✗ ") + name);
+        if (!passed) {
+            failures++;
+        }
+    }
+}
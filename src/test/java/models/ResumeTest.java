@@ -0,0 +1,78 @@
+package models;
+
+/**
+ * Tests for Resume change detection: diffFields() and getContentHash()
+ */
+public class ResumeTest {
+    private static int failures = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Resume Test Suite ===\n");
+
+        System.out.println("Test 1: diffFields - identical and null");
+        Resume resume = sample();
+        check("copy has no differences", Resume.diffFields(resume, new Resume(resume)) == 0);
+        check("null compares as all fields", Resume.diffFields(null, resume) == Resume.ALL_FIELDS);
+        check("null on the right too", Resume.diffFields(resume, null) == Resume.ALL_FIELDS);
+
+        System.out.println("\nTest 2: diffFields - column fields");
+        Resume changed = new Resume(resume);
+        changed.setSkills("Java, Go");
+        check("skills only", Resume.diffFields(resume, changed) == Resume.FIELD_SKILLS);
+        changed.setName("Jane Doe");
+        check("skills and name", Resume.diffFields(resume, changed) == (Resume.FIELD_SKILLS | Resume.FIELD_NAME));
+        changed.setName(resume.getName());
+        changed.setSkills(resume.getSkills());
+        check("set back to the original values", Resume.diffFields(resume, changed) == 0);
+        changed.setEmail(null);
+        check("null value differs from a value", Resume.diffFields(resume, changed) == Resume.FIELD_EMAIL);
+
+        System.out.println("\nTest 3: diffFields - entries");
+        Resume withEntries = new Resume(resume);
+        withEntries.addEducation(new Education("MIT", "MSc", "2022"));
+        check("added education", Resume.diffFields(resume, withEntries) == Resume.FIELD_EDUCATION_ENTRIES);
+        Resume sameEntries = new Resume(withEntries);
+        check("deep copy keeps equal entries", Resume.diffFields(withEntries, sameEntries) == 0);
+        sameEntries.addExperience(new Experience("Engineer", "Acme", "2020", "2022", "Built things"));
+        check("added experience", Resume.diffFields(withEntries, sameEntries) == Resume.FIELD_EXPERIENCE_ENTRIES);
+        Resume editedEntry = new Resume(sameEntries);
+        Education education = new Education(editedEntry.getEducationEntries().get(0));
+        education.setGpa("4.0");
+        editedEntry.setEducationEntries(java.util.List.of(education));
+        check("edited education entry", Resume.diffFields(sameEntries, editedEntry) == Resume.FIELD_EDUCATION_ENTRIES);
+
+        System.out.println("\nTest 4: getContentHash");
+        check("copies hash the same", resume.getContentHash().equals(new Resume(resume).getContentHash()));
+        check("equal content built separately hashes the same", resume.getContentHash().equals(sample().getContentHash()));
+        Resume edited = sample();
+        String before = edited.getContentHash();
+        edited.setDescription("Something else");
+        check("setter changes the hash", !before.equals(edited.getContentHash()));
+        edited.setDescription(resume.getDescription());
+        check("restoring the value restores the hash", before.equals(edited.getContentHash()));
+        Resume moved = sample();
+        moved.setName(null);
+        moved.setEmail("John Doe" + moved.getEmail());
+        check("values are not run together across fields", !moved.getContentHash().equals(resume.getContentHash()));
+        edited.addExperience(new Experience("Engineer", "Acme", "2020", "2022", null));
+        check("entries are part of the hash", !before.equals(edited.getContentHash()));
+
+        System.out.println("\n=== " + (failures == 0 ? "All tests passed" : failures + " test(s) failed") + " ===");
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static Resume sample() {
+        return new Resume("John Doe", "john@example.com", "123-456-7890", "123 Main St",
+            "University of Test", "Bachelor of Science", "2020",
+            "Software Engineer", "Tech Corp", "2020-2023", "Developed applications", "Java, Python, SQL");
+    }
+
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "  ✓ " : "  ✗ ") + name);
+        if (!passed) {
+            failures++;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Tests for the stored PBKDF2 cost: measured once and reused on later starts,
+ * so a noisy measurement never rehashes users
+ */
+public class EncryptionUtilsTest {
+    private static int failures = 0;
+
+    private static final String SETTING = "password.pbkdf2.iterations";
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Encryption Utils Test Suite ===\n");
+        DatabaseManager.initializeDatabase();
+        String original = readSetting();
+        try {
+            run();
+        } finally {
+            writeSetting(original);
+        }
+
+        System.out.println("\n=== " + (failures == 0 ? "All tests passed" : failures + " test(s) failed") + " ===");
+        DatabaseManager.shutdown();
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static void run() throws Exception {
+        System.out.println("Test 1: The calibrated cost is stored on the first run");
+        writeSetting(null);
+        EncryptionUtils.setPasswordHasher(null);
+        int first = ((Pbkdf2PasswordHasher) EncryptionUtils.getPasswordHasher()).getIterations();
+        check("cost at least the minimum", first >= Pbkdf2PasswordHasher.MIN_ITERATIONS);
+        check("cost stored", String.valueOf(first).equals(readSetting()));
+
+        System.out.println("\nTest 2: Later starts use the stored cost instead of measuring again");
+        int stored = first + 10_000;
+        writeSetting(String.valueOf(stored));
+        EncryptionUtils.setPasswordHasher(null);
+        check("stored cost used", ((Pbkdf2PasswordHasher) EncryptionUtils.getPasswordHasher()).getIterations() == stored);
+        String hash = EncryptionUtils.hashPassword("secret123");
+        EncryptionUtils.setPasswordHasher(null);
+        check("hash at the stored cost not rehashed after a restart", !EncryptionUtils.needsRehash(hash));
+        check("hash still verifies", EncryptionUtils.verifyPassword("secret123", hash));
+        check("cheaper hash is rehashed",
+            EncryptionUtils.needsRehash(new Pbkdf2PasswordHasher(stored - 10_000).hash("secret123")));
+        check("legacy hash is rehashed", EncryptionUtils.needsRehash(new LegacySha256PasswordHasher().hash("secret123")));
+
+        System.out.println("\nTest 3: Recalibration is explicit");
+        int recalibrated = EncryptionUtils.recalibratePasswordHasher();
+        check("new cost stored", String.valueOf(recalibrated).equals(readSetting()));
+        check("new cost used", ((Pbkdf2PasswordHasher) EncryptionUtils.getPasswordHasher()).getIterations() == recalibrated);
+
+        System.out.println("\nTest 4: An invalid stored value is not used");
+        writeSetting("not a number");
+        EncryptionUtils.setPasswordHasher(null);
+        check("falls back to a measured cost",
+            ((Pbkdf2PasswordHasher) EncryptionUtils.getPasswordHasher()).getIterations() >= Pbkdf2PasswordHasher.MIN_ITERATIONS);
+    }
+
+    private static String readSetting() throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT value FROM app_settings WHERE name = ?")) {
+            pstmt.setString(1, SETTING);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Store a value, or remove the setting when value is null
+     */
+    private static void writeSetting(String value) throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement delete = conn.prepareStatement("DELETE FROM app_settings WHERE name = ?")) {
+            delete.setString(1, SETTING);
+            delete.executeUpdate();
+            if (value != null) {
+                try (PreparedStatement insert = conn.prepareStatement(
+                        "INSERT INTO app_settings (name, value) VALUES (?, ?)")) {
+                    insert.setString(1, SETTING);
+                    insert.setString(2, value);
+                    insert.executeUpdate();
+                }
+            }
+        }
+    }
+
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "  ✓ " : "  ✗ ") + name);
+        if (!passed) {
+            failures++;
+        }
+    }
+}
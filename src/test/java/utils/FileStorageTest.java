@@ -0,0 +1,103 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Tests for FileStorage.writeAtomically(): content, clean-up, and that the
+ * written file gets the same permissions as a direct Files.write()
+ */
+public class FileStorageTest {
+    private static int failures = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== File Storage Test Suite ===\n");
+        Path dir = Files.createTempDirectory("filestorage");
+        try {
+            run(dir);
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+
+        System.out.println("\n=== " + (failures == 0 ? "All tests passed" : failures + " test(s) failed") + " ===");
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static void run(Path dir) throws Exception {
+        System.out.println("Test 1: Content and clean-up");
+        Path target = dir.resolve("out/resume.pdf");
+        FileStorage.writeAtomically(target, temp -> Files.write(temp, bytes("first")));
+        check("parent directory created", Files.isDirectory(target.getParent()));
+        check("content written", "first".equals(read(target)));
+        FileStorage.writeAtomically(target, temp -> Files.write(temp, bytes("second")));
+        check("existing file replaced", "second".equals(read(target)));
+        try {
+            FileStorage.writeAtomically(target, temp -> {
+                Files.write(temp, bytes("partial"));
+                throw new IOException("writer failed");
+            });
+            check("writer failure is thrown", false);
+        } catch (IOException e) {
+            check("writer failure is thrown", "writer failed".equals(e.getMessage()));
+        }
+        check("failed write leaves the old content", "second".equals(read(target)));
+        try (Stream<Path> files = Files.list(target.getParent())) {
+            check("no temp files left behind", files.count() == 1);
+        }
+
+        if (Files.getFileAttributeView(dir, PosixFileAttributeView.class) == null) {
+            System.out.println("\n(no POSIX permissions on this file system; skipping permission tests)");
+            return;
+        }
+
+        System.out.println("\nTest 2: Permissions match a direct write");
+        Path direct = dir.resolve("direct.docx");
+        Files.write(direct, bytes("direct"));
+        Path atomic = dir.resolve("atomic.docx");
+        FileStorage.writeAtomically(atomic, temp -> Files.write(temp, bytes("atomic")));
+        check("new file has the umask default, not owner-only",
+            permissions(atomic).equals(permissions(direct)));
+        check("group or others can read it, as with a direct write",
+            permissions(direct).contains(PosixFilePermission.OTHERS_READ)
+                == permissions(atomic).contains(PosixFilePermission.OTHERS_READ));
+
+        Set<PosixFilePermission> custom = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(atomic, custom);
+        Files.setPosixFilePermissions(direct, custom);
+        Files.write(direct, bytes("direct again"));
+        FileStorage.writeAtomically(atomic, temp -> Files.write(temp, bytes("atomic again")));
+        check("replaced file keeps its permissions", permissions(atomic).equals(custom));
+        check("same as overwriting it directly", permissions(atomic).equals(permissions(direct)));
+    }
+
+    private static Set<PosixFilePermission> permissions(Path path) throws IOException {
+        return Files.getPosixFilePermissions(path);
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String read(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "  ✓ " : "  ✗ ") + name);
+        if (!passed) {
+            failures++;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package utils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for SchemaMigrator: a fresh database reaches the latest version, and
+ * connections migrating the same database at once apply each step only once
+ */
+public class SchemaMigratorTest {
+    private static int failures = 0;
+
+    private static final int MIGRATORS = 4;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Schema Migrator Test Suite ===\n");
+        Path dir = Files.createTempDirectory("migrator");
+        try {
+            run(dir);
+        } finally {
+            try (var files = Files.list(dir)) {
+                files.forEach(path -> path.toFile().delete());
+            }
+            Files.deleteIfExists(dir);
+        }
+
+        System.out.println("\n=== " + (failures == 0 ? "All tests passed" : failures + " test(s) failed") + " ===");
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static void run(Path dir) throws Exception {
+        int latest = SchemaMigrator.getLatestVersion();
+
+        System.out.println("Test 1: Fresh database");
+        String url = "jdbc:sqlite:" + dir.resolve("fresh.db");
+        try (Connection conn = open(url)) {
+            check("migrates to the latest version", SchemaMigrator.migrate(conn) == latest);
+            check("user_version set", SchemaMigrator.getSchemaVersion(conn) == latest);
+            check("every step recorded", count(conn, "SELECT COUNT(*) FROM schema_version") == latest);
+            check("no NOCASE indexes created",
+                count(conn, "SELECT COUNT(*) FROM sqlite_master WHERE name LIKE '%nocase%'") == 0);
+            check("second run does nothing", SchemaMigrator.migrate(conn) == latest);
+            check("connection left in auto-commit mode", conn.getAutoCommit());
+        }
+
+        System.out.println("\nTest 2: Several connections migrating at once");
+        String shared = "jdbc:sqlite:" + dir.resolve("shared.db");
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<String> errors = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < MIGRATORS; i++) {
+            Thread thread = new Thread(() -> {
+                try (Connection conn = open(shared)) {
+                    start.await();
+                    if (SchemaMigrator.migrate(conn) == latest) {
+                        succeeded.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    synchronized (errors) {
+                        errors.add(e.getMessage());
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (String error : errors) {
+            System.out.println("    " + error);
+        }
+        check("every connection reaches the latest version", succeeded.get() == MIGRATORS && errors.isEmpty());
+        try (Connection conn = open(shared)) {
+            check("each step applied once", count(conn, "SELECT COUNT(*) FROM schema_version") == latest);
+            check("columns added once", count(conn,
+                "SELECT COUNT(*) FROM pragma_table_info('education') WHERE name = 'position'") == 1);
+        }
+    }
+
+    private static Connection open(String url) throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = 10000");
+        }
+        return conn;
+    }
+
+    private static long count(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : -1;
+        }
+    }
+
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "  ✓ " : "  ✗ ") + name);
+        if (!passed) {
+            failures++;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for SkillMatcher: word boundaries, case folding and findAll()
+ */
+public class SkillMatcherTest {
+    private static int failures = 0;
+
+    private static final List<String> SKILLS = List.of(
+        "Go", "SQL", "MySQL", "C++", "Node.js", "Java", "JavaScript", "C#", "React");
+
+    public static void main(String[] args) {
+        System.out.println("=== Skill Matcher Test Suite ===\n");
+        SkillMatcher matcher = SkillMatcher.compile(SKILLS);
+
+        System.out.println("Test 1: Words inside other words do not match");
+        check("Go is not found in Google", found(matcher, "Worked at Google").isEmpty());
+        check("Go is found on its own", found(matcher, "Go, Rust").equals(List.of("Go")));
+        check("SQL is not found in MySQL", found(matcher, "MySQL administration").equals(List.of("MySQL")));
+        check("SQL and MySQL side by side", found(matcher, "SQL and MySQL").equals(List.of("SQL", "MySQL")));
+        check("Java is not found in JavaScript", found(matcher, "JavaScript developer").equals(List.of("JavaScript")));
+        check("digits count as word characters", found(matcher, "Go2 and SQL9").isEmpty());
+
+        System.out.println("\nTest 2: Skills with symbols");
+        check("C++ matches", found(matcher, "Expert in C++ and Go").equals(List.of("Go", "C++")));
+        check("C++ followed by a version", found(matcher, "C++17").equals(List.of("C++")));
+        check("C# matches", found(matcher, "C#/.NET").equals(List.of("C#")));
+        check("Node.js matches", found(matcher, "Node.js, React").equals(List.of("Node.js", "React")));
+        check("Node.js is not found in Node.jsx", found(matcher, "Node.jsx").isEmpty());
+        check("Node alone is not Node.js", found(matcher, "Node").isEmpty());
+
+        System.out.println("\nTest 3: Boundaries at punctuation and text edges");
+        check("in parentheses", found(matcher, "(Go)").equals(List.of("Go")));
+        check("whole text", found(matcher, "SQL").equals(List.of("SQL")));
+        check("empty text", found(matcher, "").isEmpty());
+
+        System.out.println("\nTest 4: Case and duplicates");
+        check("case-insensitive", found(matcher, "java, JAVASCRIPT, mysql").equals(List.of("MySQL", "Java", "JavaScript")));
+        check("each skill once, in id order",
+            Arrays.equals(matcher.findAll("React Java React Go Java"), new int[] {0, 5, 8}));
+        SkillMatcher duplicates = SkillMatcher.compile(Arrays.asList("Java", "JAVA", " ", null, "Go"));
+        check("equal patterns: only the first matches", Arrays.equals(duplicates.findAll("java go"), new int[] {0, 4}));
+        check("blank patterns never match", duplicates.findAll("   ").length == 0);
+
+        System.out.println("\nTest 5: Match ranges");
+        List<String> ranges = new ArrayList<>();
+        String text = "Go or C++ with SQL";
+        matcher.match(text, (id, start, end) -> ranges.add(text.substring(start, end)));
+        check("ranges cover the matched text", ranges.equals(List.of("Go", "C++", "SQL")));
+
+        System.out.println("\n=== " + (failures == 0 ? "All tests passed" : failures + " test(s) failed") + " ===");
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static List<String> found(SkillMatcher matcher, String text) {
+        List<String> names = new ArrayList<>();
+        for (int id : matcher.findAll(text)) {
+            names.add(SKILLS.get(id));
+        }
+        return names;
+    }
+
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "  ✓ " : "  ✗ ") + name);
+        if (!passed) {
+            failures++;
+        }
+    }
+}
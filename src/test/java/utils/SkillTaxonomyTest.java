@@ -0,0 +1,155 @@
+package utils;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for SkillTaxonomy: compiling the source, the snapshot file that
+ * load() keeps next to it, and picking up a changed source in get()
+ */
+public class SkillTaxonomyTest {
+    private static int failures = 0;
+
+    private static final String SOURCE = String.join("\n",
+        "# test taxonomy",
+        "Java\tProgramming\tJava Developer|Backend Developer",
+        "Go\tProgramming",
+        "go\t\tBackend Developer|Go Developer",
+        "PostgreSQL\tDatabase",
+        "Machine Learning\tData\tData Scientist",
+        "");
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Skill Taxonomy Test Suite ===\n");
+        Path dir = Files.createTempDirectory("taxonomy");
+        Path source = dir.resolve("taxonomy.tsv");
+        Path snapshot = dir.resolve("taxonomy.tsv.bin");
+        // Set before SkillTaxonomy is initialized: check the source on every get()
+        System.setProperty("resumebuilder.taxonomy.checkIntervalMs", "0");
+        System.setProperty("resumebuilder.taxonomy.file", source.toString());
+
+        System.out.println("Test 1: Compiled contents");
+        Files.write(source, SOURCE.getBytes(StandardCharsets.UTF_8));
+        SkillTaxonomy compiled = SkillTaxonomy.load(source);
+        int java = compiled.findSkill("java");
+        int go = compiled.findSkill("go");
+        check("skills, categories, jobs counted", compiled.getSkillCount() == 4 && compiled.getCategoryCount() == 3
+            && compiled.getJobCount() == 4);
+        check("display name kept", java >= 0 && "Java".equals(compiled.getSkillName(java)));
+        check("first category wins, jobs add up", go >= 0
+            && "Programming".equals(compiled.getCategoryName(compiled.getSkillCategory(go)))
+            && jobsOf(compiled, go).equals(List.of("Backend Developer", "Go Developer")));
+        check("category members in source order", members(compiled, "Programming").equals(List.of("Java", "Go")));
+        int phrase = compiled.findSkill("machine learning");
+        int word = compiled.findWord("learning");
+        check("multi-word skill and its words", phrase >= 0 && compiled.getMaxSkillWords() == 2 && word >= 0
+            && compiled.getWordSkillCount(word) == 1 && compiled.getWordSkill(word, 0) == phrase);
+        check("unknown names", compiled.findSkill("cobol") < 0 && compiled.findWord("java") < 0);
+        check("normalize", SkillTaxonomy.normalize("  Machine \t Learning ").equals("machine learning"));
+        boolean rejected = false;
+        try {
+            compile("Java\tProgramming\tDev\textra\n", 0, 0);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        check("malformed line rejected", rejected);
+
+        System.out.println("\nTest 2: Snapshot round trip");
+        check("snapshot written", Files.isRegularFile(snapshot));
+        check("snapshot holds the compiled source", Arrays.equals(Files.readAllBytes(snapshot),
+            compile(SOURCE, Files.getLastModifiedTime(source).toMillis(), Files.size(source))));
+        FileTime written = Files.getLastModifiedTime(snapshot);
+        byte[] snapshotBytes = Files.readAllBytes(snapshot);
+        Files.setLastModifiedTime(snapshot, FileTime.fromMillis(written.toMillis() - 60000));
+        SkillTaxonomy mapped = SkillTaxonomy.load(source);
+        check("current snapshot reused, not rewritten",
+            Files.getLastModifiedTime(snapshot).toMillis() == written.toMillis() - 60000);
+        check("mapped snapshot equals compiled", describe(mapped).equals(describe(compiled)));
+
+        System.out.println("\nTest 3: Stale and broken snapshots are rebuilt");
+        Files.write(source, (SOURCE + "Kotlin\tProgramming\tAndroid Developer\n").getBytes(StandardCharsets.UTF_8));
+        SkillTaxonomy rebuilt = SkillTaxonomy.load(source);
+        check("changed source picked up", rebuilt.findSkill("kotlin") >= 0 && rebuilt.getSkillCount() == 5);
+        check("snapshot rewritten", !Arrays.equals(snapshotBytes, Files.readAllBytes(snapshot)));
+        Files.write(snapshot, "not a snapshot".getBytes(StandardCharsets.UTF_8));
+        SkillTaxonomy repaired = SkillTaxonomy.load(source);
+        check("broken snapshot rebuilt", repaired.findSkill("kotlin") >= 0
+            && describe(SkillTaxonomy.load(source)).equals(describe(repaired)));
+
+        System.out.println("\nTest 4: Hot reload through get()");
+        SkillTaxonomy current = SkillTaxonomy.get();
+        check("get() loads the configured file", current.findSkill("kotlin") >= 0 && current.getSkillCount() == 5);
+        check("unchanged source keeps the same instance", SkillTaxonomy.get() == current);
+        Files.write(source, (SOURCE + "Rust\tProgramming\nScala\tProgramming\n").getBytes(StandardCharsets.UTF_8));
+        SkillTaxonomy changed = SkillTaxonomy.get();
+        check("changed source is reloaded", changed != current && changed.findSkill("rust") >= 0
+            && changed.findSkill("kotlin") < 0);
+        check("reload() forces a new load", SkillTaxonomy.reload() != changed);
+        Files.write(source, "Java\tProgramming\textra\tcolumn\n".getBytes(StandardCharsets.UTF_8));
+        check("a broken source keeps the last good taxonomy", SkillTaxonomy.get().findSkill("rust") >= 0);
+        Files.delete(source);
+        SkillTaxonomy builtIn = SkillTaxonomy.get();
+        check("no source falls back to the built-in taxonomy", builtIn.findSkill("scala") < 0
+            && builtIn.findSkill("kubernetes") >= 0);
+
+        Files.deleteIfExists(snapshot);
+        Files.delete(dir);
+
+        System.out.println("\n=== " + (failures == 0 ? "All tests passed" : failures + " test(s) failed") + " ===");
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static byte[] compile(String source, long modified, long length) throws Exception {
+        return SkillTaxonomy.compile(new BufferedReader(new StringReader(source)), modified, length);
+    }
+
+    /**
+     * Every skill with its category and jobs, for comparing two taxonomies
+     */
+    private static String describe(SkillTaxonomy taxonomy) {
+        StringBuilder text = new StringBuilder();
+        for (int skill = 0; skill < taxonomy.getSkillCount(); skill++) {
+            int category = taxonomy.getSkillCategory(skill);
+            text.append(taxonomy.getSkillName(skill)).append('|')
+                .append(category >= 0 ? taxonomy.getCategoryName(category) : "-").append('|')
+                .append(jobsOf(taxonomy, skill)).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static List<String> jobsOf(SkillTaxonomy taxonomy, int skill) {
+        List<String> jobs = new ArrayList<>();
+        for (int i = 0; i < taxonomy.getSkillJobCount(skill); i++) {
+            jobs.add(taxonomy.getJobTitle(taxonomy.getSkillJob(skill, i)));
+        }
+        return jobs;
+    }
+
+    private static List<String> members(SkillTaxonomy taxonomy, String categoryName) {
+        List<String> names = new ArrayList<>();
+        for (int category = 0; category < taxonomy.getCategoryCount(); category++) {
+            if (taxonomy.getCategoryName(category).equals(categoryName)) {
+                for (int i = 0; i < taxonomy.getCategorySkillCount(category); i++) {
+                    names.add(taxonomy.getSkillName(taxonomy.getCategorySkill(category, i)));
+                }
+            }
+        }
+        return names;
+    }
+
+    private static void check(String name, boolean passed) {
+        System.out.println((passed ? "  ✓ " : "  ✗ ") + name);
+        if (!passed) {
+            failures++;
+        }
+    }
+}